@@ -0,0 +1,37 @@
+package resumeanalyzer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** End-to-end {@link EnhancedNLPProcessor#analyzeResume} on texts of increasing size. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyzeBenchmark {
+    /** small: one resume (~2 KB), medium: 25 copies (~50 KB), huge: 500 copies (~1 MB). */
+    @Param({ "small", "medium", "huge" })
+    public String size;
+
+    private EnhancedNLPProcessor nlp;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        nlp = new EnhancedNLPProcessor();
+        text = Fixtures.resumeText(switch (size) {
+            case "small" -> 1;
+            case "medium" -> 25;
+            case "huge" -> 500;
+            default -> throw new IllegalArgumentException(size);
+        });
+    }
+
+    @Benchmark
+    public Object analyzeResume() {
+        return nlp.analyzeResume(text);
+    }
+}
@@ -0,0 +1,29 @@
+package resumeanalyzer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** {@link ResumeTextExtractor#extractText(byte[], String)} on the bundled fixtures, one per format. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractBenchmark {
+    @Param({ "resume.pdf", "resume.docx", "resume.txt" })
+    public String fixture;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = Fixtures.load(fixture);
+    }
+
+    @Benchmark
+    public String extractText() {
+        return ResumeTextExtractor.extractText(data, fixture);
+    }
+}
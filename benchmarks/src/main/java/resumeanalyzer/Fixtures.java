@@ -0,0 +1,29 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/** Sample documents bundled under {@code /fixtures} on the benchmark classpath. */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null)
+                throw new IllegalArgumentException("No fixture " + name);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The sample resume text repeated {@code copies} times. */
+    static String resumeText(int copies) {
+        String text = new String(load("resume.txt"), StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(text.length() * copies + copies);
+        for (int i = 0; i < copies; i++)
+            sb.append(text).append('\n');
+        return sb.toString();
+    }
+}
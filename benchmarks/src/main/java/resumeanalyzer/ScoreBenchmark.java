@@ -0,0 +1,47 @@
+package resumeanalyzer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** The four scorers on their own, over features extracted once from the sample resume. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBenchmark {
+    private EnhancedNLPProcessor nlp;
+    private ResumeFeatures features;
+    private Map<String, String> contact;
+
+    @Setup
+    public void setUp() {
+        nlp = new EnhancedNLPProcessor();
+        IncrementalAnalyzer analyzer = IncrementalAnalyzer.of(Fixtures.resumeText(1));
+        features = analyzer.finish();
+        contact = new HashMap<>(analyzer.contact());
+    }
+
+    @Benchmark
+    public int scoreSkills() {
+        return nlp.scoreSkills(features);
+    }
+
+    @Benchmark
+    public int scoreGrammarAndWriting() {
+        return nlp.scoreGrammarAndWriting(features);
+    }
+
+    @Benchmark
+    public int scoreATS() {
+        return nlp.scoreATS(features, contact);
+    }
+
+    @Benchmark
+    public int scoreFormat() {
+        return nlp.scoreFormat(features);
+    }
+}
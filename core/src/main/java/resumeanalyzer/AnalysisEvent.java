@@ -0,0 +1,46 @@
+package resumeanalyzer;
+
+import jdk.jfr.*;
+
+// --------------------------- JFR: Analysis ---------------------------
+/** One document's analysis and scoring, with the time spent in each stage. */
+@Name("resumeanalyzer.Analysis")
+@Label("Resume Analysis")
+@Category({ "Resume Analyzer" })
+@StackTrace(false)
+final class AnalysisEvent extends Event {
+    @Label("Characters")
+    long characters;
+
+    @Label("Words")
+    long words;
+
+    @Label("Sections")
+    int sections;
+
+    @Label("Overall Score")
+    int overallScore;
+
+    @Label("Dictionary Version")
+    String dictionaryVersion;
+
+    @Label("Contact Extraction Time")
+    @Timespan
+    long contactNanos;
+
+    @Label("Skills Scoring Time")
+    @Timespan
+    long skillsNanos;
+
+    @Label("Grammar Scoring Time")
+    @Timespan
+    long grammarNanos;
+
+    @Label("ATS Scoring Time")
+    @Timespan
+    long atsNanos;
+
+    @Label("Format Scoring Time")
+    @Timespan
+    long formatNanos;
+}
@@ -0,0 +1,227 @@
+package resumeanalyzer;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+// --------------------------- Result Reporting ---------------------------
+/** Human-readable details and suggestions for an {@link AnalysisResult}, shared by the UI and the service. */
+class AnalysisReport {
+    private static final Metrics.Timer DETAILS = Metrics.timer(Metrics.DETAILS);
+
+    /** The four detail texts, keyed {@code ats}, {@code skills}, {@code grammar} and {@code format}. */
+    public static Map<String, String> details(AnalysisResult r) {
+        long start = System.nanoTime();
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("ats", atsDetails(r));
+        details.put("skills", skillsDetails(r));
+        details.put("grammar", grammarDetails(r));
+        details.put("format", formatDetails(r));
+        DETAILS.stop(start);
+        return details;
+    }
+
+    public static String atsDetails(AnalysisResult r) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ATS Compatibility: ");
+
+        if (r.atsScore >= 85)
+            sb.append("Excellent - Highly optimized for ATS systems\n\n");
+        else if (r.atsScore >= 70)
+            sb.append("Good - Well-structured for ATS parsing\n\n");
+        else if (r.atsScore >= 50)
+            sb.append("Fair - Some improvements needed\n\n");
+        else
+            sb.append("Poor - Significant ATS optimization required\n\n");
+
+        sb.append("Contact Information:\n");
+        sb.append(r.contactInfo.containsKey("email") ? "✓ Email: " + r.contactInfo.get("email") + "\n"
+                : "✗ Email not found - CRITICAL\n");
+        sb.append(r.contactInfo.containsKey("phone") ? "✓ Phone: " + r.contactInfo.get("phone") + "\n"
+                : "✗ Phone not found - Important\n");
+        sb.append(
+                r.contactInfo.containsKey("linkedin") ? "✓ LinkedIn: Found\n" : "✗ LinkedIn not found - Recommended\n");
+        sb.append(r.contactInfo.containsKey("github") ? "✓ GitHub/Portfolio: Found\n"
+                : "○ GitHub/Portfolio not found - Optional\n");
+
+        return sb.toString();
+    }
+
+    public static String skillsDetails(AnalysisResult r) {
+        StringBuilder sb = new StringBuilder();
+        int techCount = r.features.technicalSkills.size();
+        int softCount = r.features.softSkills.size();
+
+        sb.append("Skills Analysis:\n\n");
+        sb.append("Technical Skills Detected: ").append(techCount).append("\n");
+        sb.append("Soft Skills Detected: ").append(softCount).append("\n\n");
+
+        if (techCount >= 10 && softCount >= 5) {
+            sb.append("✓ Excellent skill diversity\n");
+            sb.append("✓ Strong technical presence");
+        } else if (techCount >= 7 && softCount >= 3) {
+            sb.append("✓ Good skill coverage\n");
+            sb.append("○ Consider adding more soft skills");
+        } else if (techCount >= 5) {
+            sb.append("○ Moderate skill presence\n");
+            sb.append("⚠ Add more relevant technical keywords");
+        } else {
+            sb.append("⚠ Limited skill keywords detected\n");
+            sb.append("⚠ Significantly expand skills section");
+        }
+
+        return sb.toString();
+    }
+
+    public static String grammarDetails(AnalysisResult r) {
+        StringBuilder sb = new StringBuilder();
+        int verbCount = r.features.actionVerbs.size();
+        int quantCount = r.features.quantifiableCount;
+
+        sb.append("Writing Quality: ");
+        if (r.grammarScore >= 85)
+            sb.append("Excellent\n\n");
+        else if (r.grammarScore >= 70)
+            sb.append("Good\n\n");
+        else if (r.grammarScore >= 50)
+            sb.append("Fair\n\n");
+        else
+            sb.append("Needs Improvement\n\n");
+
+        sb.append("Action Verbs Found: ").append(verbCount).append("\n");
+        sb.append("Quantifiable Achievements: ").append(quantCount).append("\n\n");
+
+        if (verbCount >= 10 && quantCount >= 5) {
+            sb.append("✓ Strong professional language\n");
+            sb.append("✓ Good use of metrics");
+        } else if (verbCount >= 6 && quantCount >= 3) {
+            sb.append("✓ Good use of action verbs\n");
+            sb.append("○ Add more quantifiable results");
+        } else if (verbCount >= 3) {
+            sb.append("○ Use stronger action verbs\n");
+            sb.append("⚠ Add metrics (%, $, numbers)");
+        } else {
+            sb.append("⚠ Lacking action verbs\n");
+            sb.append("⚠ Missing quantifiable achievements");
+        }
+
+        return sb.toString();
+    }
+
+    public static String formatDetails(AnalysisResult r) {
+        StringBuilder sb = new StringBuilder();
+
+        int wordCount = r.features.wordCount;
+        int bulletCount = r.features.bulletCount;
+        int sectionCount = r.features.sections.size();
+
+        sb.append("Document Analysis:\n\n");
+        sb.append("Word Count: ").append(wordCount).append(" words\n");
+        sb.append("Bullet Points: ").append(bulletCount).append("\n");
+        sb.append("Sections Detected: ").append(sectionCount).append("\n\n");
+
+        if (wordCount >= 300 && wordCount <= 800) {
+            sb.append("✓ Ideal length (300-800 words)\n");
+        } else if (wordCount < 200) {
+            sb.append("⚠ Resume too short - expand content\n");
+        } else if (wordCount > 1000) {
+            sb.append("⚠ Resume too long - be concise\n");
+        } else {
+            sb.append("○ Acceptable length\n");
+        }
+
+        if (bulletCount >= 8 && bulletCount <= 30) {
+            sb.append("✓ Good use of bullet points\n");
+        } else if (bulletCount < 5) {
+            sb.append("⚠ Use more bullet points\n");
+        } else {
+            sb.append("○ Moderate bullet usage\n");
+        }
+
+        if (sectionCount >= 5) {
+            sb.append("✓ Well-organized sections");
+        } else if (sectionCount >= 3) {
+            sb.append("○ Basic organization present");
+        } else {
+            sb.append("⚠ Add clear section headers");
+        }
+
+        return sb.toString();
+    }
+
+    public static List<String> suggestions(AnalysisResult r) {
+        List<String> suggestions = new ArrayList<>();
+
+        // ATS-related suggestions
+        if (!r.contactInfo.containsKey("email")) {
+            suggestions.add("• CRITICAL: Add your email address at the top of the resume");
+        }
+        if (!r.contactInfo.containsKey("phone")) {
+            suggestions.add("• IMPORTANT: Include your phone number for recruiter contact");
+        }
+        if (!r.contactInfo.containsKey("linkedin")) {
+            suggestions.add("• Add LinkedIn profile URL to increase professional visibility");
+        }
+        if (!r.contactInfo.containsKey("github") && !r.contactInfo.containsKey("website")) {
+            suggestions.add("• Include GitHub or portfolio link to showcase your work");
+        }
+
+        // Skills suggestions
+        if (r.skillsScore < 70) {
+            suggestions.add("• Expand skills section with relevant technical and soft skills");
+            suggestions.add("• Mirror keywords from target job descriptions");
+            suggestions.add("• Create a dedicated 'Skills' or 'Technical Skills' section");
+        }
+
+        // Grammar and writing suggestions
+        if (r.grammarScore < 70) {
+            suggestions.add("• Start bullet points with strong action verbs (e.g., Developed, Led, Implemented)");
+            suggestions.add("• Add quantifiable achievements (e.g., 'Increased sales by 25%')");
+            suggestions.add("• Avoid first-person pronouns (I, me, my)");
+        }
+
+        // Format suggestions
+        if (r.formatScore < 70) {
+            suggestions.add("• Use consistent bullet point formatting throughout");
+            suggestions.add("• Add clear section headers: Experience, Education, Skills, Projects");
+            suggestions.add("• Maintain proper spacing between sections");
+            int wordCount = r.features.wordCount;
+            if (wordCount < 300) {
+                suggestions.add("• Expand content - aim for 400-700 words for optimal length");
+            } else if (wordCount > 900) {
+                suggestions.add("• Condense content - keep resume concise (1-2 pages max)");
+            }
+        }
+
+        // ATS-specific suggestions
+        if (r.atsScore < 70) {
+            suggestions.add("• Use standard section headers that ATS systems recognize");
+            suggestions.add("• Include dates in standard format (e.g., 'Jan 2020 - Dec 2022')");
+            suggestions.add("• Avoid special characters, images, and complex formatting");
+        }
+
+        // Positive reinforcement for high scores
+        if (suggestions.isEmpty() || r.overallScore >= 85) {
+            suggestions.add("• Excellent work! Your resume is well-optimized");
+            suggestions.add("• Continue tailoring keywords for each specific job application");
+            suggestions.add("• Keep your resume updated with latest skills and achievements");
+        }
+
+        return suggestions.stream()
+                .limit(8) // Limit to top 8 suggestions
+                .collect(Collectors.toList());
+    }
+
+    public static String scoreDescription(int score) {
+        if (score >= 90)
+            return "Outstanding — Your resume is exceptionally well-optimized!";
+        if (score >= 80)
+            return "Excellent — Strong resume with minor room for improvement";
+        if (score >= 70)
+            return "Good — Solid resume, some enhancements recommended";
+        if (score >= 60)
+            return "Fair — Decent foundation, multiple improvements needed";
+        if (score >= 50)
+            return "Below Average — Significant improvements required";
+        return "Needs Work — Major revisions recommended before applying";
+    }
+}
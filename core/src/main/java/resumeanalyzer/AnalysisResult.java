@@ -0,0 +1,28 @@
+package resumeanalyzer;
+
+import java.io.Serializable;
+import java.util.*;
+
+class AnalysisResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public final int overallScore, atsScore, skillsScore, grammarScore, formatScore;
+    public final String content;
+    public final Map<String, String> contactInfo;
+    public final ResumeFeatures features;
+    // Dictionaries.version the result was scored with
+    public final String dictionaryVersion;
+
+    public AnalysisResult(int overall, int ats, int skills, int grammar, int format,
+            String content, Map<String, String> contactInfo, ResumeFeatures features, String dictionaryVersion) {
+        this.overallScore = overall;
+        this.atsScore = ats;
+        this.skillsScore = skills;
+        this.grammarScore = grammar;
+        this.formatScore = format;
+        this.content = content;
+        this.contactInfo = contactInfo;
+        this.features = features;
+        this.dictionaryVersion = dictionaryVersion;
+    }
+}
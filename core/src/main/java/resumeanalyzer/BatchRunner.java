@@ -0,0 +1,357 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// --------------------------- Batch Scoring ---------------------------
+/**
+ * Headless scoring of a whole directory tree. Files are discovered lazily and
+ * fed through a {@link ResumePipeline}, whose bounded queues keep only a few
+ * documents per worker in memory; each result is written as one JSON line as
+ * soon as it is ready, so memory use does not grow with the size of the corpus.
+ * Near-duplicate detection keeps only the name and MinHash signature of each
+ * resume; once every file is scored the resumes are clustered in path order,
+ * so the same input always gets the same cluster ids, and the ids are written
+ * apart from the results.
+ */
+class BatchRunner {
+    public static final Set<String> SUPPORTED_EXTENSIONS = Set.of("pdf", "doc", "docx", "txt");
+
+    private final int readers, extractors, scorers, queueCapacity;
+    private final ResultCache cache;
+    private final ExtractionPool sandbox;
+    private final MemoryBudget budget;
+    private final ResumeIndex index;
+    private final DuplicateDetector duplicates;
+    private final ScoreStore store;
+    private final boolean streaming;
+    private final AtomicInteger scored = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    // File name of each resume recorded in duplicates, by document number
+    private final List<String> recorded = new ArrayList<>();
+    private volatile ResumePipeline pipeline;
+
+    /**
+     * {@code cache}, {@code sandbox}, {@code budget}, {@code index},
+     * {@code duplicates} and {@code store} may be {@code null}; with a
+     * {@code sandbox} text is extracted in its worker processes, otherwise
+     * within the memory {@code budget}, scored resumes are added to
+     * {@code index} and {@code store}, and with {@code duplicates} every resume
+     * gets a near-duplicate cluster. {@code index} and {@code duplicates}
+     * need the text of every resume and cannot be combined with
+     * {@code streaming}.
+     */
+    public BatchRunner(int readers, int extractors, int scorers, int queueCapacity, ResultCache cache,
+            ExtractionPool sandbox, MemoryBudget budget, ResumeIndex index, DuplicateDetector duplicates,
+            ScoreStore store, boolean streaming) {
+        if (duplicates != null && streaming)
+            throw new IllegalArgumentException("Near-duplicate detection needs the text, which streaming does not keep");
+        if (index != null && streaming)
+            throw new IllegalArgumentException("The index needs the text, which streaming does not keep");
+        this.cache = cache;
+        this.sandbox = sandbox;
+        this.budget = budget;
+        this.index = index;
+        this.duplicates = duplicates;
+        this.store = store;
+        this.streaming = streaming;
+        this.readers = readers;
+        this.extractors = extractors;
+        this.scorers = scorers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public static boolean isResumeFile(Path p) {
+        String name = p.getFileName().toString().toLowerCase();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && SUPPORTED_EXTENSIONS.contains(name.substring(dot + 1));
+    }
+
+    /**
+     * Scores every resume under {@code root}, writing one JSON line per file
+     * to {@code out}. With near-duplicate detection, {@code clusters} then
+     * gets one line per resume with its cluster id, in path order.
+     */
+    public void run(Path root, Writer out, Writer clusters) throws IOException, InterruptedException {
+        pipeline = new ResumePipeline(readers, extractors, scorers, queueCapacity, cache, sandbox, budget,
+                store != null, streaming, job -> write(out, toJson(job)));
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> it = files.filter(Files::isRegularFile).filter(BatchRunner::isResumeFile).iterator();
+            while (it.hasNext()) {
+                Path file = it.next();
+                pipeline.submit(file, root.relativize(file).toString());
+            }
+        } finally {
+            pipeline.finish();
+        }
+        if (duplicates != null)
+            writeClusters(clusters);
+    }
+
+    /** Clusters the recorded resumes in path order and writes each one's id. */
+    private void writeClusters(Writer out) {
+        Integer[] order = new Integer[recorded.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparing(recorded::get));
+        for (int doc : order) {
+            write(out, "{\"file\":" + Json.quote(recorded.get(doc)) + ",\"cluster\":" + duplicates.cluster(doc)
+                    + "}");
+        }
+        recorded.clear();
+    }
+
+    private String toJson(ResumePipeline.Job job) {
+        if (job.error != null) {
+            failed.incrementAndGet();
+            return Json.failure(job.name, job.error);
+        }
+        if (index != null)
+            index.add(job.name, job.result);
+        if (store != null) {
+            try {
+                store.append(job.hash, ScoreStore.candidateId(job.name, job.result), job.result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        scored.incrementAndGet();
+        if (duplicates != null) {
+            int[] signature = DuplicateDetector.signature(job.result.content);
+            if (signature != null) {
+                synchronized (recorded) {
+                    duplicates.record(signature);
+                    recorded.add(job.name);
+                }
+            }
+        }
+        return Json.result(job.name, job.result);
+    }
+
+    private static void write(Writer out, String line) {
+        synchronized (out) {
+            try {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public int getScored() {
+        return scored.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    /** Per-stage queue depth and throughput of the running batch, empty before it starts. */
+    public List<ResumePipeline.StageStats> stats() {
+        ResumePipeline p = pipeline;
+        return p == null ? List.of() : p.stats();
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ResumeAnalyzerApp --batch <dir> [--out results.jsonl] [--threads N]");
+        System.err.println("           [--read-threads N] [--extract-threads N] [--score-threads N]");
+        System.err.println("           [--queue N] [--stats SECONDS] [--cache DIR] [--cache-mb N] [--streaming]");
+        System.err.println("           [--index FILE] [--dictionaries DIR] [--metrics] [--dedup]");
+        System.err.println("           [--clusters FILE] [--dedup-threshold 0.8] [--store FILE] [--sandbox] [--sandbox-heap-mb 512]");
+        System.err.println("           [--timeout SECONDS] [--tika-config FILE] [--memory-budget-mb N]");
+    }
+
+    /** Command-line entry point; returns the process exit code. */
+    public static int main(String[] args) {
+        Path dir = null, outFile = null, clustersFile = null, cacheDir = null, indexFile = null, dictionaries = null, storeFile = null,
+                tikaConfig = null;
+        int cores = Runtime.getRuntime().availableProcessors();
+        boolean streaming = false, metrics = false, dedup = false, sandboxed = false;
+        int sandboxHeapMb = ExtractionPool.DEFAULT_HEAP_MB, timeoutSeconds = ExtractionPool.DEFAULT_TIMEOUT_SECONDS;
+        int budgetMb = -1;
+        double dedupThreshold = 0.8;
+        int readers = 16, extractors = cores, scorers = cores, queue = 0, statsSeconds = 0, cacheMb = 256;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--batch" -> dir = Paths.get(args[++i]);
+                    case "--out" -> outFile = Paths.get(args[++i]);
+                    case "--threads" -> extractors = scorers = Integer.parseInt(args[++i]);
+                    case "--read-threads" -> readers = Integer.parseInt(args[++i]);
+                    case "--extract-threads" -> extractors = Integer.parseInt(args[++i]);
+                    case "--score-threads" -> scorers = Integer.parseInt(args[++i]);
+                    case "--queue" -> queue = Integer.parseInt(args[++i]);
+                    case "--stats" -> statsSeconds = Integer.parseInt(args[++i]);
+                    case "--cache" -> cacheDir = Paths.get(args[++i]);
+                    case "--cache-mb" -> cacheMb = Integer.parseInt(args[++i]);
+                    case "--streaming" -> streaming = true;
+                    case "--metrics" -> metrics = true;
+                    case "--dedup" -> dedup = true;
+                    case "--clusters" -> clustersFile = Paths.get(args[++i]);
+                    case "--dedup-threshold" -> dedupThreshold = Double.parseDouble(args[++i]);
+                    case "--store" -> storeFile = Paths.get(args[++i]);
+                    case "--sandbox" -> sandboxed = true;
+                    case "--sandbox-heap-mb" -> sandboxHeapMb = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeoutSeconds = Integer.parseInt(args[++i]);
+                    case "--memory-budget-mb" -> budgetMb = Integer.parseInt(args[++i]);
+                    case "--index" -> indexFile = Paths.get(args[++i]);
+                    case "--dictionaries" -> dictionaries = Paths.get(args[++i]);
+                    case "--tika-config" -> tikaConfig = Paths.get(args[++i]);
+                    default -> {
+                        usage();
+                        return 2;
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return 2;
+        }
+        if (dir == null || !Files.isDirectory(dir)) {
+            usage();
+            return 2;
+        }
+        if (dedup && streaming) {
+            System.err.println("--dedup compares the text of the resumes, which --streaming does not keep");
+            usage();
+            return 2;
+        }
+        if (indexFile != null && streaming) {
+            System.err.println("--index ranks the text of the resumes, which --streaming does not keep");
+            usage();
+            return 2;
+        }
+        if (dedup && clustersFile == null) {
+            if (outFile == null) {
+                System.err.println("--dedup writes the clusters next to --out, or to --clusters FILE");
+                usage();
+                return 2;
+            }
+            clustersFile = outFile.resolveSibling(outFile.getFileName() + ".clusters");
+        }
+
+        if (tikaConfig != null) {
+            try {
+                ResumeTextExtractor.useProfile(tikaConfig);
+            } catch (IOException e) {
+                System.err.println("Cannot load Tika config: " + e.getMessage());
+                return 1;
+            }
+        }
+        // Tika loads while the dictionaries, cache and index are set up; sandbox workers load their own
+        if (!sandboxed)
+            ResumeTextExtractor.preload();
+        if (dictionaries != null) {
+            try {
+                Dictionaries.useDirectory(dictionaries, false);
+            } catch (IOException e) {
+                System.err.println("Cannot load dictionaries: " + e.getMessage());
+                return 1;
+            }
+        }
+
+        ResultCache cache = cacheDir == null ? null : new ResultCache(cacheDir, (long) cacheMb << 20);
+        ResumeIndex index = null;
+        if (indexFile != null) {
+            try {
+                // Keep adding to an existing index so it grows batch by batch
+                index = Files.exists(indexFile) ? ResumeIndex.open(indexFile) : new ResumeIndex();
+            } catch (IOException e) {
+                System.err.println("Cannot open index: " + e.getMessage());
+                return 1;
+            }
+        }
+        DuplicateDetector duplicates = dedup ? new DuplicateDetector(dedupThreshold) : null;
+        ScoreStore store = null;
+        if (storeFile != null) {
+            try {
+                store = ScoreStore.openUnlessInUse(storeFile);
+            } catch (IOException e) {
+                System.err.println("Cannot open score store: " + e.getMessage());
+                return 1;
+            }
+        }
+        // One worker process per extraction thread
+        ExtractionPool sandbox = sandboxed ? new ExtractionPool(extractors, sandboxHeapMb, timeoutSeconds) : null;
+        // Sandbox workers have heaps of their own
+        MemoryBudget budget = sandboxed ? null : MemoryBudget.ofOption(budgetMb);
+        BatchRunner runner = new BatchRunner(readers, extractors, scorers,
+                queue > 0 ? queue : 2 * Math.max(extractors, scorers), cache, sandbox, budget, index, duplicates,
+                store, streaming);
+        ScheduledExecutorService reporter = null;
+        if (statsSeconds > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "batch-stats");
+                t.setDaemon(true);
+                return t;
+            });
+            reporter.scheduleAtFixedRate(() -> runner.stats().forEach(System.err::println),
+                    statsSeconds, statsSeconds, TimeUnit.SECONDS);
+        }
+
+        long start = System.nanoTime();
+        try (Writer out = outFile == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(outFile, StandardCharsets.UTF_8);
+                Writer clusters = clustersFile == null ? null
+                        : Files.newBufferedWriter(clustersFile, StandardCharsets.UTF_8)) {
+            runner.run(dir, out, clusters);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            if (reporter != null)
+                reporter.shutdownNow();
+            if (sandbox != null)
+                sandbox.close();
+            if (store != null) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Score store checkpoint failed: " + e.getMessage());
+                }
+            }
+        }
+        runner.stats().forEach(System.err::println);
+        if (index != null) {
+            try {
+                index.save(indexFile);
+                System.err.printf("Index: %d resumes in %s%n", index.size(), indexFile);
+            } catch (IOException e) {
+                System.err.println("Index write failed: " + e.getMessage());
+                return 1;
+            }
+        }
+        if (cache != null)
+            System.err.printf("Cache: %d memory hits, %d disk hits, %d misses%n", cache.getMemoryHits(),
+                    cache.getDiskHits(), cache.getMisses());
+        if (sandbox != null)
+            System.err.printf("Sandbox: %d timeouts, %d out of memory, %d crashes, %d worker starts%n",
+                    sandbox.getTimeouts(), sandbox.getOutOfMemory(), sandbox.getCrashes(), sandbox.getStarts());
+        if (budget != null)
+            System.err.printf("Memory budget: %d MB, at most %d MB in use, %d waited, %d %s%n",
+                    budget.bytes >> 20, budget.getPeakBytes() >> 20, budget.getWaits(),
+                    budget.strict ? budget.getRejected() : budget.getOversized(),
+                    budget.strict ? "too large" : "extracted alone");
+        if (store != null)
+            System.err.printf("Score store: %d records of %d resumes in %s%n", store.size(), store.pairs(), storeFile);
+        if (duplicates != null)
+            System.err.printf("Near-duplicates: %d files in %d clusters%n", duplicates.duplicateDocuments(),
+                    duplicates.duplicateClusters());
+        if (metrics)
+            System.err.print(Metrics.dump());
+        System.err.printf("Scored %d files (%d failed) in %.1f s%n", runner.getScored(), runner.getFailed(),
+                (System.nanoTime() - start) / 1e9);
+        return runner.getFailed() == 0 ? 0 : 1;
+    }
+}
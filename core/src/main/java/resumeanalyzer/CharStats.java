@@ -0,0 +1,35 @@
+package resumeanalyzer;
+
+import java.io.Serializable;
+
+/**
+ * Character-level counters of one document, filled by the
+ * {@link IncrementalAnalyzer} character loop without allocating anything
+ * per word or line. Runs count once however long they are.
+ */
+class CharStats implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Maximal runs of non-whitespace, as split("\\s+") sees them
+    public int words;
+    // Lines with at least one visible character
+    public int nonEmptyLines;
+    // Runs of two or more spaces
+    public int doubleSpaces;
+    // Runs of two or more of , . ! ?
+    public int punctuationRuns;
+    // Characters above U+007F, and how many of them are © ® ™
+    public int nonAscii, trademarkSymbols;
+    // "I " or "i " at the start of a word
+    public int firstPerson;
+
+    void add(CharStats other) {
+        words += other.words;
+        nonEmptyLines += other.nonEmptyLines;
+        doubleSpaces += other.doubleSpaces;
+        punctuationRuns += other.punctuationRuns;
+        nonAscii += other.nonAscii;
+        trademarkSymbols += other.trademarkSymbols;
+        firstPerson += other.firstPerson;
+    }
+}
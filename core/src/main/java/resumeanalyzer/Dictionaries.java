@@ -0,0 +1,190 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// --------------------------- Dictionaries ---------------------------
+/**
+ * One version of the keyword dictionaries together with the automata
+ * compiled from them. Instances are immutable: a reload builds a complete
+ * new instance and {@link #install}s it with a single volatile write. An
+ * analysis takes {@link #current()} once when it starts and uses that
+ * instance to the end, so analyses already running when the files change
+ * finish on the version they started with.
+ *
+ * <p>The defaults ship as {@code /dictionaries/*.txt} resources. A directory
+ * holding files of the same names overrides them; files missing from the
+ * directory keep the bundled list.
+ */
+final class Dictionaries {
+    static final String TECHNICAL_FILE = "technical-skills.txt";
+    static final String SOFT_FILE = "soft-skills.txt";
+    static final String VERBS_FILE = "action-verbs.txt";
+    static final String SECTIONS_FILE = "section-headers.txt";
+    static final String MODERN_FILE = "modern-skills.txt";
+    static final String ATS_FILE = "ats-keywords.txt";
+
+    // Wait this long after the last change in the directory before reloading,
+    // so a release that rewrites several files is picked up as a whole
+    private static final long QUIET_MILLIS = 500;
+
+    public final Set<String> technicalSkills, softSkills, actionVerbs, sectionHeaders, modernSkills, atsKeywords;
+
+    /**
+     * Fingerprint of the dictionaries and scoring rules. Results computed under
+     * a different version must not be reused from a cache.
+     */
+    public final String version;
+
+    // Whole-word matcher over the skill, verb and ATS dictionaries
+    final KeywordMatcher keywords;
+
+    private static volatile Dictionaries current = bundled();
+
+    private Dictionaries(Map<String, Set<String>> lists) {
+        technicalSkills = lists.get(TECHNICAL_FILE);
+        softSkills = lists.get(SOFT_FILE);
+        actionVerbs = lists.get(VERBS_FILE);
+        sectionHeaders = lists.get(SECTIONS_FILE);
+        modernSkills = lists.get(MODERN_FILE);
+        atsKeywords = lists.get(ATS_FILE);
+
+        StringBuilder sb = new StringBuilder().append(EnhancedNLPProcessor.SCORING_REVISION);
+        for (Set<String> dict : List.of(technicalSkills, softSkills, actionVerbs, sectionHeaders, modernSkills,
+                atsKeywords)) {
+            sb.append('|').append(String.join(",", new TreeSet<>(dict)));
+        }
+        version = ResultCache.sha256Hex(sb.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+
+        keywords = new KeywordMatcher(Map.of(
+                EnhancedNLPProcessor.TECHNICAL, technicalSkills,
+                EnhancedNLPProcessor.SOFT, softSkills,
+                EnhancedNLPProcessor.VERBS, actionVerbs,
+                EnhancedNLPProcessor.MODERN, modernSkills,
+                EnhancedNLPProcessor.ATS, atsKeywords));
+    }
+
+    /** The dictionaries new analyses should use. */
+    public static Dictionaries current() {
+        return current;
+    }
+
+    /** Makes {@code d} the version used by analyses started from now on. */
+    public static void install(Dictionaries d) {
+        current = d;
+    }
+
+    /** The lists bundled with the application. */
+    public static Dictionaries bundled() {
+        Map<String, Set<String>> lists = new HashMap<>();
+        for (String name : fileNames()) {
+            try (InputStream in = Dictionaries.class.getResourceAsStream("/dictionaries/" + name)) {
+                if (in == null)
+                    throw new IllegalStateException("Missing bundled dictionary " + name);
+                lists.put(name, parse(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new Dictionaries(lists);
+    }
+
+    /** Dictionaries from {@code dir}, with the bundled list for every file the directory lacks. */
+    public static Dictionaries load(Path dir) throws IOException {
+        if (!Files.isDirectory(dir))
+            throw new FileNotFoundException("Not a directory: " + dir);
+        Dictionaries defaults = bundled();
+        Map<String, Set<String>> lists = new HashMap<>();
+        for (String name : fileNames()) {
+            Path file = dir.resolve(name);
+            lists.put(name, Files.exists(file) ? parse(Files.readString(file)) : defaults.list(name));
+        }
+        return new Dictionaries(lists);
+    }
+
+    private Set<String> list(String fileName) {
+        return switch (fileName) {
+            case TECHNICAL_FILE -> technicalSkills;
+            case SOFT_FILE -> softSkills;
+            case VERBS_FILE -> actionVerbs;
+            case SECTIONS_FILE -> sectionHeaders;
+            case MODERN_FILE -> modernSkills;
+            case ATS_FILE -> atsKeywords;
+            default -> throw new IllegalArgumentException(fileName);
+        };
+    }
+
+    private static List<String> fileNames() {
+        return List.of(TECHNICAL_FILE, SOFT_FILE, VERBS_FILE, SECTIONS_FILE, MODERN_FILE, ATS_FILE);
+    }
+
+    /** One entry per line; blank lines and {@code #} comments are skipped. */
+    private static Set<String> parse(String text) {
+        Set<String> entries = new LinkedHashSet<>();
+        for (String line : text.split("\\R")) {
+            String entry = line.strip();
+            if (!entry.isEmpty() && !entry.startsWith("#"))
+                entries.add(entry.toLowerCase());
+        }
+        return Collections.unmodifiableSet(entries);
+    }
+
+    /**
+     * Loads {@code dir}, installs it and, if {@code watch} is set, keeps
+     * reloading it on a daemon thread whenever its files change. A reload
+     * that fails leaves the running version in place.
+     */
+    public static Dictionaries useDirectory(Path dir, boolean watch) throws IOException {
+        Dictionaries d = load(dir);
+        install(d);
+        if (watch)
+            watch(dir);
+        return d;
+    }
+
+    /**
+     * Reloads {@code dir} on a daemon thread whenever its files change, until
+     * the returned watch service is closed.
+     */
+    static WatchService watch(Path dir) throws IOException {
+        WatchService watcher = dir.getFileSystem().newWatchService();
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        Thread t = new Thread(() -> watch(dir, watcher), "dictionary-watcher");
+        t.setDaemon(true);
+        t.start();
+        return watcher;
+    }
+
+    private static void watch(Path dir, WatchService watcher) {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                key.pollEvents();
+                key.reset();
+                // Swallow the rest of a burst of changes
+                while ((key = watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                try {
+                    Dictionaries d = load(dir);
+                    if (!d.version.equals(current.version)) {
+                        install(d);
+                        System.err.println("Dictionaries reloaded from " + dir + ", version " + d.version);
+                    }
+                } catch (IOException | UncheckedIOException e) {
+                    System.err.println("Dictionary reload failed, keeping version " + current.version + ": "
+                            + e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+}
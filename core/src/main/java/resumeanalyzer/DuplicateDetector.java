@@ -0,0 +1,249 @@
+package resumeanalyzer;
+
+import java.util.*;
+
+// --------------------------- Near-Duplicate Detection ---------------------------
+/**
+ * Groups documents whose text is nearly the same, e.g. one resume sent to
+ * several postings with small edits. Each document gets a MinHash signature
+ * over its word 3-shingles; the signature is cut into bands, and documents
+ * sharing a band land in the same LSH bucket. Only documents in a common
+ * bucket are compared, so adding a document costs about the same however
+ * many came before.
+ *
+ * <p>Clusters are assigned online: a document joins the cluster of its most
+ * similar earlier document if their estimated Jaccard similarity reaches the
+ * threshold, and starts a new cluster otherwise. Signatures can also be
+ * recorded first and clustered later, in an order of the caller's choosing.
+ * Signatures, bucket chains and the bucket table are flat int arrays,
+ * roughly half a kilobyte per document.
+ */
+class DuplicateDetector {
+    static final int HASHES = 64;
+    // 8 bands of 8 rows: pairs above ~0.77 similarity share a bucket with high probability
+    private static final int BANDS = 8, ROWS = HASHES / BANDS;
+    private static final int SHINGLE = 3;
+    // Compare with at most this many of the latest documents per bucket
+    private static final int MAX_CANDIDATES_PER_BUCKET = 64;
+
+    private static final long[] A = new long[HASHES], B = new long[HASHES];
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_2B0B_CAFEL);
+        for (int i = 0; i < HASHES; i++) {
+            A[i] = random.nextLong() | 1;
+            B[i] = random.nextLong();
+        }
+    }
+
+    private final double threshold;
+    // Documents recorded, and of those clustered
+    private int recorded, size, clusterCount;
+    private int[] signatures = new int[HASHES * 1024];
+    private int[] clusters = new int[1024];
+    private int[] clusterSizes = new int[1024];
+    // Previous document in the same bucket, per (document, band); -1 ends the chain
+    private int[] next = new int[BANDS * 1024];
+    // Open-addressing bucket table: band key -> latest document + 1 (0 = empty slot)
+    private int[] keys = new int[1024], heads = new int[1024];
+    private int usedSlots;
+
+    /** {@code threshold} is the estimated Jaccard similarity from which two documents are duplicates. */
+    public DuplicateDetector(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * MinHash signature of the word 3-shingles of {@code text}; words are
+     * runs of letters and digits, compared case-insensitively. Returns
+     * {@code null} for text without words.
+     */
+    public static int[] signature(CharSequence text) {
+        int[] sig = new int[HASHES];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        long[] window = new long[SHINGLE];
+        int words = 0;
+        long word = 0;
+        boolean inWord = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                // FNV-1a over the lower-cased word
+                if (!inWord)
+                    word = 0xcbf29ce484222325L;
+                word = (word ^ Character.toLowerCase(c)) * 0x100000001b3L;
+                inWord = true;
+            } else if (inWord) {
+                inWord = false;
+                window[words++ % SHINGLE] = word;
+                if (words >= SHINGLE)
+                    addShingle(sig, shingle(window, words));
+            }
+        }
+        if (words == 0)
+            return null;
+        // Shorter than one shingle: the words themselves are the only shingle
+        if (words < SHINGLE)
+            addShingle(sig, shingle(window, words));
+        return sig;
+    }
+
+    private static long shingle(long[] window, int words) {
+        long h = 0;
+        for (int k = Math.max(0, words - SHINGLE); k < words; k++)
+            h = h * 0x9E3779B97F4A7C15L + window[k % SHINGLE];
+        return mix(h);
+    }
+
+    private static void addShingle(int[] sig, long shingle) {
+        for (int i = 0; i < HASHES; i++) {
+            int v = (int) ((A[i] * shingle + B[i]) >>> 32);
+            if (v < sig[i])
+                sig[i] = v;
+        }
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /** Adds a document and returns its cluster id; ids count up from 0 in order of first appearance. */
+    public synchronized int add(int[] signature) {
+        return cluster(record(signature));
+    }
+
+    /**
+     * Stores a signature without clustering it yet and returns its document
+     * number; numbers count up from 0. The document is compared with others
+     * once {@link #cluster} is called for it.
+     */
+    public synchronized int record(int[] signature) {
+        if (signature.length != HASHES)
+            throw new IllegalArgumentException("Expected a signature of " + HASHES + " hashes");
+        int doc = recorded++;
+        ensureCapacity(recorded);
+        System.arraycopy(signature, 0, signatures, doc * HASHES, HASHES);
+        return doc;
+    }
+
+    /**
+     * Clusters a recorded document against the documents clustered before
+     * it and returns its cluster id; call it once per document, in the order
+     * that should decide the ids.
+     */
+    public synchronized int cluster(int doc) {
+        if (doc < 0 || doc >= recorded)
+            throw new IllegalArgumentException("Document " + doc + " was not recorded");
+        int[] signature = Arrays.copyOfRange(signatures, doc * HASHES, (doc + 1) * HASHES);
+
+        int best = -1;
+        double bestSimilarity = -1;
+        for (int band = 0; band < BANDS; band++) {
+            int slot = find(bandKey(signature, band));
+            int candidate = heads[slot] - 1;
+            for (int seen = 0; candidate >= 0 && seen < MAX_CANDIDATES_PER_BUCKET; seen++) {
+                double s = similarity(candidate, signature);
+                if (s > bestSimilarity || s == bestSimilarity && clusters[candidate] < clusters[best]) {
+                    best = candidate;
+                    bestSimilarity = s;
+                }
+                candidate = next[candidate * BANDS + band];
+            }
+        }
+
+        int cluster = best >= 0 && bestSimilarity >= threshold ? clusters[best] : clusterCount++;
+        if (cluster >= clusterSizes.length)
+            clusterSizes = Arrays.copyOf(clusterSizes, clusterSizes.length * 2);
+        clusterSizes[cluster]++;
+        clusters[doc] = cluster;
+
+        for (int band = 0; band < BANDS; band++) {
+            int key = bandKey(signature, band);
+            int slot = find(key);
+            if (heads[slot] == 0) {
+                keys[slot] = key;
+                usedSlots++;
+            }
+            next[doc * BANDS + band] = heads[slot] - 1;
+            heads[slot] = doc + 1;
+        }
+        size++;
+        if (usedSlots * 2 > keys.length)
+            rehash();
+        return cluster;
+    }
+
+    private double similarity(int doc, int[] signature) {
+        int base = doc * HASHES, equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[base + i] == signature[i])
+                equal++;
+        }
+        return equal / (double) HASHES;
+    }
+
+    private static int bandKey(int[] signature, int band) {
+        long h = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++)
+            h = h * 0x9E3779B97F4A7C15L + signature[i];
+        return (int) mix(h);
+    }
+
+    // Slot holding key, or the empty slot where it belongs
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = key & mask;
+        while (heads[slot] != 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys, oldHeads = heads;
+        keys = new int[oldKeys.length * 2];
+        heads = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                heads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    private void ensureCapacity(int docs) {
+        if (docs <= clusters.length)
+            return;
+        int capacity = Math.max(docs, clusters.length * 2);
+        signatures = Arrays.copyOf(signatures, capacity * HASHES);
+        clusters = Arrays.copyOf(clusters, capacity);
+        next = Arrays.copyOf(next, capacity * BANDS);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Number of clusters with more than one document. */
+    public synchronized int duplicateClusters() {
+        int n = 0;
+        for (int c = 0; c < clusterCount; c++) {
+            if (clusterSizes[c] > 1)
+                n++;
+        }
+        return n;
+    }
+
+    /** Number of documents in clusters with more than one document. */
+    public synchronized int duplicateDocuments() {
+        int n = 0;
+        for (int c = 0; c < clusterCount; c++) {
+            if (clusterSizes[c] > 1)
+                n += clusterSizes[c];
+        }
+        return n;
+    }
+}
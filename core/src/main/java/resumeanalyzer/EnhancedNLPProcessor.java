@@ -0,0 +1,310 @@
+package resumeanalyzer;
+
+import java.util.*;
+import java.util.regex.*;
+
+// --------------------------- Enhanced NLP Analysis ---------------------------
+class EnhancedNLPProcessor {
+    // Regex patterns
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}\\b");
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+            "(?:\\+?\\d{1,3}[\\s.-]?)?(?:\\(?\\d{2,5}\\)?[\\s.-]?)?\\d{3,4}[\\s.-]?\\d{4}\\b");
+    private static final Pattern LINKEDIN_PATTERN = Pattern.compile(
+            "(?:https?://)?(?:www\\.)?linkedin\\.com/in/([A-Za-z0-9-_%]+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern GITHUB_PATTERN = Pattern.compile(
+            "(?:https?://)?(?:www\\.)?github\\.com/([A-Za-z0-9-_%]+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern URL_PATTERN = Pattern.compile(
+            "https?://[A-Za-z0-9.-]+\\.[A-Za-z]{2,}(?:/[^\\s]*)?",
+            Pattern.CASE_INSENSITIVE);
+
+    // Dictionary names used as keys of the keyword hit map
+    public static final String TECHNICAL = "technical";
+    public static final String SOFT = "soft";
+    public static final String VERBS = "verbs";
+    public static final String MODERN = "modern";
+    public static final String ATS = "ats";
+
+    /** Whole-word dictionary hits in the text, keyed by dictionary name. */
+    public static Map<String, Set<String>> findKeywords(String text) {
+        return Dictionaries.current().keywords.match(text);
+    }
+
+    // Bump when scoring rules change in a way that invalidates stored results
+    static final int SCORING_REVISION = 2;
+
+    private static final Metrics.Timer CONTACT = Metrics.timer(Metrics.CONTACT);
+    private static final Metrics.Timer FEATURES = Metrics.timer(Metrics.FEATURES);
+    private static final Metrics.Timer SCORE_SKILLS = Metrics.timer(Metrics.SCORE_SKILLS);
+    private static final Metrics.Timer SCORE_GRAMMAR = Metrics.timer(Metrics.SCORE_GRAMMAR);
+    private static final Metrics.Timer SCORE_ATS = Metrics.timer(Metrics.SCORE_ATS);
+    private static final Metrics.Timer SCORE_FORMAT = Metrics.timer(Metrics.SCORE_FORMAT);
+
+    public AnalysisResult analyzeResume(String originalContent) {
+        String content = (originalContent == null || originalContent.isBlank()) ? "" : originalContent.trim();
+        long start = System.nanoTime();
+        IncrementalAnalyzer analyzer = IncrementalAnalyzer.of(content);
+        analyzer.finish();
+        FEATURES.stop(start);
+        return score(analyzer, content);
+    }
+
+    /**
+     * Scores a document whose text was streamed into {@code analyzer}. The
+     * text itself is not retained, so the result's content is empty.
+     */
+    public AnalysisResult analyzeStreamed(IncrementalAnalyzer analyzer) {
+        return score(analyzer, "");
+    }
+
+    /** Scores the features of {@code analyzer}; {@code content} is kept in the result as is. */
+    AnalysisResult score(IncrementalAnalyzer analyzer, String content) {
+        AnalysisEvent event = new AnalysisEvent();
+        event.begin();
+        ResumeFeatures features = analyzer.finish();
+        Map<String, String> contact = new HashMap<>(analyzer.contact());
+        CONTACT.record(analyzer.contactNanos());
+
+        long t0 = System.nanoTime();
+        int skillsScore = scoreSkills(features);
+        long t1 = System.nanoTime();
+        int grammarScore = scoreGrammarAndWriting(features);
+        long t2 = System.nanoTime();
+        int atsScore = scoreATS(features, contact);
+        long t3 = System.nanoTime();
+        int formatScore = scoreFormat(features);
+        long t4 = System.nanoTime();
+        SCORE_SKILLS.record(t1 - t0);
+        SCORE_GRAMMAR.record(t2 - t1);
+        SCORE_ATS.record(t3 - t2);
+        SCORE_FORMAT.record(t4 - t3);
+
+        // Weighted average: ATS 30%, Skills 30%, Grammar 20%, Format 20%
+        int overall = (int) Math.round(atsScore * 0.30 + skillsScore * 0.30 + grammarScore * 0.20 + formatScore * 0.20);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.characters = analyzer.length();
+            event.words = features.wordCount;
+            event.sections = features.outline.size();
+            event.overallScore = overall;
+            event.dictionaryVersion = analyzer.dictionaries().version;
+            event.contactNanos = analyzer.contactNanos();
+            event.skillsNanos = t1 - t0;
+            event.grammarNanos = t2 - t1;
+            event.atsNanos = t3 - t2;
+            event.formatNanos = t4 - t3;
+            event.commit();
+        }
+
+        return new AnalysisResult(overall, atsScore, skillsScore, grammarScore, formatScore, content, contact,
+                features, analyzer.dictionaries().version);
+    }
+
+    /** Adds the contact details found in {@code text} that {@code out} does not have yet. */
+    static void extractContact(CharSequence text, Map<String, String> out) {
+        Matcher m;
+        if (!out.containsKey("email")) {
+            m = EMAIL_PATTERN.matcher(text);
+            if (m.find())
+                out.put("email", m.group());
+        }
+
+        if (!out.containsKey("linkedin")) {
+            m = LINKEDIN_PATTERN.matcher(text);
+            if (m.find())
+                out.put("linkedin", "https://linkedin.com/in/" + m.group(1));
+        }
+
+        if (!out.containsKey("github")) {
+            m = GITHUB_PATTERN.matcher(text);
+            if (m.find())
+                out.put("github", "https://github.com/" + m.group(1));
+        }
+
+        if (!out.containsKey("phone")) {
+            m = PHONE_PATTERN.matcher(text);
+            if (m.find())
+                out.put("phone", m.group().trim());
+        }
+
+        // Extract portfolio/personal website
+        if (!out.containsKey("website")) {
+            m = URL_PATTERN.matcher(text);
+            while (m.find()) {
+                String url = m.group();
+                if (!url.contains("linkedin.com") && !url.contains("github.com")) {
+                    out.put("website", url);
+                    break;
+                }
+            }
+        }
+    }
+
+    int scoreSkills(ResumeFeatures f) {
+        int techCount = f.technicalSkills.size();
+        int softCount = f.softSkills.size();
+
+        // Base score: tech skills are weighted more heavily
+        int baseScore = Math.min(70, (techCount * 4) + (softCount * 2));
+
+        // Bonus points for skill diversity
+        if (techCount >= 10 && softCount >= 5)
+            baseScore += 15;
+        else if (techCount >= 7 && softCount >= 3)
+            baseScore += 10;
+        else if (techCount >= 5 && softCount >= 2)
+            baseScore += 5;
+
+        // Check for dedicated skills section
+        if (f.hasSkillsSection)
+            baseScore += 10;
+
+        // Bonus for modern/relevant skills
+        baseScore += f.modernSkills.size() * 2;
+
+        return Math.max(0, Math.min(100, baseScore));
+    }
+
+    int scoreGrammarAndWriting(ResumeFeatures f) {
+        if (f.blank)
+            return 10;
+
+        int score = 40; // Base score for having content
+
+        // Check for action verbs (strong indicator of professional writing)
+        score += Math.min(30, f.actionVerbs.size() * 2); // Up to 30 points for action verbs
+
+        // Check for quantifiable achievements (numbers/percentages)
+        score += Math.min(15, f.quantifiableCount * 2);
+
+        // Penalty for common issues
+        if (f.hasDoubleSpaces)
+            score -= 3; // Double spaces
+        if (f.hasRepeatedPunctuation)
+            score -= 3; // Multiple punctuation
+        if (f.hasFirstPerson)
+            score -= 5; // First person (should avoid)
+
+        // Check sentence structure (look for bullet points)
+        if (f.bulletCount > 0)
+            score += 10;
+
+        // Bonus for professional tone indicators
+        if (f.hasProfessionalTone)
+            score += 5;
+
+        return Math.max(0, Math.min(100, score));
+    }
+
+    int scoreATS(ResumeFeatures f, Map<String, String> contact) {
+        if (f.blank)
+            return 5;
+
+        int score = 20; // Base score
+
+        // Contact information (critical for ATS - 25 points)
+        if (contact.containsKey("email"))
+            score += 8;
+        if (contact.containsKey("phone"))
+            score += 8;
+        if (contact.containsKey("linkedin"))
+            score += 6;
+        if (contact.containsKey("github") || contact.containsKey("website"))
+            score += 3;
+
+        // Section headers (critical for ATS parsing - 30 points)
+        score += Math.min(30, f.sections.size() * 5);
+
+        // Standard keywords that ATS systems look for (20 points)
+        score += Math.min(20, f.atsKeywords.size() * 3);
+
+        // Date formatting (important for ATS date parsing - 10 points)
+        if (f.dateCount >= 2)
+            score += 10;
+        else if (f.dateCount == 1)
+            score += 5;
+
+        // Penalties for ATS-unfriendly elements
+        if (f.hasTrademarkSymbols)
+            score -= 5;
+        if (f.hasNonAscii)
+            score -= 3; // Non-ASCII chars
+
+        // Bonus for clean formatting
+        if (f.bulletCount > 0)
+            score += 5;
+
+        return Math.max(0, Math.min(100, score));
+    }
+
+    int scoreFormat(ResumeFeatures f) {
+        if (f.blank)
+            return 5;
+
+        int score = 15; // Base score
+
+        // Word count analysis (20 points)
+        int wordCount = f.wordCount;
+
+        if (wordCount >= 300 && wordCount <= 800)
+            score += 20;
+        else if (wordCount >= 200 && wordCount <= 1000)
+            score += 15;
+        else if (wordCount >= 150 && wordCount <= 1200)
+            score += 10;
+        else if (wordCount < 100)
+            score -= 10;
+        else if (wordCount > 1500)
+            score -= 5;
+
+        // Bullet points usage (20 points)
+        int bulletCount = f.bulletCount;
+
+        if (bulletCount >= 8 && bulletCount <= 30)
+            score += 20;
+        else if (bulletCount >= 5)
+            score += 15;
+        else if (bulletCount >= 3)
+            score += 10;
+
+        // Section organization (20 points)
+        int sectionCount = f.sections.size();
+
+        if (sectionCount >= 5)
+            score += 20;
+        else if (sectionCount >= 4)
+            score += 15;
+        else if (sectionCount >= 3)
+            score += 10;
+        else if (sectionCount >= 2)
+            score += 5;
+
+        // Whitespace and readability (15 points)
+        double avgLineLength = f.averageWordsPerLine();
+        if (avgLineLength >= 5 && avgLineLength <= 15)
+            score += 10;
+        else if (avgLineLength >= 3 && avgLineLength <= 20)
+            score += 5;
+
+        // Check for excessive spacing issues
+        if (!f.hasExcessiveBlankLines)
+            score += 5;
+
+        // Dates presence (good formatting indicator - 10 points)
+        if (f.dateCount > 0)
+            score += 10;
+
+        // Consistent formatting bonus (10 points)
+        boolean hasConsistentBullets = bulletCount > 0;
+        boolean hasProperSections = sectionCount >= 3;
+        boolean hasGoodLength = wordCount >= 250 && wordCount <= 900;
+
+        if (hasConsistentBullets && hasProperSections && hasGoodLength)
+            score += 10;
+
+        return Math.max(0, Math.min(100, score));
+    }
+}
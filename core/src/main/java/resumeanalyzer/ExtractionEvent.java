@@ -0,0 +1,31 @@
+package resumeanalyzer;
+
+import jdk.jfr.*;
+
+// --------------------------- JFR: Extraction ---------------------------
+/** One document's text extraction. Spans detection and parsing. */
+@Name("resumeanalyzer.Extraction")
+@Label("Resume Extraction")
+@Category({ "Resume Analyzer" })
+@StackTrace(false)
+final class ExtractionEvent extends Event {
+    @Label("File")
+    String file;
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Characters")
+    long characters;
+
+    @Label("Detection Time")
+    @Timespan
+    long detectNanos;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,45 @@
+package resumeanalyzer;
+
+/**
+ * A document whose text could not be extracted, and why. Unchecked so that
+ * it passes through the extractor lambdas of {@link ResultCache#analyze}.
+ */
+class ExtractionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    enum Reason {
+        // Tika could not parse it: corrupt, encrypted or not really of its type
+        UNREADABLE,
+        // Still parsing when the per-document time limit ran out
+        TIMEOUT,
+        // Parsing it ran the worker out of memory
+        OUT_OF_MEMORY,
+        // The worker process died for another reason
+        WORKER_CRASHED,
+        // The waiting thread was interrupted
+        CANCELLED,
+        // Extracting it would need more heap than the whole memory budget
+        TOO_LARGE
+    }
+
+    public final Reason reason;
+
+    ExtractionException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    ExtractionException(Reason reason, String message) {
+        this(reason, message, null);
+    }
+
+    /** The reason in lower case, e.g. {@code "timeout"}, as reported in JSON. */
+    public String reasonName() {
+        return reason.name().toLowerCase();
+    }
+
+    @Override
+    public String toString() {
+        return reasonName() + ": " + getMessage();
+    }
+}
@@ -0,0 +1,296 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// --------------------------- Sandboxed Extraction ---------------------------
+/**
+ * Extracts text in a pool of child JVMs running {@link ExtractionWorker}, so
+ * a document that hangs a parser or exhausts the heap costs one worker
+ * instead of this process. Every worker has its own heap limit and is reused
+ * for many documents. A watchdog kills a worker that is still on a document
+ * when its time limit runs out, and dead or retired workers are replaced in
+ * the background while the others keep working.
+ */
+class ExtractionPool implements Closeable {
+    static final int DEFAULT_HEAP_MB = 512;
+    static final int DEFAULT_TIMEOUT_SECONDS = 30;
+    // Retire workers now and then, so that leaks in parsers cannot pile up
+    static final int DOCUMENTS_PER_WORKER = 2000;
+    private static final int START_TIMEOUT_SECONDS = 120;
+    // Exit code of -XX:+ExitOnOutOfMemoryError
+    private static final int OUT_OF_MEMORY_EXIT = 3;
+
+    private final int heapMb;
+    private final long timeoutMillis;
+    private final int documentsPerWorker;
+    private final long startTimeoutMillis;
+    private final List<String> command;
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService watchdog;
+    private final Metrics.Timer timer = Metrics.timer(Metrics.SANDBOX);
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong outOfMemory = new AtomicLong();
+    private final AtomicLong crashes = new AtomicLong();
+    private final AtomicLong starts = new AtomicLong();
+    private volatile String startFailure;
+    private volatile boolean closed;
+
+    /** One child process. */
+    private final class Worker {
+        final Process process;
+        final DataOutputStream in;
+        final DataInputStream out;
+        int documents;
+        // Set by the watchdog before it kills the process
+        volatile boolean timedOut;
+
+        Worker() throws IOException {
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            in = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            out = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+        void kill() {
+            workers.remove(this);
+            process.destroyForcibly();
+        }
+
+        /** Closes its stdin, which makes the worker exit once it is idle. */
+        void retire() {
+            workers.remove(this);
+            try {
+                in.close();
+            } catch (IOException e) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Starts {@code size} workers with a heap of {@code heapMb} each, in the
+     * background; {@link #extract} waits for the first one that is ready.
+     */
+    public ExtractionPool(int size, int heapMb, int timeoutSeconds) {
+        this(size, heapMb, timeoutSeconds * 1000L, DOCUMENTS_PER_WORKER, START_TIMEOUT_SECONDS * 1000L,
+                ExtractionWorker.class.getName());
+    }
+
+    /**
+     * A pool whose workers run {@code worker}, a main class followed by its
+     * arguments, retire after {@code documentsPerWorker} documents and must be
+     * ready within {@code startTimeoutMillis}, which also bounds how long
+     * {@link #extract} waits for one.
+     */
+    ExtractionPool(int size, int heapMb, long timeoutMillis, int documentsPerWorker, long startTimeoutMillis,
+            String... worker) {
+        this.heapMb = heapMb;
+        this.timeoutMillis = timeoutMillis;
+        this.documentsPerWorker = documentsPerWorker;
+        this.startTimeoutMillis = startTimeoutMillis;
+        List<String> command = new ArrayList<>(List.of(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + heapMb + "m", "-XX:MaxDirectMemorySize=" + heapMb + "m", "-XX:+ExitOnOutOfMemoryError",
+                "-Djava.awt.headless=true", "-cp", System.getProperty("java.class.path")));
+        command.addAll(List.of(worker));
+        // Workers extract with the same Tika profile
+        Path profile = ResumeTextExtractor.profile().file;
+        if (profile != null)
+            command.addAll(List.of("--tika-config", profile.toAbsolutePath().toString()));
+        this.command = List.copyOf(command);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "extraction-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < Math.max(1, size); i++)
+            startWorker();
+    }
+
+    // Starts a worker in the background and makes it available once it is ready, retrying on failure
+    private void startWorker() {
+        Thread.ofVirtual().name("extraction-worker-start").start(() -> {
+            while (!closed) {
+                try {
+                    Worker w = new Worker();
+                    workers.add(w);
+                    ScheduledFuture<?> kill;
+                    try {
+                        kill = watchdog.schedule(w::kill, startTimeoutMillis, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // Closed while the process started; close() may have missed it
+                        w.kill();
+                        return;
+                    }
+                    try {
+                        if (w.out.readInt() != ExtractionWorker.READY)
+                            throw new IOException("Unexpected greeting from extraction worker");
+                    } catch (IOException e) {
+                        w.kill();
+                        throw e;
+                    } finally {
+                        kill.cancel(false);
+                    }
+                    starts.incrementAndGet();
+                    startFailure = null;
+                    if (closed)
+                        w.retire();
+                    else
+                        idle.add(w);
+                    return;
+                } catch (IOException e) {
+                    if (closed)
+                        return;
+                    startFailure = e.toString();
+                    System.err.println("Extraction worker failed to start: " + e);
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * The text of the document, extracted by a worker; see
+     * {@link ResumeTextExtractor#extract}.
+     *
+     * @throws ExtractionException if Tika cannot parse it, it takes longer than
+     *         the time limit, or its worker runs out of memory or dies
+     */
+    public String extract(byte[] data, String fileName) {
+        Worker w = borrow();
+        long start = System.nanoTime();
+        ScheduledFuture<?> kill = watchdog.schedule(() -> {
+            w.timedOut = true;
+            w.kill();
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        byte status;
+        String text;
+        try {
+            ExtractionWorker.writeBytes(w.in, fileName.getBytes(StandardCharsets.UTF_8));
+            ExtractionWorker.writeBytes(w.in, data);
+            w.in.flush();
+            status = w.out.readByte();
+            if (status != ExtractionWorker.OK && status != ExtractionWorker.UNREADABLE)
+                throw new IOException("Unexpected status " + status + " from extraction worker");
+            text = new String(ExtractionWorker.readBytes(w.out, maxMessageBytes()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            kill.cancel(false);
+            timer.stop(start);
+            timer.error();
+            throw died(w, e);
+        } finally {
+            kill.cancel(false);
+        }
+        timer.stop(start);
+        w.documents++;
+        if (closed || w.documents >= documentsPerWorker) {
+            w.retire();
+            if (!closed)
+                startWorker();
+        } else {
+            idle.add(w);
+        }
+        if (status != ExtractionWorker.OK) {
+            timer.error();
+            throw new ExtractionException(ExtractionException.Reason.UNREADABLE, text);
+        }
+        return text;
+    }
+
+    // The text of a document, at most three UTF-8 bytes per char, or an error message
+    private static long maxMessageBytes() {
+        long chars = ResumeTextExtractor.maxChars();
+        return chars > Integer.MAX_VALUE / 3 ? Integer.MAX_VALUE : 3 * chars + (64 << 10);
+    }
+
+    private Worker borrow() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(startTimeoutMillis);
+        while (true) {
+            if (closed)
+                throw new ExtractionException(ExtractionException.Reason.CANCELLED, "Extraction pool is closed");
+            Worker w;
+            try {
+                w = idle.poll(Math.min(1000, startTimeoutMillis), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExtractionException(ExtractionException.Reason.CANCELLED, "Interrupted", e);
+            }
+            if (w == null) {
+                // Fail fast when workers cannot start at all, e.g. a broken class path
+                String failure = startFailure;
+                if (failure != null && workers.isEmpty() || System.nanoTime() > deadline)
+                    throw new ExtractionException(ExtractionException.Reason.WORKER_CRASHED,
+                            "No extraction worker available" + (failure == null ? "" : ": " + failure));
+                continue;
+            }
+            if (w.process.isAlive())
+                return w;
+            // Killed by a late watchdog or died while idle
+            w.kill();
+            startWorker();
+        }
+    }
+
+    // Replaces a worker that stopped answering, and says why it did
+    private ExtractionException died(Worker w, IOException e) {
+        int exit = -1;
+        try {
+            // A worker that ran out of memory exits on its own; give it a moment to report its code
+            if (w.process.waitFor(2, TimeUnit.SECONDS))
+                exit = w.process.exitValue();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        w.kill();
+        if (!closed)
+            startWorker();
+        if (w.timedOut) {
+            timeouts.incrementAndGet();
+            return new ExtractionException(ExtractionException.Reason.TIMEOUT,
+                    "No text after " + timeoutMillis / 1000 + " s", e);
+        }
+        if (exit == OUT_OF_MEMORY_EXIT) {
+            outOfMemory.incrementAndGet();
+            return new ExtractionException(ExtractionException.Reason.OUT_OF_MEMORY,
+                    "Extraction ran out of its " + heapMb + " MB heap", e);
+        }
+        crashes.incrementAndGet();
+        return new ExtractionException(ExtractionException.Reason.WORKER_CRASHED,
+                "Extraction worker died" + (exit >= 0 ? " with exit code " + exit : ""), e);
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getOutOfMemory() {
+        return outOfMemory.get();
+    }
+
+    public long getCrashes() {
+        return crashes.get();
+    }
+
+    /** Workers started so far, replacements included. */
+    public long getStarts() {
+        return starts.get();
+    }
+
+    /** Stops all workers; extractions still running fail. */
+    @Override
+    public void close() {
+        closed = true;
+        for (Worker w : workers)
+            w.kill();
+        watchdog.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+// --------------------------- Extraction Worker ---------------------------
+/**
+ * Main class of the child processes of an {@link ExtractionPool}. Reads
+ * documents from stdin and answers each with its text or the reason it has
+ * none, until stdin closes. Everything else the JVM or a parser prints goes
+ * to stderr, so stdout carries only the protocol:
+ *
+ * <pre>
+ * worker:  int READY                                   once the parsers are loaded
+ * parent:  int nameLength, name, int dataLength, data  per document
+ * worker:  byte status, int textLength, text           per document
+ * </pre>
+ *
+ * Strings are UTF-8. Status {@link #OK} carries the text, {@link #UNREADABLE}
+ * the error message. The JVM itself writes to stdout too, e.g. when it exits
+ * on running out of memory, so the parent checks every status and length.
+ */
+class ExtractionWorker {
+    static final int READY = 0x52455859; // "REXY"
+    static final byte OK = 0, UNREADABLE = 1;
+
+    public static void main(String[] args) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        if (args.length == 2 && args[0].equals("--tika-config"))
+            ResumeTextExtractor.useProfile(Paths.get(args[1]));
+        // Load the parsers of the common formats before the first time limit starts
+        for (Training.Sample s : Training.samples(null))
+            ResumeTextExtractor.extractText(s.data, s.name);
+        out.writeInt(READY);
+        out.flush();
+        while (true) {
+            String name;
+            byte[] data;
+            try {
+                name = new String(readBytes(in), StandardCharsets.UTF_8);
+                data = readBytes(in);
+            } catch (EOFException e) {
+                return;
+            }
+            byte status = OK;
+            String text;
+            try {
+                text = ResumeTextExtractor.extract(data, name);
+            } catch (RuntimeException e) {
+                // Parsers throw all sorts of unchecked exceptions on malformed input
+                status = UNREADABLE;
+                text = e instanceof ExtractionException ? e.getMessage() : e.toString();
+            } catch (StackOverflowError e) {
+                status = UNREADABLE;
+                text = "Document nested too deeply: " + e;
+            }
+            out.writeByte(status);
+            writeBytes(out, String.valueOf(text).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        return readBytes(in, Integer.MAX_VALUE);
+    }
+
+    /** Reads a length-prefixed message of at most {@code max} bytes. */
+    static byte[] readBytes(DataInputStream in, long max) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > max)
+            throw new IOException("Corrupt message length " + length);
+        byte[] b = new byte[length];
+        in.readFully(b);
+        return b;
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] b) throws IOException {
+        out.writeInt(b.length);
+        out.write(b);
+    }
+}
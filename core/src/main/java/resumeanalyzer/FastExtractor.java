@@ -0,0 +1,469 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+// --------------------------- Fast Extraction ---------------------------
+/**
+ * Extracts plain text and DOCX, which make up most uploads, without Tika's
+ * type detection and parser chain. The format is told from the first bytes,
+ * which also picks out PDFs for {@link PdfExtractor};
+ * anything else, and any document these readers cannot handle, is left to
+ * Tika. The text is the same as Tika's for the documents we see; DOCX parts
+ * are streamed from the zip and read with StAX, in Tika's order of headers,
+ * body and footers. Tika puts notes, comments and text boxes where they are
+ * referenced and numbers list items, so documents that have any are left to
+ * it.
+ */
+class FastExtractor {
+    enum Format {
+        TEXT("text/plain"),
+        DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+        // Those with text only on their pages, see PdfExtractor
+        PDF("application/pdf"),
+        // Legacy Office, markup and everything unknown
+        OTHER("application/octet-stream");
+
+        final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    private static final int SNIFF_BYTES = 8192;
+    private static final int CHUNK = 8192;
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    private static final String DOCUMENT = "word/document.xml";
+    private static final String RELATIONSHIPS = "word/_rels/document.xml.rels";
+    // Tika's order of a section's headers and of its footers
+    private static final List<String> PAGES = List.of("first", "even", "default");
+    // Markup-compatibility namespace: mc:Fallback repeats the text of mc:Choice
+    private static final String MC = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+    static {
+        XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /** The format of a document from its first bytes; does not move {@code data}'s position. */
+    static Format sniff(ByteBuffer data) {
+        int p = data.position(), n = Math.min(data.remaining(), SNIFF_BYTES);
+        // Tika rejects empty documents
+        if (n == 0)
+            return Format.OTHER;
+        if (n >= 4 && data.get(p) == 'P' && data.get(p + 1) == 'K' && data.get(p + 2) == 3 && data.get(p + 3) == 4)
+            return Format.DOCX;
+        if (bom(data) != null)
+            return Format.TEXT;
+        boolean leading = true;
+        for (int i = 0; i < n; i++) {
+            int b = data.get(p + i) & 0xFF;
+            // Control characters other than tab, line breaks, form feed and escape mean binary
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1B || b == 0x7F)
+                return Format.OTHER;
+            if (leading && !Character.isWhitespace(b)) {
+                // HTML, XML and RTF need their markup removed
+                if (b == '<' || b == '{')
+                    return Format.OTHER;
+                leading = false;
+            }
+            // A PDF may start with a few bytes of junk
+            if (b == '%' && i + 4 < n && data.get(p + i + 1) == 'P' && data.get(p + i + 2) == 'D'
+                    && data.get(p + i + 3) == 'F' && data.get(p + i + 4) == '-' && i < 1024)
+                return Format.PDF;
+        }
+        return Format.TEXT;
+    }
+
+    /** Receives text as it is extracted. */
+    interface Sink {
+        void append(char[] ch, int start, int length);
+    }
+
+    // --------------------------- Plain Text ---------------------------
+    /**
+     * Decodes at most {@code maxChars} characters of text into {@code sink}:
+     * in the charset of its byte-order mark, else UTF-8 if it is valid UTF-8,
+     * else windows-1252. Decodes straight from {@code data}, which may be a
+     * mapped file, in small chunks.
+     */
+    static void text(ByteBuffer data, long maxChars, Sink sink) {
+        ByteBuffer in = data.duplicate();
+        Charset charset = bom(in);
+        if (charset != null)
+            in.position(in.position() + (charset == StandardCharsets.UTF_8 ? 3 : 2));
+        else
+            charset = decode(in.duplicate(), StandardCharsets.UTF_8, maxChars, null) ? StandardCharsets.UTF_8
+                    : WINDOWS_1252;
+        decode(in, charset, maxChars, sink);
+    }
+
+    /** The charset {@code data}'s byte-order mark names, or {@code null}. */
+    private static Charset bom(ByteBuffer data) {
+        int p = data.position(), n = data.remaining();
+        if (n >= 3 && (data.get(p) & 0xFF) == 0xEF && (data.get(p + 1) & 0xFF) == 0xBB && (data.get(p + 2) & 0xFF) == 0xBF)
+            return StandardCharsets.UTF_8;
+        if (n >= 2 && (data.get(p) & 0xFF) == 0xFE && (data.get(p + 1) & 0xFF) == 0xFF)
+            return StandardCharsets.UTF_16BE;
+        if (n >= 2 && (data.get(p) & 0xFF) == 0xFF && (data.get(p + 1) & 0xFF) == 0xFE)
+            return StandardCharsets.UTF_16LE;
+        return null;
+    }
+
+    // Decodes up to maxChars characters into sink; without a sink only checks that the input is valid
+    private static boolean decode(ByteBuffer in, Charset charset, long maxChars, Sink sink) {
+        CodingErrorAction malformed = sink == null ? CodingErrorAction.REPORT : CodingErrorAction.REPLACE;
+        CharsetDecoder decoder = charset.newDecoder().onMalformedInput(malformed).onUnmappableCharacter(malformed);
+        CharBuffer out = CharBuffer.allocate(CHUNK);
+        long left = maxChars;
+        while (left > 0) {
+            out.limit((int) Math.min(CHUNK, left));
+            CoderResult r = decoder.decode(in, out, true);
+            if (r.isError())
+                return false;
+            if (r.isUnderflow())
+                decoder.flush(out);
+            out.flip();
+            left -= out.remaining();
+            if (sink != null)
+                sink.append(out.array(), 0, out.remaining());
+            out.clear();
+            if (r.isUnderflow())
+                break;
+        }
+        return true;
+    }
+
+    // --------------------------- DOCX ---------------------------
+    /** Opens the document, once for each pass over it. */
+    interface Input {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Extracts at most {@code maxChars} characters of the DOCX into
+     * {@code sink}. Returns {@code false} if it is a zip but not a Word
+     * document, or a document for Tika; what was written by then is to be
+     * discarded. A first pass reads the relationships, headers and footers,
+     * and the last one streams the body to the sink a paragraph at a time.
+     * Which headers come first is in the body's section properties at its
+     * end, so the body is read an extra time for them if a header has text.
+     *
+     * @throws IOException if the zip or its XML is corrupt
+     */
+    static boolean docx(Input input, long maxChars, Sink sink) throws IOException {
+        Package pkg = new Package();
+        try {
+            boolean numbered = false;
+            try (ZipInputStream in = new ZipInputStream(input.open())) {
+                ZipEntry e;
+                while ((e = in.getNextEntry()) != null) {
+                    String name = e.getName();
+                    if (name.equals(DOCUMENT)) {
+                        pkg.body = true;
+                    } else if (name.equals(RELATIONSHIPS)) {
+                        pkg.relationships(in);
+                    } else if ((name.startsWith("word/header") || name.startsWith("word/footer"))
+                            && name.endsWith(".xml")) {
+                        StringBuilder text = new StringBuilder();
+                        Part part = new Part(pkg, new Out(text::append, Long.MAX_VALUE));
+                        if (!part.read(in))
+                            return false;
+                        numbered |= part.numbered;
+                        pkg.texts.put(name, text.toString());
+                    }
+                }
+            }
+            // Relationships may come after the parts that need them
+            if (!pkg.body || numbered && pkg.numbering)
+                return false;
+            Out out = new Out(sink, maxChars);
+            if (pkg.headerText()) {
+                Part scan = new Part(pkg, new Out((ch, start, length) -> {}, Long.MAX_VALUE));
+                if (!body(input, scan))
+                    return false;
+                pkg.write(scan.body.headers, out);
+            }
+            Part body = new Part(pkg, out);
+            if (!body(input, body))
+                return false;
+            if (body.body != null)
+                pkg.write(body.body.footers, out);
+            out.flush();
+            return true;
+        } catch (XMLStreamException | IllegalArgumentException e) {
+            // The latter for entry names that are not valid UTF-8, and for bad relationship targets
+            throw new IOException("Corrupt DOCX: " + e.getMessage(), e);
+        }
+    }
+
+    // Reads the main part of the document with part; false if it is for Tika
+    private static boolean body(Input input, Part part) throws IOException, XMLStreamException {
+        try (ZipInputStream in = new ZipInputStream(input.open())) {
+            ZipEntry e;
+            while ((e = in.getNextEntry()) != null) {
+                if (e.getName().equals(DOCUMENT))
+                    return part.read(in);
+            }
+        }
+        return false;
+    }
+
+    private static XMLStreamReader reader(InputStream in) throws XMLStreamException {
+        return XML.createXMLStreamReader(new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // The zip stream stays open for the next entry
+            }
+        });
+    }
+
+    private static String attribute(XMLStreamReader r, String localName) {
+        for (int i = 0; i < r.getAttributeCount(); i++) {
+            if (r.getAttributeLocalName(i).equals(localName))
+                return r.getAttributeValue(i);
+        }
+        return null;
+    }
+
+    /** What the body needs from the rest of the package. */
+    private static final class Package {
+        // Part names by relationship id
+        final Map<String, String> targets = new HashMap<>();
+        // Header and footer text by part name
+        final Map<String, String> texts = new HashMap<>();
+        // Tika numbers list paragraphs only if the document has numbering definitions
+        boolean numbering;
+        boolean body;
+
+        void relationships(InputStream in) throws XMLStreamException {
+            XMLStreamReader r = reader(in);
+            try {
+                while (r.hasNext()) {
+                    if (r.next() != XMLStreamConstants.START_ELEMENT || !r.getLocalName().equals("Relationship"))
+                        continue;
+                    String id = attribute(r, "Id"), target = attribute(r, "Target"), type = attribute(r, "Type");
+                    if (id == null || target == null || "External".equals(attribute(r, "TargetMode")))
+                        continue;
+                    // Relative to the main part's folder
+                    targets.put(id, URI.create("/word/").resolve(target).getPath().substring(1));
+                    if (type != null && type.endsWith("/numbering"))
+                        numbering = true;
+                }
+            } finally {
+                r.close();
+            }
+        }
+
+        boolean headerText() {
+            for (Map.Entry<String, String> e : texts.entrySet()) {
+                if (e.getKey().startsWith("word/header") && !e.getValue().isEmpty())
+                    return true;
+            }
+            return false;
+        }
+
+        // The headers or footers of a section, in Tika's order
+        void write(Map<String, String> references, Out out) {
+            for (String page : PAGES) {
+                String id = references.get(page);
+                String text = id == null ? null : texts.get(targets.get(id));
+                if (text != null)
+                    out.append(text);
+            }
+        }
+    }
+
+    /** The headers and footers of a section by the pages they are on: first, even or default. */
+    private static final class Section {
+        final Map<String, String> headers = new HashMap<>(), footers = new HashMap<>();
+    }
+
+    /** Text on its way to the sink, passed on at paragraph ends and when the buffer is full. */
+    private static final class Out {
+        private final Sink sink;
+        private final char[] buffer = new char[CHUNK];
+        private int length;
+        private long left;
+
+        Out(Sink sink, long maxChars) {
+            this.sink = sink;
+            this.left = maxChars;
+        }
+
+        boolean full() {
+            return left <= 0;
+        }
+
+        void append(char c) {
+            if (left <= 0)
+                return;
+            if (length == buffer.length)
+                flush();
+            buffer[length++] = c;
+            left--;
+        }
+
+        void append(char[] ch, int start, int n) {
+            while (n > 0 && left > 0) {
+                if (length == buffer.length)
+                    flush();
+                int k = (int) Math.min(Math.min(n, buffer.length - length), left);
+                System.arraycopy(ch, start, buffer, length, k);
+                length += k;
+                start += k;
+                n -= k;
+                left -= k;
+            }
+        }
+
+        void append(String text) {
+            append(text.toCharArray(), 0, text.length());
+        }
+
+        void flush() {
+            if (length > 0)
+                sink.append(buffer, 0, length);
+            length = 0;
+        }
+    }
+
+    /**
+     * Writes the text of one WordprocessingML part as Tika does: paragraphs
+     * end in a newline, table cells start with a tab, and a paragraph that
+     * ends a section has that section's headers before it and its footers
+     * after it.
+     */
+    private static final class Part {
+        private final Package pkg;
+        private final Out out;
+        // Section properties of the body, its last element
+        Section body;
+        // Whether a paragraph is a list item Tika would number
+        boolean numbered;
+
+        Part(Package pkg, Out out) {
+            this.pkg = pkg;
+            this.out = out;
+        }
+
+        /** Returns {@code false} if the part has text Tika puts elsewhere, or numbers. */
+        boolean read(InputStream in) throws XMLStreamException {
+            XMLStreamReader r = reader(in);
+            try {
+                int text = 0, run = 0, skip = 0, properties = 0, sections = 0;
+                Section section = null;
+                Map<String, String> footers = null;
+                while (r.hasNext() && !out.full()) {
+                    switch (r.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            if (skip > 0 || MC.equals(r.getNamespaceURI()) && r.getLocalName().equals("Fallback")) {
+                                skip++;
+                                continue;
+                            }
+                            switch (r.getLocalName()) {
+                                case "t", "delText" -> text++;
+                                case "r" -> run++;
+                                case "tc" -> out.append('\t');
+                                case "pPr" -> properties++;
+                                // Only inside a run: paragraph properties have tab stops called w:tab too
+                                case "tab", "ptab" -> {
+                                    if (run > 0)
+                                        out.append('\t');
+                                }
+                                case "br", "cr" -> {
+                                    if (run > 0)
+                                        out.append('\n');
+                                }
+                                case "noBreakHyphen" -> {
+                                    if (run > 0)
+                                        out.append('‑');
+                                }
+                                case "numId" -> {
+                                    if (properties > 0 && !"0".equals(attribute(r, "val"))) {
+                                        numbered = true;
+                                        if (pkg.numbering)
+                                            return false;
+                                    }
+                                }
+                                case "sectPr" -> {
+                                    if (sections++ == 0)
+                                        section = new Section();
+                                }
+                                case "headerReference", "footerReference" -> {
+                                    if (section != null) {
+                                        String type = attribute(r, "type");
+                                        String page = "first".equals(type) || "even".equals(type) ? type : "default";
+                                        (r.getLocalName().startsWith("header") ? section.headers : section.footers)
+                                                .put(page, attribute(r, "id"));
+                                    }
+                                }
+                                case "footnoteReference", "endnoteReference", "commentReference", "txbxContent" -> {
+                                    return false;
+                                }
+                                default -> {
+                                }
+                            }
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            if (skip > 0) {
+                                skip--;
+                                continue;
+                            }
+                            switch (r.getLocalName()) {
+                                case "t", "delText" -> text--;
+                                case "r" -> run--;
+                                case "pPr" -> properties--;
+                                case "sectPr" -> {
+                                    if (--sections > 0)
+                                        continue;
+                                    if (properties == 0) {
+                                        // Nothing with text follows
+                                        body = section;
+                                        return true;
+                                    }
+                                    pkg.write(section.headers, out);
+                                    footers = section.footers;
+                                    section = null;
+                                }
+                                case "p" -> {
+                                    out.append('\n');
+                                    if (footers != null)
+                                        pkg.write(footers, out);
+                                    footers = null;
+                                    out.flush();
+                                }
+                                case "tr", "tbl" -> out.append('\n');
+                                default -> {
+                                }
+                            }
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                            if (text > 0 && skip == 0)
+                                out.append(r.getTextCharacters(), r.getTextStart(), r.getTextLength());
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } finally {
+                r.close();
+            }
+            out.flush();
+            return true;
+        }
+    }
+}
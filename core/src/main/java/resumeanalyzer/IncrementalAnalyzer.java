@@ -0,0 +1,413 @@
+package resumeanalyzer;
+
+import java.util.*;
+import java.util.regex.*;
+
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Computes {@link ResumeFeatures} and contact info from text that arrives in
+ * chunks of any size, e.g. straight from a SAX parser. Keywords are matched
+ * by streaming automata and every other counter is updated a line at a time,
+ * so memory is bounded by the longest line rather than by the document.
+ * Leading and trailing whitespace is ignored, as if the text had been
+ * trimmed. Patterns are applied per line, so a match cannot span a line
+ * break.
+ *
+ * <p>The same line pass segments the document: a short line that consists
+ * of a known section header (optionally decorated, followed by a colon, or
+ * several headers joined by {@code &}, {@code and}, {@code /} or {@code ,})
+ * starts a new {@link ResumeSection}. A header word inside a sentence does
+ * not.
+ *
+ * <p>Finished analyses of consecutive lines can be {@link #absorb}ed into
+ * one analyzer, which then yields the same features as a single pass over
+ * the whole text; {@link LiveAnalysis} uses that to re-analyze only the
+ * lines an edit touched.
+ */
+class IncrementalAnalyzer {
+    // Longer lines are analyzed in pieces to keep memory bounded
+    private static final int MAX_LINE_LENGTH = 8192;
+    // Longer lines are content, not headers
+    private static final int MAX_HEADER_LINE_LENGTH = 60;
+
+    private static final Pattern BULLET_PATTERN = Pattern.compile("\\s*[•●■▪▸►⦿⦾∙◦‣⁃-]\\s+");
+    private static final Pattern DATE_PATTERN = Pattern.compile(
+            "\\b(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\.?\\s+\\d{4}\\b|\\b\\d{4}\\s*[-–—]\\s*(?:\\d{4}|Present|Current)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUANTIFIER_PATTERN = Pattern.compile("\\b\\d+%|\\$\\d+|\\d+\\+|\\d{2,}\\b");
+
+    private static final Pattern HEADER_SEPARATOR = Pattern.compile("\\s*(?:&|/|,|\\|)\\s*|\\s+and\\s+");
+
+    // Dictionary name of the substring (not whole-word) matcher
+    static final String TONE = "tone";
+
+    private static final KeywordMatcher PHRASES = new KeywordMatcher(Map.of(
+            TONE, List.of("responsible for", "led team", "managed", "developed")), false);
+
+    private final Dictionaries dictionaries;
+    private final boolean trim;
+    private final KeywordMatcher.Scanner keywords;
+    private final KeywordMatcher.Scanner phrases;
+    private final Map<String, String> contact = new HashMap<>();
+    private final StringBuilder line = new StringBuilder();
+    private final List<ResumeSection> outline = new ArrayList<>();
+    private final Set<String> sectionHeaders = new LinkedHashSet<>();
+    private String openHeader, openTitle;
+    private int openStart, openBodyStart;
+    // Characters accepted so far, and the offset where the current line starts
+    private int offset, lineOffset;
+    // Time spent in contact extraction, reported per document by the scorer
+    private long contactNanos;
+    private final StringBuilder pendingWhitespace = new StringBuilder();
+    private boolean started, nonWhitespace, lineStart = true, lineHasContent, inWord;
+    private char previous, beforePrevious;
+    // Newlines before the first other character, and at the end so far
+    private int leadingNewlines, newlineRun;
+    private ResumeFeatures features;
+    private Map<String, Set<String>> keywordHits, phraseHits;
+
+    final CharStats stats = new CharStats();
+    int bulletCount, dateCount, quantifiableCount;
+    boolean hasExcessiveBlankLines;
+
+    /** Analyzer pinned to the dictionaries current at construction time. */
+    public IncrementalAnalyzer() {
+        this(Dictionaries.current());
+    }
+
+    public IncrementalAnalyzer(Dictionaries dictionaries) {
+        this(dictionaries, true);
+    }
+
+    /** With {@code trim} unset, leading and trailing whitespace is analyzed like any other text. */
+    IncrementalAnalyzer(Dictionaries dictionaries, boolean trim) {
+        this.dictionaries = dictionaries;
+        this.trim = trim;
+        keywords = dictionaries.keywords.newScanner();
+        phrases = PHRASES.newScanner();
+    }
+
+    /** The dictionary version this analysis runs against. */
+    public Dictionaries dictionaries() {
+        return dictionaries;
+    }
+
+    static IncrementalAnalyzer of(CharSequence text) {
+        IncrementalAnalyzer a = new IncrementalAnalyzer();
+        a.append(text);
+        return a;
+    }
+
+    public void append(CharSequence text) {
+        for (int i = 0, n = text.length(); i < n; i++)
+            append(text.charAt(i));
+    }
+
+    public void append(char[] ch, int start, int length) {
+        for (int i = start, end = start + length; i < end; i++)
+            append(ch[i]);
+    }
+
+    public void append(char c) {
+        if (features != null)
+            throw new IllegalStateException("Analysis already finished");
+        if (c <= ' ' && trim) {
+            // Held back until more content follows, so trailing whitespace is trimmed
+            if (started)
+                pendingWhitespace.append(c);
+            return;
+        }
+        started = true;
+        for (int i = 0; i < pendingWhitespace.length(); i++)
+            accept(pendingWhitespace.charAt(i));
+        pendingWhitespace.setLength(0);
+        accept(c);
+    }
+
+    private void accept(char c) {
+        if (line.length() == 0)
+            lineOffset = offset;
+        offset++;
+        keywords.feed(c);
+        phrases.feed(c);
+        if (!Character.isWhitespace(c))
+            nonWhitespace = true;
+
+        // Words are maximal runs of non-whitespace, as split("\\s+") sees them
+        if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+            inWord = false;
+        } else if (!inWord) {
+            inWord = true;
+            stats.words++;
+        }
+
+        // A run is counted when its second character arrives
+        if (c == ' ' && previous == ' ' && beforePrevious != ' ')
+            stats.doubleSpaces++;
+        if (punctuation(c) && punctuation(previous) && !punctuation(beforePrevious))
+            stats.punctuationRuns++;
+        // "I " or "i " after a word boundary, as the old regex \b(I|i) matched
+        if (c == ' ' && (previous == 'I' || previous == 'i') && !asciiWordChar(beforePrevious))
+            stats.firstPerson++;
+        if (c > 0x7F) {
+            stats.nonAscii++;
+            if (c == '©' || c == '®' || c == '™')
+                stats.trademarkSymbols++;
+        }
+        if (c == '\n') {
+            if (leadingNewlines == offset - 1)
+                leadingNewlines++;
+            if (++newlineRun >= 4)
+                hasExcessiveBlankLines = true;
+        } else {
+            newlineRun = 0;
+        }
+        beforePrevious = previous;
+        previous = c;
+
+        line.append(c);
+        if (c > ' ')
+            lineHasContent = true;
+        if (c == '\n')
+            endLine(true);
+        else if (line.length() >= MAX_LINE_LENGTH)
+            endLine(false);
+    }
+
+    private void endLine(boolean complete) {
+        analyzeLine(line, lineStart);
+        if (complete && lineStart)
+            segment(line, lineOffset, offset);
+        line.setLength(0);
+        lineStart = complete;
+        if (complete) {
+            if (lineHasContent)
+                stats.nonEmptyLines++;
+            lineHasContent = false;
+        }
+    }
+
+    private static boolean punctuation(char c) {
+        return c == ',' || c == '.' || c == '!' || c == '?';
+    }
+
+    private static boolean asciiWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private void analyzeLine(CharSequence text, boolean atLineStart) {
+        if (atLineStart && BULLET_PATTERN.matcher(text).lookingAt())
+            bulletCount++;
+        dateCount += count(DATE_PATTERN, text);
+        quantifiableCount += count(QUANTIFIER_PATTERN, text);
+        long start = System.nanoTime();
+        EnhancedNLPProcessor.extractContact(text, contact);
+        contactNanos += System.nanoTime() - start;
+    }
+
+    /** Opens a new section if the line {@code [start, end)} is a header line. */
+    private void segment(CharSequence text, int start, int end) {
+        if (text.length() > MAX_HEADER_LINE_LENGTH)
+            return;
+        int colon = -1;
+        for (int i = 0; i < text.length() && colon < 0; i++) {
+            if (text.charAt(i) == ':')
+                colon = i;
+        }
+        List<String> headers = headers(colon >= 0 ? text.subSequence(0, colon) : text);
+        if (headers.isEmpty())
+            return;
+        closeSection(start);
+        openHeader = headers.get(0);
+        openTitle = text.toString().strip();
+        openStart = start;
+        // "Skills: Java, SQL" has its body on the header line
+        openBodyStart = colon >= 0 ? start + colon + 1 : end;
+        sectionHeaders.addAll(headers);
+    }
+
+    /** Dictionary headers the text consists of, or an empty list. */
+    private List<String> headers(CharSequence text) {
+        String name = normalizeHeader(text);
+        if (name.isEmpty())
+            return List.of();
+        if (dictionaries.sectionHeaders.contains(name))
+            return List.of(name);
+        String[] parts = HEADER_SEPARATOR.split(name);
+        if (parts.length < 2)
+            return List.of();
+        List<String> headers = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            String header = normalizeHeader(part);
+            if (!dictionaries.sectionHeaders.contains(header))
+                return List.of();
+            headers.add(header);
+        }
+        return headers;
+    }
+
+    /** Lower case, single spaces, without leading or trailing decoration like "## " or "**". */
+    private static String normalizeHeader(CharSequence text) {
+        int from = 0, to = text.length();
+        while (from < to && !Character.isLetterOrDigit(text.charAt(from)))
+            from++;
+        while (to > from && !Character.isLetterOrDigit(text.charAt(to - 1)))
+            to--;
+        StringBuilder sb = new StringBuilder(to - from);
+        boolean space = false;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+            } else {
+                if (space)
+                    sb.append(' ');
+                space = false;
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void closeSection(int end) {
+        if (openHeader != null)
+            outline.add(new ResumeSection(openHeader, openTitle, openStart, Math.min(openBodyStart, end), end));
+        openHeader = null;
+    }
+
+    private static int count(Pattern p, CharSequence text) {
+        Matcher m = p.matcher(text);
+        int n = 0;
+        while (m.find())
+            n++;
+        return n;
+    }
+
+    /** True while no non-whitespace text has been appended. */
+    public boolean blank() {
+        return !nonWhitespace;
+    }
+
+    /** Characters accepted so far. */
+    int length() {
+        return offset;
+    }
+
+    long contactNanos() {
+        return contactNanos;
+    }
+
+    /** Ends the input and returns the features; further appends are rejected. */
+    public ResumeFeatures finish() {
+        if (features == null) {
+            if (line.length() > 0) {
+                analyzeLine(line, lineStart);
+                if (lineStart)
+                    segment(line, lineOffset, offset);
+                if (lineHasContent)
+                    stats.nonEmptyLines++;
+                line.setLength(0);
+            }
+            pendingWhitespace.setLength(0);
+            keywordHits = union(keywords.finish(), keywordHits);
+            phraseHits = union(phrases.finish(), phraseHits);
+            closeSection(offset);
+            features = new ResumeFeatures(this);
+        }
+        return features;
+    }
+
+    /**
+     * Adds {@code part}, a finished untrimmed analysis of the text that
+     * follows everything seen so far and starts at a line start, as if that
+     * text had been appended. Only for analyzers that are never appended to.
+     */
+    void absorb(IncrementalAnalyzer part) {
+        if (features != null)
+            throw new IllegalStateException("Analysis already finished");
+        if (started)
+            throw new IllegalStateException("Cannot absorb into an analyzer that has text appended");
+        if (part.features == null || part.trim)
+            throw new IllegalArgumentException("Not a finished untrimmed analysis");
+        int base = offset;
+        nonWhitespace |= part.nonWhitespace;
+        stats.add(part.stats);
+        bulletCount += part.bulletCount;
+        dateCount += part.dateCount;
+        quantifiableCount += part.quantifiableCount;
+        contactNanos += part.contactNanos;
+
+        // A run of blank lines can continue across the join
+        if (part.hasExcessiveBlankLines || newlineRun + part.leadingNewlines >= 4)
+            hasExcessiveBlankLines = true;
+        newlineRun = part.leadingNewlines == part.offset ? newlineRun + part.offset : part.newlineRun;
+
+        for (Map.Entry<String, String> e : part.contact.entrySet())
+            contact.putIfAbsent(e.getKey(), e.getValue());
+        keywordHits = union(keywordHits == null ? new HashMap<>() : keywordHits, part.keywordHits);
+        phraseHits = union(phraseHits == null ? new HashMap<>() : phraseHits, part.phraseHits);
+
+        // The part closed its last section at its end; here it stays open until the next header
+        for (ResumeSection section : part.outline) {
+            closeSection(base + section.start);
+            if (section.end == part.offset) {
+                openHeader = section.header;
+                openTitle = section.title;
+                openStart = base + section.start;
+                openBodyStart = base + section.bodyStart;
+            } else {
+                outline.add(new ResumeSection(section.header, section.title, base + section.start,
+                        base + section.bodyStart, base + section.end));
+            }
+        }
+        sectionHeaders.addAll(part.sectionHeaders);
+        offset += part.offset;
+    }
+
+    private static Map<String, Set<String>> union(Map<String, Set<String>> into, Map<String, Set<String>> from) {
+        if (from != null) {
+            for (Map.Entry<String, Set<String>> e : from.entrySet())
+                into.computeIfAbsent(e.getKey(), k -> new HashSet<>()).addAll(e.getValue());
+        }
+        return into;
+    }
+
+    Map<String, Set<String>> keywordHits() {
+        return keywordHits;
+    }
+
+    Map<String, Set<String>> phraseHits() {
+        return phraseHits;
+    }
+
+    /** Distinct headers of the recognized sections, in document order. */
+    Set<String> sectionHeaders() {
+        return sectionHeaders;
+    }
+
+    /** Sections in document order; complete only after {@link #finish()}. */
+    List<ResumeSection> outline() {
+        return outline;
+    }
+
+    /** Contact details found so far: email, phone, linkedin, github, website. */
+    public Map<String, String> contact() {
+        return contact;
+    }
+
+    /** SAX handler that feeds a parser's text output into this analyzer. */
+    public DefaultHandler contentHandler() {
+        return new DefaultHandler() {
+            @Override
+            public void characters(char[] ch, int start, int length) {
+                append(ch, start, length);
+            }
+
+            @Override
+            public void ignorableWhitespace(char[] ch, int start, int length) {
+                append(ch, start, length);
+            }
+        };
+    }
+}
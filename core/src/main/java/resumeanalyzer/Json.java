@@ -0,0 +1,123 @@
+package resumeanalyzer;
+
+import java.util.*;
+
+// --------------------------- JSON Output ---------------------------
+class Json {
+    public static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20)
+                        sb.append(String.format("\\u%04x", (int) c));
+                    else
+                        sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public static String object(Map<String, String> values) {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, String> e : new TreeMap<>(values).entrySet()) {
+            if (sb.length() > 1)
+                sb.append(',');
+            sb.append(quote(e.getKey())).append(':').append(quote(e.getValue()));
+        }
+        return sb.append('}').toString();
+    }
+
+    /** One flat JSON object with the scores, contact info and headline counts of a result. */
+    public static String result(String file, AnalysisResult r) {
+        ResumeFeatures f = r.features;
+        return "{\"file\":" + quote(file)
+                + ",\"overall\":" + r.overallScore
+                + ",\"ats\":" + r.atsScore
+                + ",\"skills\":" + r.skillsScore
+                + ",\"grammar\":" + r.grammarScore
+                + ",\"format\":" + r.formatScore
+                + ",\"words\":" + f.wordCount
+                + ",\"technicalSkills\":" + f.technicalSkills.size()
+                + ",\"softSkills\":" + f.softSkills.size()
+                + ",\"actionVerbs\":" + f.actionVerbs.size()
+                + ",\"sections\":" + f.sections.size()
+                + ",\"contact\":" + object(r.contactInfo) + "}";
+    }
+
+    public static String array(List<String> values) {
+        StringBuilder sb = new StringBuilder("[");
+        for (String v : values) {
+            if (sb.length() > 1)
+                sb.append(',');
+            sb.append(quote(v));
+        }
+        return sb.append(']').toString();
+    }
+
+    /** {@link #result} plus the details, suggestions and summary the UI shows for it. */
+    public static String report(String file, AnalysisResult r) {
+        Map<String, String> details = AnalysisReport.details(r);
+        String base = result(file, r);
+        return base.substring(0, base.length() - 1)
+                + ",\"summary\":" + quote(AnalysisReport.scoreDescription(r.overallScore))
+                + ",\"details\":" + object(details)
+                + ",\"suggestions\":" + array(AnalysisReport.suggestions(r))
+                + ",\"outline\":" + outline(r.features.outline) + "}";
+    }
+
+    /** Sections with their character offsets, in document order. */
+    public static String outline(List<ResumeSection> sections) {
+        StringBuilder sb = new StringBuilder("[");
+        for (ResumeSection s : sections) {
+            if (sb.length() > 1)
+                sb.append(',');
+            sb.append("{\"section\":").append(quote(s.header))
+                    .append(",\"title\":").append(quote(s.title))
+                    .append(",\"start\":").append(s.start)
+                    .append(",\"bodyStart\":").append(s.bodyStart)
+                    .append(",\"end\":").append(s.end).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    public static String hit(int rank, ResumeIndex.Hit h) {
+        return "{\"rank\":" + rank + ",\"file\":" + quote(h.file)
+                + ",\"score\":" + String.format(Locale.ROOT, "%.4f", h.score)
+                + ",\"overall\":" + h.overallScore + "}";
+    }
+
+    /** One record of a {@link ScoreStore}. */
+    public static String record(ScoreStore.Record r) {
+        return "{\"time\":" + quote(java.time.Instant.ofEpochMilli(r.timestamp).toString())
+                + ",\"candidate\":" + quote(r.candidateId)
+                + ",\"hash\":" + quote(r.contentHash)
+                + ",\"overall\":" + r.overall
+                + ",\"ats\":" + r.ats
+                + ",\"skills\":" + r.skills
+                + ",\"grammar\":" + r.grammar
+                + ",\"format\":" + r.format
+                + ",\"words\":" + r.words
+                + ",\"dictionaries\":" + quote(r.dictionaryVersion) + "}";
+    }
+
+    /** {@link #error} for the exception that stopped a document, with the reason if extraction failed. */
+    public static String failure(String file, Throwable e) {
+        if (!(e instanceof ExtractionException x))
+            return error(file, e.toString());
+        String base = error(file, x.getMessage());
+        return base.substring(0, base.length() - 1) + ",\"reason\":" + quote(x.reasonName()) + "}";
+    }
+
+    public static String error(String file, String message) {
+        return "{\"file\":" + quote(file) + ",\"error\":" + quote(message == null ? "unknown error" : message) + "}";
+    }
+}
@@ -0,0 +1,224 @@
+package resumeanalyzer;
+
+import java.util.*;
+
+// --------------------------- Keyword Matching ---------------------------
+/**
+ * Aho-Corasick automaton over several named keyword dictionaries. Built once,
+ * then finds every whole-word occurrence of every keyword in a single linear
+ * pass over the text, instead of one regex compilation and scan per keyword.
+ * Word boundaries follow the same rule as regex {@code \b}: a match must not
+ * be glued to a word character on a side where the keyword itself starts or
+ * ends with one. A matcher built with {@code wholeWords = false} reports plain
+ * substring occurrences instead, like {@link String#contains}.
+ */
+class KeywordMatcher {
+    private final boolean wholeWords;
+    private final int maxKeywordLength;
+    private final String[] dictionaryNames;
+    private final String[] keywords;
+    private final long[] keywordDictionaries; // bit i set = keyword belongs to dictionary i
+    private final int[] asciiAlphabet = new int[128];
+    private final Map<Character, Integer> otherAlphabet = new HashMap<>();
+    private final int alphabetSize;
+    private final int[] transitions; // dense DFA: state * alphabetSize + symbol
+    private final int[][] outputs; // keyword ids ending at each state, suffix outputs included
+
+    public KeywordMatcher(Map<String, ? extends Collection<String>> dictionaries) {
+        this(dictionaries, true);
+    }
+
+    public KeywordMatcher(Map<String, ? extends Collection<String>> dictionaries, boolean wholeWords) {
+        this.wholeWords = wholeWords;
+        if (dictionaries.size() > Long.SIZE)
+            throw new IllegalArgumentException("At most " + Long.SIZE + " dictionaries are supported");
+
+        dictionaryNames = dictionaries.keySet().toArray(new String[0]);
+        Map<String, Integer> keywordIds = new LinkedHashMap<>();
+        List<Long> masks = new ArrayList<>();
+        int d = 0;
+        for (Collection<String> words : dictionaries.values()) {
+            for (String w : words) {
+                String k = w.toLowerCase();
+                if (k.isEmpty())
+                    continue;
+                Integer id = keywordIds.get(k);
+                if (id == null) {
+                    id = keywordIds.size();
+                    keywordIds.put(k, id);
+                    masks.add(0L);
+                }
+                masks.set(id, masks.get(id) | (1L << d));
+            }
+            d++;
+        }
+        keywords = keywordIds.keySet().toArray(new String[0]);
+        maxKeywordLength = Arrays.stream(keywords).mapToInt(String::length).max().orElse(0);
+        keywordDictionaries = new long[masks.size()];
+        for (int i = 0; i < keywordDictionaries.length; i++)
+            keywordDictionaries[i] = masks.get(i);
+
+        // Symbol 0 stands for any character that occurs in no keyword
+        int symbols = 1;
+        for (String k : keywords) {
+            for (int i = 0; i < k.length(); i++) {
+                char c = k.charAt(i);
+                if (symbolOf(c) == 0) {
+                    if (c < 128)
+                        asciiAlphabet[c] = symbols++;
+                    else
+                        otherAlphabet.put(c, symbols++);
+                }
+            }
+        }
+        alphabetSize = symbols;
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new int[alphabetSize]);
+        ends.add(new ArrayList<>());
+        for (int id = 0; id < keywords.length; id++) {
+            int state = 0;
+            for (int i = 0; i < keywords[id].length(); i++) {
+                int sym = symbolOf(keywords[id].charAt(i));
+                if (trie.get(state)[sym] == 0) {
+                    trie.get(state)[sym] = trie.size();
+                    trie.add(new int[alphabetSize]);
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[sym];
+            }
+            ends.get(state).add(id);
+        }
+
+        // Failure links, breadth-first, folded into a complete transition table
+        int stateCount = trie.size();
+        transitions = new int[stateCount * alphabetSize];
+        outputs = new int[stateCount][];
+        int[] fail = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputs[0] = new int[0];
+        for (int sym = 0; sym < alphabetSize; sym++) {
+            int next = trie.get(0)[sym];
+            transitions[sym] = next;
+            if (next != 0)
+                queue.add(next);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = new ArrayList<>(ends.get(state));
+            for (int id : outputs[fail[state]])
+                out.add(id);
+            outputs[state] = out.stream().mapToInt(Integer::intValue).toArray();
+            for (int sym = 0; sym < alphabetSize; sym++) {
+                int next = trie.get(state)[sym];
+                if (next != 0) {
+                    fail[next] = transitions[fail[state] * alphabetSize + sym];
+                    transitions[state * alphabetSize + sym] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + sym] = transitions[fail[state] * alphabetSize + sym];
+                }
+            }
+        }
+    }
+
+    private int symbolOf(char c) {
+        if (c < 128)
+            return asciiAlphabet[c];
+        Integer sym = otherAlphabet.get(c);
+        return sym == null ? 0 : sym;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Scans the text once and returns, for every dictionary, the set of its
+     * keywords that occur in it. Matching is case-insensitive.
+     */
+    public Map<String, Set<String>> match(CharSequence text) {
+        Scanner scanner = new Scanner();
+        for (int i = 0, n = text.length(); i < n; i++)
+            scanner.feed(text.charAt(i));
+        return scanner.finish();
+    }
+
+    /**
+     * Matching state for text that arrives one character at a time, so a
+     * document can be matched while it streams in without being held in
+     * memory. Not thread-safe; use one scanner per document.
+     */
+    public final class Scanner {
+        private final boolean[] seen = new boolean[keywords.length];
+        private final Map<String, Set<String>> hits = new LinkedHashMap<>();
+        // Word-character flags of the last maxKeywordLength + 1 characters
+        private final boolean[] recent = new boolean[maxKeywordLength + 1];
+        // Whole-word matches ending at the previous character, waiting for the next one
+        private final int[] pending = new int[keywords.length];
+        private int pendingCount;
+        private boolean lastWasWord;
+        private long position;
+        private int state;
+
+        private Scanner() {
+            for (String name : dictionaryNames)
+                hits.put(name, new HashSet<>());
+        }
+
+        public void feed(char c) {
+            boolean word = isWordChar(c);
+            if (pendingCount > 0)
+                resolvePending(word);
+
+            recent[(int) (position % recent.length)] = word;
+            position++;
+            state = transitions[state * alphabetSize + symbolOf(Character.toLowerCase(c))];
+            for (int id : outputs[state]) {
+                if (seen[id])
+                    continue;
+                if (!wholeWords) {
+                    record(id);
+                    continue;
+                }
+                long start = position - keywords[id].length();
+                boolean before = start > 0 && recent[(int) ((start - 1) % recent.length)];
+                if (before != recent[(int) (start % recent.length)])
+                    pending[pendingCount++] = id;
+            }
+            lastWasWord = word;
+        }
+
+        private void resolvePending(boolean nextIsWord) {
+            if (lastWasWord != nextIsWord) {
+                for (int i = 0; i < pendingCount; i++) {
+                    if (!seen[pending[i]])
+                        record(pending[i]);
+                }
+            }
+            pendingCount = 0;
+        }
+
+        private void record(int id) {
+            seen[id] = true;
+            long mask = keywordDictionaries[id];
+            for (int d = 0; d < dictionaryNames.length; d++) {
+                if ((mask & (1L << d)) != 0)
+                    hits.get(dictionaryNames[d]).add(keywords[id]);
+            }
+        }
+
+        /** Keywords found so far, keyed by dictionary name. Ends the scan. */
+        public Map<String, Set<String>> finish() {
+            if (pendingCount > 0)
+                resolvePending(false);
+            return hits;
+        }
+    }
+
+    public Scanner newScanner() {
+        return new Scanner();
+    }
+}
@@ -0,0 +1,75 @@
+package resumeanalyzer;
+
+import java.util.*;
+
+// --------------------------- Live Re-scoring ---------------------------
+/**
+ * Scores a document that is being edited. Every line is analyzed on its own
+ * and the line analyses are {@link IncrementalAnalyzer#absorb absorb}ed in
+ * document order, so an update only analyzes the lines whose text is new
+ * since the previous update; the rest is a merge of counters and sets. The
+ * result is the same as {@link EnhancedNLPProcessor#analyzeResume} on the
+ * same text.
+ *
+ * <p>Not thread-safe; the editor calls it from the event dispatch thread.
+ */
+class LiveAnalysis {
+    private final EnhancedNLPProcessor nlp;
+    private Dictionaries dictionaries;
+    // Finished analyses by line text (with its newline), from the previous update
+    private Map<String, IncrementalAnalyzer> lines = new HashMap<>();
+    private int reused, analyzed;
+
+    public LiveAnalysis(EnhancedNLPProcessor nlp) {
+        this.nlp = nlp;
+    }
+
+    public AnalysisResult update(String text) {
+        Dictionaries d = Dictionaries.current();
+        if (d != dictionaries) {
+            // Line analyses of other dictionaries cannot be reused
+            dictionaries = d;
+            lines = new HashMap<>();
+        }
+        String content = text == null ? "" : text.trim();
+        Map<String, IncrementalAnalyzer> next = new HashMap<>(Math.max(16, lines.size() * 2));
+        IncrementalAnalyzer document = new IncrementalAnalyzer(d);
+        reused = analyzed = 0;
+        int start = 0;
+        while (start < content.length()) {
+            int newline = content.indexOf('\n', start);
+            int end = newline < 0 ? content.length() : newline + 1;
+            String line = content.substring(start, end);
+            IncrementalAnalyzer a = next.get(line);
+            if (a == null) {
+                a = lines.get(line);
+                if (a == null) {
+                    a = new IncrementalAnalyzer(d, false);
+                    a.append(line);
+                    a.finish();
+                    analyzed++;
+                } else {
+                    reused++;
+                }
+                next.put(line, a);
+            } else {
+                reused++;
+            }
+            document.absorb(a);
+            start = end;
+        }
+        lines = next;
+        document.finish();
+        return nlp.score(document, content);
+    }
+
+    /** Lines taken over from the previous update by the last {@link #update}. */
+    public int getReusedLines() {
+        return reused;
+    }
+
+    /** Lines the last {@link #update} had to analyze. */
+    public int getAnalyzedLines() {
+        return analyzed;
+    }
+}
@@ -0,0 +1,160 @@
+package resumeanalyzer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// --------------------------- Memory Budget ---------------------------
+/**
+ * Admission control for in-process extraction. Every document gets an
+ * estimate of the heap its extraction needs, from its size and format, and
+ * waits until that much of the budget is free; a burst of large files is then
+ * extracted a few at a time instead of all at once, while small ones keep
+ * flowing. A document that would need more than the whole budget waits
+ * until all of it is free and is then extracted alone; only a budget the
+ * user set is strict, and rejects such a document with
+ * {@link ExtractionException.Reason#TOO_LARGE} instead of trying it.
+ *
+ * <p>The budget is a fair semaphore of KiB, so a large document waiting for
+ * room is not overtaken by a stream of small ones behind it.
+ */
+class MemoryBudget {
+    static final int DEFAULT_HEAP_PERCENT = 50;
+
+    // Tika's handlers and per-document parser state, whatever the size
+    private static final long TIKA_BASE = 2L << 20;
+    // Heap per byte of input at the peak of extraction, on the safe side of what sample documents allocate.
+    // Zipped XML inflates about tenfold before POI builds objects from it
+    private static final int DOCX_FACTOR = 20;
+    // PDFBox keeps the parsed object tree, and parallel page ranges parse theirs side by side
+    private static final int PDF_FACTOR = 32;
+    private static final int OTHER_FACTOR = 8;
+
+    /** Size of the budget in bytes. */
+    public final long bytes;
+    /** Whether documents that need more than the whole budget are rejected rather than extracted alone. */
+    public final boolean strict;
+
+    private final int totalKib;
+    private final Semaphore kib;
+    private final AtomicLong inUse = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong oversized = new AtomicLong();
+
+    MemoryBudget(long bytes, boolean strict) {
+        this.bytes = Math.max(1 << 20, bytes);
+        this.strict = strict;
+        this.totalKib = (int) Math.min(Integer.MAX_VALUE, this.bytes >> 10);
+        this.kib = new Semaphore(totalKib, true);
+    }
+
+    /** A lenient budget of {@code percent} percent of the maximum heap. */
+    static MemoryBudget ofHeap(int percent) {
+        return new MemoryBudget(Runtime.getRuntime().maxMemory() / 100 * percent, false);
+    }
+
+    /**
+     * The budget for {@code --memory-budget-mb mb}: none for 0, the default
+     * share of the heap for -1, and a strict budget of {@code mb} otherwise.
+     */
+    static MemoryBudget ofOption(int mb) {
+        return mb == 0 ? null : mb < 0 ? ofHeap(DEFAULT_HEAP_PERCENT) : new MemoryBudget((long) mb << 20, true);
+    }
+
+    /** Estimated heap needed to extract the text of {@code data}, in bytes. */
+    static long estimate(byte[] data) {
+        long n = data.length;
+        return switch (FastExtractor.sniff(ByteBuffer.wrap(data))) {
+            // Decoded in chunks; only the kept characters are held, twice while the string is built
+            case TEXT -> (64 << 10) + 4 * Math.min(n, ResumeTextExtractor.maxChars());
+            case DOCX -> TIKA_BASE + DOCX_FACTOR * n;
+            case PDF -> TIKA_BASE + PDF_FACTOR * n;
+            case OTHER -> TIKA_BASE + OTHER_FACTOR * n;
+        };
+    }
+
+    /** Held while a document is extracted; closing it returns its share of the budget. */
+    final class Permit implements AutoCloseable {
+        private final int kib;
+        private boolean closed;
+
+        private Permit(int kib) {
+            this.kib = kib;
+        }
+
+        @Override
+        public void close() {
+            if (closed)
+                return;
+            closed = true;
+            inUse.addAndGet(-((long) kib << 10));
+            MemoryBudget.this.kib.release(kib);
+        }
+    }
+
+    /**
+     * Waits until there is room for {@code data} in the budget and takes it;
+     * a document that needs more than the whole budget takes all of it.
+     *
+     * @throws ExtractionException {@code TOO_LARGE} if it would need more than
+     *         the whole of a strict budget, {@code CANCELLED} if the wait is
+     *         interrupted
+     */
+    Permit admit(byte[] data) {
+        long cost = estimate(data);
+        if (cost > bytes) {
+            if (strict) {
+                rejected.incrementAndGet();
+                throw new ExtractionException(ExtractionException.Reason.TOO_LARGE, String.format(
+                        "Needs about %d MB to extract, more than the %d MB memory budget", cost >> 20, bytes >> 20));
+            }
+            oversized.incrementAndGet();
+        }
+        int n = (int) Math.min(totalKib, Math.max(1, (cost + 1023) >> 10));
+        try {
+            // With a timeout, unlike without, tryAcquire keeps to the queue
+            if (!kib.tryAcquire(n, 0, TimeUnit.SECONDS)) {
+                waits.incrementAndGet();
+                kib.acquire(n);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException(ExtractionException.Reason.CANCELLED, "Interrupted", e);
+        }
+        peak.accumulateAndGet(inUse.addAndGet((long) n << 10), Math::max);
+        return new Permit(n);
+    }
+
+    /** {@link ResumeTextExtractor#extract} once there is room for {@code data}. */
+    String extract(byte[] data, String name) {
+        Permit permit = admit(data);
+        try {
+            return ResumeTextExtractor.extract(data, name);
+        } finally {
+            permit.close();
+        }
+    }
+
+    /** Documents that had to wait for room. */
+    public long getWaits() {
+        return waits.get();
+    }
+
+    /** Documents rejected as too large for the whole of a strict budget. */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /** Documents too large for the whole of a lenient budget, extracted alone. */
+    public long getOversized() {
+        return oversized.get();
+    }
+
+    /** Most of the budget taken at once, in bytes. */
+    public long getPeakBytes() {
+        return peak.get();
+    }
+}
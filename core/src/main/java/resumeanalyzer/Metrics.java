@@ -0,0 +1,273 @@
+package resumeanalyzer;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.*;
+
+// --------------------------- Metrics ---------------------------
+/**
+ * Process-wide latency timers for the stages of the analysis pipeline. Each
+ * timer keeps a count, an error count and a log-linear histogram of the
+ * recorded durations; recording is a few uncontended atomic adds, cheap
+ * enough to leave on in production.
+ *
+ * <p>The timers are published as the {@code resumeanalyzer:type=Metrics}
+ * MXBean once {@link #registerMBean()} has run, and as plain text by
+ * {@link #dump()}. Public because JMX only introspects public types.
+ */
+public final class Metrics {
+    public static final String OBJECT_NAME = "resumeanalyzer:type=Metrics";
+
+    // Stage names, in pipeline order
+    static final String DETECT = "extract.detect";
+    static final String PARSE = "extract.parse";
+    // Round trip to an ExtractionPool worker, in place of detect and parse
+    static final String SANDBOX = "extract.sandbox";
+    static final String CONTACT = "analyze.contact";
+    static final String FEATURES = "analyze.features";
+    static final String SCORE_SKILLS = "score.skills";
+    static final String SCORE_GRAMMAR = "score.grammar";
+    static final String SCORE_ATS = "score.ats";
+    static final String SCORE_FORMAT = "score.format";
+    static final String DETAILS = "report.details";
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static volatile long since = System.nanoTime();
+
+    private Metrics() {
+    }
+
+    /** The timer named {@code name}, created on first use. */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /** Registers the MXBean with the platform MBean server; later calls do nothing. */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(new Bean(), name);
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /** Snapshots of all timers, by stage name in pipeline order. */
+    public static Map<String, Snapshot> snapshot() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - since) / 1e9);
+        Map<String, Snapshot> out = new LinkedHashMap<>();
+        for (String name : names())
+            out.put(name, TIMERS.get(name).snapshot(seconds));
+        return out;
+    }
+
+    public static void reset() {
+        for (Timer t : TIMERS.values())
+            t.reset();
+        since = System.nanoTime();
+    }
+
+    /** One line per timer, for logs and the {@code /metrics} endpoint. */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-18s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "stage", "count", "errors", "rate/s", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Snapshot s : snapshot().values()) {
+            sb.append(String.format(Locale.ROOT, "%-18s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    s.getStage(), s.getCount(), s.getErrors(), s.getRatePerSecond(), s.getMeanMillis(),
+                    s.getP50Millis(), s.getP95Millis(), s.getP99Millis(), s.getMaxMillis()));
+        }
+        return sb.toString();
+    }
+
+    // Known stages first, then any others alphabetically
+    private static List<String> names() {
+        List<String> order = List.of(DETECT, PARSE, SANDBOX, CONTACT, FEATURES, SCORE_SKILLS, SCORE_GRAMMAR, SCORE_ATS,
+                SCORE_FORMAT, DETAILS);
+        List<String> names = new ArrayList<>(TIMERS.keySet());
+        names.sort(Comparator.comparingInt((String n) -> {
+            int i = order.indexOf(n);
+            return i < 0 ? order.size() : i;
+        }).thenComparing(Comparator.naturalOrder()));
+        return names;
+    }
+
+    // --------------------------- Timer ---------------------------
+    /**
+     * Durations are bucketed by their power of two and the next three bits,
+     * so every bucket is within 12.5% of the values it holds.
+     */
+    public static final class Timer {
+        private static final int SUB_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        final String name;
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_BUCKETS);
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        /** Records the time since {@code startNanos}, a {@link System#nanoTime()} reading. */
+        public long stop(long startNanos) {
+            long nanos = System.nanoTime() - startNanos;
+            record(nanos);
+            return nanos;
+        }
+
+        public void record(long nanos) {
+            nanos = Math.max(0, nanos);
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets.incrementAndGet(bucket(nanos));
+        }
+
+        public void error() {
+            errors.increment();
+        }
+
+        private static int bucket(long v) {
+            if (v < SUB_BUCKETS)
+                return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return ((exp - SUB_BITS + 1) << SUB_BITS) | sub;
+        }
+
+        // Midpoint of the values that fall into bucket i
+        private static double value(int i) {
+            if (i < SUB_BUCKETS)
+                return i;
+            int shift = (i >>> SUB_BITS) - 1;
+            long low = (long) (SUB_BUCKETS | (i & (SUB_BUCKETS - 1))) << shift;
+            return low + (1L << shift) / 2.0;
+        }
+
+        private void reset() {
+            errors.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < buckets.length(); i++)
+                buckets.set(i, 0);
+        }
+
+        private Snapshot snapshot(double seconds) {
+            long[] counts = new long[buckets.length()];
+            long n = 0;
+            for (int i = 0; i < counts.length; i++)
+                n += counts[i] = buckets.get(i);
+            long max = maxNanos.get();
+            return new Snapshot(name, n, errors.sum(), n / seconds, n == 0 ? 0 : totalNanos.sum() / 1e6 / n,
+                    percentile(counts, n, 0.50, max), percentile(counts, n, 0.95, max),
+                    percentile(counts, n, 0.99, max), max / 1e6);
+        }
+
+        private static double percentile(long[] counts, long n, double p, long max) {
+            if (n == 0)
+                return 0;
+            long rank = (long) Math.ceil(p * n);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return Math.min(value(i), max) / 1e6;
+            }
+            return max / 1e6;
+        }
+    }
+
+    // --------------------------- Snapshot ---------------------------
+    /** Point-in-time view of one timer; an MXBean composite type. */
+    public static final class Snapshot {
+        private final String stage;
+        private final long count, errors;
+        private final double ratePerSecond, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis;
+
+        Snapshot(String stage, long count, long errors, double ratePerSecond, double meanMillis, double p50Millis,
+                double p95Millis, double p99Millis, double maxMillis) {
+            this.stage = stage;
+            this.count = count;
+            this.errors = errors;
+            this.ratePerSecond = ratePerSecond;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /** Recordings per second since startup or the last reset. */
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+
+    // --------------------------- JMX ---------------------------
+    public interface MetricsMXBean {
+        /** Latency, throughput and errors per stage. */
+        Map<String, Snapshot> getStages();
+
+        /** The same as {@link Metrics#dump()}. */
+        String getReport();
+
+        void reset();
+    }
+
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public Map<String, Snapshot> getStages() {
+            return snapshot();
+        }
+
+        @Override
+        public String getReport() {
+            return dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.interactive.action.PDAction;
+import org.apache.pdfbox.pdmodel.interactive.action.PDActionURI;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationMarkup;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+// --------------------------- Parallel PDF Extraction ---------------------------
+/**
+ * Strips the text of long PDFs in page ranges on a pool of its own, and
+ * hands each range on in page order as soon as it and the ones before it are
+ * done, so analysis starts on the first pages while later ones are still
+ * being stripped. Short documents are stripped in one go on the calling
+ * thread from the copy loaded to look at them. The text is laid out like
+ * Tika's, link targets and notes included. Documents with text Tika finds
+ * outside the pages (bookmarks, form fields, attachments) are left to Tika.
+ */
+class PdfExtractor {
+    // Below this splitting costs more than it saves
+    static final int MIN_PAGES = 8;
+    private static final int MIN_PAGES_PER_RANGE = 4;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    // A full queue makes the submitting thread strip the range itself, so concurrent documents cannot pile up work
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(PARALLELISM, PARALLELISM, 30,
+            TimeUnit.SECONDS, new ArrayBlockingQueue<>(4 * PARALLELISM),
+            Thread.ofPlatform().daemon().name("pdf-", 0).factory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    static {
+        POOL.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Extracts at most {@code maxChars} characters of the PDF in {@code data}
+     * into {@code sink}. Returns {@code false} if it is for Tika; what was
+     * written by then is to be discarded.
+     *
+     * @throws IOException if PDFBox cannot read it
+     */
+    static boolean extract(ByteBuffer data, long maxChars, FastExtractor.Sink sink) throws IOException {
+        int pages;
+        try (PDDocument doc = load(data)) {
+            pages = doc.getNumberOfPages();
+            if (!pagesOnly(doc))
+                return false;
+            if (pages < MIN_PAGES) {
+                append(strip(doc, 1, pages), maxChars, sink);
+                return true;
+            }
+        } catch (RuntimeException e) {
+            // PDFBox throws some of these on malformed documents
+            throw new IOException(e);
+        }
+        int ranges = Math.max(1, Math.min(pages / MIN_PAGES_PER_RANGE, 4 * PARALLELISM));
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        long left = maxChars;
+        try {
+            while (left > 0 && (next < ranges || !inFlight.isEmpty())) {
+                // Enough ranges to keep the pool busy, but few past the character limit
+                for (; next < ranges && inFlight.size() <= PARALLELISM; next++) {
+                    // 1-based and inclusive, like PDFTextStripper's
+                    int first = 1 + (int) ((long) pages * next / ranges), last = (int) ((long) pages * (next + 1) / ranges);
+                    inFlight.add(POOL.submit(() -> strip(data, first, last)));
+                }
+                left -= append(inFlight.remove().get(), left, sink);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io)
+                throw io;
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting");
+        } finally {
+            inFlight.forEach(t -> t.cancel(false));
+        }
+        return true;
+    }
+
+    // Writes at most maxChars of text and returns how many it wrote
+    private static int append(String text, long maxChars, FastExtractor.Sink sink) {
+        int n = (int) Math.min(text.length(), maxChars);
+        sink.append(text.toCharArray(), 0, n);
+        return n;
+    }
+
+    private static PDDocument load(ByteBuffer data) throws IOException {
+        // Every range opens its own: a PDDocument must not be shared between threads
+        return Loader.loadPDF(new RandomAccessReadBuffer(data.duplicate()));
+    }
+
+    // No bookmarks, form fields or attachments, whose text Tika adds after the pages
+    private static boolean pagesOnly(PDDocument doc) throws IOException {
+        PDDocumentCatalog catalog = doc.getDocumentCatalog();
+        if (catalog.getDocumentOutline() != null && catalog.getDocumentOutline().hasChildren()
+                || catalog.getCOSObject().containsKey(COSName.ACRO_FORM)
+                || catalog.getNames() != null && catalog.getNames().getEmbeddedFiles() != null)
+            return false;
+        for (PDPage page : doc.getPages()) {
+            for (PDAnnotation a : page.getAnnotations()) {
+                if ("FileAttachment".equals(a.getSubtype()) || "Widget".equals(a.getSubtype()))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static String strip(ByteBuffer data, int first, int last) throws IOException {
+        try (PDDocument doc = load(data)) {
+            return strip(doc, first, last);
+        } catch (RuntimeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String strip(PDDocument doc, int first, int last) throws IOException {
+        Stripper stripper = new Stripper();
+        stripper.setStartPage(first);
+        stripper.setEndPage(last);
+        return stripper.getText(doc);
+    }
+
+    /** PDFTextStripper set up the way Tika's PDF parser sets it up by default. */
+    private static final class Stripper extends PDFTextStripper {
+        // Tika writes only the end of a page without text: the start waits for the first paragraph
+        private boolean started, pendingStart;
+        // Last page written: PDFTextStripper skips pages without content, Tika does not
+        private int written;
+        private PDDocument document;
+
+        Stripper() {
+            setSortByPosition(false);
+            setSuppressDuplicateOverlappingText(false);
+            setWordSeparator(" ");
+            setLineSeparator("\n");
+            // Tika writes every page as a <div> of <p> paragraphs
+            setParagraphStart("");
+            setParagraphEnd("\n");
+            setPageStart("\n");
+            setPageEnd("\n");
+        }
+
+        @Override
+        protected void startDocument(PDDocument document) throws IOException {
+            this.document = document;
+            super.startDocument(document);
+        }
+
+        @Override
+        public void processPage(PDPage page) throws IOException {
+            blanksUpTo(Math.min(getCurrentPageNo() - 1, getEndPage()));
+            super.processPage(page);
+            written = Math.max(written, getCurrentPageNo());
+        }
+
+        @Override
+        protected void endDocument(PDDocument document) throws IOException {
+            blanksUpTo(Math.min(getEndPage(), document.getNumberOfPages()));
+            super.endDocument(document);
+        }
+
+        private void blanksUpTo(int last) throws IOException {
+            for (int page = Math.max(written + 1, getStartPage()); page <= last; page++)
+                endPage(document.getPage(page - 1));
+            written = Math.max(written, last);
+        }
+
+        @Override
+        protected void writePageStart() {
+            started = pendingStart = true;
+        }
+
+        @Override
+        protected void writeParagraphStart() throws IOException {
+            if (pendingStart) {
+                pendingStart = false;
+                super.writePageStart();
+            }
+            super.writeParagraphStart();
+        }
+
+        // Link targets and the title, subject and text of notes follow the page's text
+        @Override
+        protected void endPage(PDPage page) throws IOException {
+            // Pages PDFTextStripper skipped
+            if (!started)
+                output.write(getPageEnd());
+            started = pendingStart = false;
+            for (PDAnnotation a : page.getAnnotations()) {
+                if (a instanceof PDAnnotationLink link) {
+                    PDAction action = link.getAction();
+                    if (action instanceof PDActionURI uri && uri.getURI() != null && !uri.getURI().isBlank())
+                        output.write(uri.getURI() + "\n");
+                }
+                if (a instanceof PDAnnotationMarkup markup) {
+                    String[] parts = { markup.getTitlePopup(), markup.getSubject(), markup.getContents() };
+                    boolean any = false;
+                    for (String part : parts) {
+                        if (part != null) {
+                            output.write(part + "\n");
+                            any = true;
+                        }
+                    }
+                    if (any)
+                        output.write("\n");
+                }
+            }
+            output.write("\n");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// --------------------------- Result Cache ---------------------------
+/**
+ * Content-addressed cache for extracted text and analysis results, keyed by
+ * the SHA-256 of the document bytes and {@link ResumeTextExtractor#version},
+ * so text extracted by another extractor or Tika profile is not reused.
+ * Results are additionally keyed by {@link Dictionaries#version}, so a
+ * dictionary change re-scores from cached text without re-running Tika.
+ *
+ * <p>The first tier is an in-memory LRU bounded by an approximate byte
+ * budget. The optional second tier is a directory of gzip files, written
+ * atomically, that survives restarts:
+ * {@code <dir>/ab/abcdef...-<extractor>.txt.gz} and
+ * {@code <dir>/ab/abcdef...-<extractor>-<version>.result.gz}. Results are
+ * read back with a filter that only admits the result classes and JDK
+ * collections, so a planted file cannot deserialize anything else.
+ */
+class ResultCache {
+    private static final int ENTRY_OVERHEAD = 1024;
+
+    // What a serialized AnalysisResult is made of; anything else in a result file is rejected
+    private static final ObjectInputFilter RESULT_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;resumeanalyzer.AnalysisResult;resumeanalyzer.ResumeFeatures;resumeanalyzer.CharStats;"
+                    + "resumeanalyzer.ResumeSection;java.lang.*;java.util.*;!*");
+
+    private static final class Entry {
+        String text;
+        AnalysisResult result;
+        String resultVersion;
+        long weight;
+    }
+
+    private final Path directory;
+    private final long memoryBudget;
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryWeight;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param directory    on-disk tier, or {@code null} for memory only
+     * @param memoryBudget approximate bytes of text and results kept in memory
+     */
+    public ResultCache(Path directory, long memoryBudget) {
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+    }
+
+    public static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached result for the document, or extracts and scores it
+     * and caches what was computed. Cached text is reused when only the
+     * dictionaries have changed.
+     */
+    public AnalysisResult analyze(byte[] data, EnhancedNLPProcessor nlp, Function<byte[], String> extractor) {
+        String hash = sha256Hex(data);
+        AnalysisResult result = getResult(hash, true);
+        if (result != null)
+            return result;
+        String text = getText(hash);
+        if (text == null)
+            text = extractor.apply(data);
+        result = nlp.analyzeResume(text);
+        put(hash, text, result);
+        return result;
+    }
+
+    /** Cache key of the document with the given hash under the current extractor. */
+    private static String key(String hash) {
+        return hash + "-" + ResumeTextExtractor.version();
+    }
+
+    /** Result scored with the current extractor and dictionaries, or {@code null}. */
+    public AnalysisResult getResult(String hash) {
+        return getResult(hash, false);
+    }
+
+    /**
+     * {@link #getResult(String)}; with {@code withText}, only a result that
+     * kept the document's text, i.e. not one scored in streaming mode.
+     */
+    public AnalysisResult getResult(String hash, boolean withText) {
+        String key = key(hash);
+        String version = Dictionaries.current().version;
+        synchronized (this) {
+            Entry e = memory.get(key);
+            if (e != null && e.result != null && version.equals(e.resultVersion)
+                    && (!withText || hasText(e.result))) {
+                memoryHits.incrementAndGet();
+                return e.result;
+            }
+        }
+        AnalysisResult r = readResult(key, version);
+        if (r != null && withText && !hasText(r))
+            r = null;
+        if (r != null) {
+            diskHits.incrementAndGet();
+            remember(key, null, r, version);
+        } else {
+            misses.incrementAndGet();
+        }
+        return r;
+    }
+
+    private static boolean hasText(AnalysisResult r) {
+        return !r.content.isEmpty() || r.features.blank;
+    }
+
+    /** Text of the document previously extracted by the current extractor, or {@code null}. */
+    public String getText(String hash) {
+        String key = key(hash);
+        synchronized (this) {
+            Entry e = memory.get(key);
+            if (e != null && e.text != null)
+                return e.text;
+        }
+        String text = readText(key);
+        if (text != null)
+            remember(key, text, null, null);
+        return text;
+    }
+
+    /** {@code text} may be {@code null} when the document was analyzed in streaming mode. */
+    public void put(String hash, String text, AnalysisResult result) {
+        String key = key(hash);
+        remember(key, text, result, result == null ? null : result.dictionaryVersion);
+        if (directory == null)
+            return;
+        try {
+            Path textFile = file(key, ".txt.gz");
+            if (text != null && !Files.exists(textFile))
+                writeAtomically(textFile, out -> out.write(text.getBytes(StandardCharsets.UTF_8)));
+            if (result != null) {
+                writeAtomically(file(key, "-" + result.dictionaryVersion + ".result.gz"), out -> {
+                    ObjectOutputStream oos = new ObjectOutputStream(out);
+                    oos.writeObject(result);
+                    oos.flush();
+                });
+            }
+        } catch (IOException e) {
+            System.err.println("Cache write failed: " + e.getMessage());
+        }
+    }
+
+    private synchronized void remember(String key, String text, AnalysisResult result, String version) {
+        Entry e = memory.get(key);
+        if (e == null) {
+            e = new Entry();
+            memory.put(key, e);
+        } else {
+            memoryWeight -= e.weight;
+        }
+        if (text != null)
+            e.text = text;
+        if (result != null) {
+            e.result = result;
+            e.resultVersion = version;
+        }
+        // Result content is the same trimmed text, so it is only counted once
+        e.weight = ENTRY_OVERHEAD + 2L * (e.text != null ? e.text.length() : e.result.content.length());
+        memoryWeight += e.weight;
+
+        Iterator<Entry> it = memory.values().iterator();
+        while (memoryWeight > memoryBudget && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest == e)
+                break;
+            memoryWeight -= eldest.weight;
+            it.remove();
+        }
+    }
+
+    private Path file(String key, String suffix) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + suffix);
+    }
+
+    private String readText(String key) {
+        if (directory == null)
+            return null;
+        Path f = file(key, ".txt.gz");
+        if (!Files.exists(f))
+            return null;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(f))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private AnalysisResult readResult(String key, String version) {
+        if (directory == null)
+            return null;
+        Path f = file(key, "-" + version + ".result.gz");
+        if (!Files.exists(f))
+            return null;
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(Files.newInputStream(f)))) {
+            in.setObjectInputFilter(RESULT_FILTER);
+            return (AnalysisResult) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Unreadable, rejected by the filter or written by an incompatible build: treat as a miss
+            return null;
+        }
+    }
+
+    private interface Payload {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static void writeAtomically(Path target, Payload payload) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                payload.write(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
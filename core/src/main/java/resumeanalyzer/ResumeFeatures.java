@@ -0,0 +1,68 @@
+package resumeanalyzer;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Everything the scorers and the details view need to know about one
+ * document, computed in a single extraction pass so that the numbers shown
+ * in the details always match the ones that produced the scores.
+ */
+class ResumeFeatures implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    public final boolean blank;
+
+    // Dictionary hits
+    public final Set<String> technicalSkills, softSkills, modernSkills, actionVerbs, atsKeywords;
+
+    // Structure
+    // Distinct section headers, and every section with its offsets
+    public final Set<String> sections;
+    public final List<ResumeSection> outline;
+    public final boolean hasSkillsSection;
+    public final int bulletCount, dateCount, quantifiableCount;
+    public final int wordCount, nonEmptyLines;
+
+    // Writing and formatting issues
+    public final boolean hasDoubleSpaces, hasRepeatedPunctuation, hasFirstPerson;
+    public final boolean hasTrademarkSymbols, hasNonAscii, hasExcessiveBlankLines;
+    public final boolean hasProfessionalTone;
+    // The counts behind the word, line and issue fields above
+    public final CharStats stats;
+
+    ResumeFeatures(IncrementalAnalyzer a) {
+        blank = a.blank();
+
+        Map<String, Set<String>> keywords = a.keywordHits();
+        technicalSkills = keywords.get(EnhancedNLPProcessor.TECHNICAL);
+        softSkills = keywords.get(EnhancedNLPProcessor.SOFT);
+        modernSkills = keywords.get(EnhancedNLPProcessor.MODERN);
+        actionVerbs = keywords.get(EnhancedNLPProcessor.VERBS);
+        atsKeywords = keywords.get(EnhancedNLPProcessor.ATS);
+
+        sections = Collections.unmodifiableSet(new LinkedHashSet<>(a.sectionHeaders()));
+        outline = List.copyOf(a.outline());
+        hasSkillsSection = sections.stream()
+                .anyMatch(h -> h.contains("skill") || h.contains("competenc") || h.contains("expertise"));
+        hasProfessionalTone = !a.phraseHits().get(IncrementalAnalyzer.TONE).isEmpty();
+
+        bulletCount = a.bulletCount;
+        dateCount = a.dateCount;
+        quantifiableCount = a.quantifiableCount;
+        stats = a.stats;
+        wordCount = blank ? 0 : stats.words;
+        nonEmptyLines = stats.nonEmptyLines;
+
+        hasDoubleSpaces = stats.doubleSpaces > 0;
+        hasRepeatedPunctuation = stats.punctuationRuns > 0;
+        hasFirstPerson = stats.firstPerson > 0;
+        hasTrademarkSymbols = stats.trademarkSymbols > 0;
+        hasNonAscii = stats.nonAscii > 0;
+        hasExcessiveBlankLines = a.hasExcessiveBlankLines;
+    }
+
+    public double averageWordsPerLine() {
+        return wordCount / (double) Math.max(1, nonEmptyLines);
+    }
+}
@@ -0,0 +1,423 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// --------------------------- Job Matching ---------------------------
+/**
+ * Inverted index over analyzed resumes that ranks them against a job
+ * description with BM25. Two fields are indexed: the detected skills (one
+ * term per technical, modern or soft skill) and the body text; a query
+ * matches the job description's skills against the first and its words
+ * against the second, with skills weighted higher.
+ *
+ * <p>Postings are lists of (doc-id gap, term frequency) pairs encoded as
+ * varints. An index loaded from disk keeps its postings in a read-only
+ * memory-mapped file and only the term dictionary on the heap; documents
+ * added afterwards go to in-memory postings appended after the mapped ones,
+ * and {@link #save} writes both back as one compacted file. Adding a
+ * document under a name that is already indexed replaces the old entry;
+ * as in Lucene, replaced entries still count towards the collection
+ * statistics until the next save drops them.
+ */
+class ResumeIndex {
+    private static final int MAGIC = 0x52494458; // "RIDX"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int SKILLS = 0, BODY = 1, FIELDS = 2;
+    private static final double[] FIELD_WEIGHTS = { 2.0, 1.0 };
+    private static final double K1 = 1.2, B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "was", "we", "will", "with",
+            "you", "your", "who", "what", "which", "can", "all", "any", "us");
+
+    /** One ranked document. */
+    static final class Hit {
+        public final String file;
+        public final double score;
+        public final int overallScore;
+
+        Hit(String file, double score, int overallScore) {
+            this.file = file;
+            this.score = score;
+            this.overallScore = overallScore;
+        }
+    }
+
+    private static final class Doc {
+        final String name;
+        final int overallScore;
+        final int[] lengths;
+        boolean deleted;
+
+        Doc(String name, int overallScore, int[] lengths) {
+            this.name = name;
+            this.overallScore = overallScore;
+            this.lengths = lengths;
+        }
+    }
+
+    /** Postings of one term: a slice of the mapped file followed by in-memory additions. */
+    private static final class Postings {
+        int mappedOffset, mappedLength;
+        int mappedLastDoc = -1;
+        byte[] bytes = new byte[8];
+        int size;
+        int df;
+        int lastDoc = -1;
+
+        void add(int doc, int tf) {
+            if (size + 10 > bytes.length)
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            size = writeVarint(bytes, size, doc - lastDoc);
+            size = writeVarint(bytes, size, tf);
+            lastDoc = doc;
+            df++;
+        }
+    }
+
+    private interface PostingConsumer {
+        void accept(int doc, int tf);
+    }
+
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> byName = new HashMap<>();
+    private final List<Map<String, Postings>> terms = List.of(new HashMap<>(), new HashMap<>());
+    private final long[] totalLengths = new long[FIELDS];
+    private int liveDocs;
+    private ByteBuffer mapped;
+
+    public ResumeIndex() {
+    }
+
+    /** Maps an index written by {@link #save}. */
+    public static ResumeIndex open(Path file) throws IOException {
+        ResumeIndex index = new ResumeIndex();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE)
+                throw new IOException("Index file too large: " + file);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            index.load(buf);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt index file " + file, e);
+        }
+        return index;
+    }
+
+    private void load(ByteBuffer buf) throws IOException {
+        if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION)
+            throw new IOException("Not a resume index or unsupported version");
+        int docCount = buf.getInt();
+        for (int i = 0; i < docCount; i++) {
+            String name = readString(buf);
+            int overall = buf.getInt();
+            int[] lengths = new int[FIELDS];
+            for (int f = 0; f < FIELDS; f++) {
+                lengths[f] = buf.getInt();
+                totalLengths[f] += lengths[f];
+            }
+            byName.put(name, docs.size());
+            docs.add(new Doc(name, overall, lengths));
+        }
+        liveDocs = docCount;
+        for (int f = 0; f < FIELDS; f++) {
+            int termCount = buf.getInt();
+            for (int i = 0; i < termCount; i++) {
+                Postings p = new Postings();
+                String term = readString(buf);
+                p.df = buf.getInt();
+                p.mappedLastDoc = p.lastDoc = buf.getInt();
+                p.mappedOffset = buf.getInt();
+                p.mappedLength = buf.getInt();
+                terms.get(f).put(term, p);
+            }
+        }
+        int postingsLength = buf.getInt();
+        if (buf.remaining() != postingsLength)
+            throw new IOException("Truncated index");
+        // Term offsets are relative to the start of the postings section
+        mapped = buf.slice(buf.position(), postingsLength);
+    }
+
+    /** Indexes an analyzed resume, replacing any earlier document with the same name. */
+    public synchronized void add(String name, AnalysisResult r) {
+        Integer previous = byName.get(name);
+        if (previous != null)
+            delete(previous);
+
+        Map<String, Integer> skills = new HashMap<>();
+        for (Set<String> s : List.of(r.features.technicalSkills, r.features.modernSkills, r.features.softSkills))
+            for (String skill : s)
+                skills.put(skill, 1);
+        Map<String, Integer> body = termFrequencies(r.content);
+
+        int id = docs.size();
+        int[] lengths = new int[FIELDS];
+        lengths[SKILLS] = skills.size();
+        for (int tf : body.values())
+            lengths[BODY] += tf;
+        List<Map<String, Integer>> fields = List.of(skills, body);
+        for (int f = 0; f < FIELDS; f++) {
+            for (Map.Entry<String, Integer> e : fields.get(f).entrySet())
+                terms.get(f).computeIfAbsent(e.getKey(), k -> new Postings()).add(id, e.getValue());
+            totalLengths[f] += lengths[f];
+        }
+        docs.add(new Doc(name, r.overallScore, lengths));
+        byName.put(name, id);
+        liveDocs++;
+    }
+
+    private void delete(int id) {
+        docs.get(id).deleted = true;
+        liveDocs--;
+    }
+
+    public synchronized int size() {
+        return liveDocs;
+    }
+
+    /** The {@code k} best matches for a job description, best first. */
+    public synchronized List<Hit> search(String jobDescription, int k) {
+        if (liveDocs == 0 || k <= 0)
+            return List.of();
+        Map<String, Set<String>> found = EnhancedNLPProcessor.findKeywords(jobDescription);
+        Set<String> skillTerms = new HashSet<>();
+        for (String dictionary : List.of(EnhancedNLPProcessor.TECHNICAL, EnhancedNLPProcessor.MODERN,
+                EnhancedNLPProcessor.SOFT))
+            skillTerms.addAll(found.getOrDefault(dictionary, Set.of()));
+        List<Set<String>> query = List.of(skillTerms, termFrequencies(jobDescription).keySet());
+
+        int n = docs.size();
+        double[] scores = new double[n];
+        for (int f = 0; f < FIELDS; f++) {
+            int field = f;
+            double avgLength = Math.max(1e-9, (double) totalLengths[f] / n);
+            for (String term : query.get(f)) {
+                Postings p = terms.get(f).get(term);
+                if (p == null)
+                    continue;
+                double idf = Math.log(1 + (n - p.df + 0.5) / (p.df + 0.5));
+                double weight = FIELD_WEIGHTS[f] * idf;
+                forEach(p, (doc, tf) -> {
+                    Doc d = docs.get(doc);
+                    if (d.deleted)
+                        return;
+                    double norm = K1 * (1 - B + B * d.lengths[field] / avgLength);
+                    scores[doc] += weight * tf * (K1 + 1) / (tf + norm);
+                });
+            }
+        }
+
+        // Min-heap of the best k so far: the root is the weakest hit and the first to go
+        Comparator<Hit> ranking = Comparator.comparingDouble((Hit h) -> h.score).reversed()
+                .thenComparing(h -> h.file);
+        PriorityQueue<Hit> top = new PriorityQueue<>(k + 1, ranking.reversed());
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] <= 0)
+                continue;
+            if (top.size() < k || scores[doc] >= top.peek().score) {
+                Doc d = docs.get(doc);
+                top.add(new Hit(d.name, scores[doc], d.overallScore));
+                if (top.size() > k)
+                    top.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    private void forEach(Postings p, PostingConsumer consumer) {
+        if (p.mappedLength > 0)
+            decode(mapped, p.mappedOffset, p.mappedOffset + p.mappedLength, -1, consumer);
+        // In-memory gaps continue from the last mapped document
+        decode(ByteBuffer.wrap(p.bytes), 0, p.size, p.mappedLastDoc, consumer);
+    }
+
+    private static void decode(ByteBuffer src, int from, int to, int doc, PostingConsumer consumer) {
+        int pos = from;
+        while (pos < to) {
+            int gap = 0, tf = 0, shift = 0;
+            byte b;
+            do {
+                b = src.get(pos++);
+                gap |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            shift = 0;
+            do {
+                b = src.get(pos++);
+                tf |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += gap;
+            consumer.accept(doc, tf);
+        }
+    }
+
+    private static int writeVarint(byte[] out, int pos, int value) {
+        while ((value & ~0x7f) != 0) {
+            out[pos++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    /** Lower-cased words of two or more characters, minus stop words; keeps {@code c++} and {@code c#} intact. */
+    static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i)))
+                i++;
+            int start = i;
+            while (i < n && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '+'
+                    || text.charAt(i) == '#'))
+                i++;
+            if (i - start >= 2) {
+                String term = text.substring(start, i).toLowerCase();
+                if (!STOP_WORDS.contains(term))
+                    tf.merge(term, 1, Integer::sum);
+            }
+        }
+        return tf;
+    }
+
+    /**
+     * Writes the index to {@code file}, dropping replaced documents and
+     * renumbering the rest. The file is replaced atomically, so readers that
+     * mapped the previous version are not affected.
+     */
+    public synchronized void save(Path file) throws IOException {
+        int[] newIds = new int[docs.size()];
+        int next = 0;
+        for (int i = 0; i < docs.size(); i++)
+            newIds[i] = docs.get(i).deleted ? -1 : next++;
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        DataOutputStream dict = new DataOutputStream(dictionary);
+        ByteArrayOutputStream postings = new ByteArrayOutputStream();
+        for (int f = 0; f < FIELDS; f++) {
+            List<String> sorted = new ArrayList<>(terms.get(f).keySet());
+            Collections.sort(sorted);
+            ByteArrayOutputStream fieldDict = new ByteArrayOutputStream();
+            DataOutputStream fd = new DataOutputStream(fieldDict);
+            int termCount = 0;
+            for (String term : sorted) {
+                Postings rewritten = new Postings();
+                forEach(terms.get(f).get(term), (doc, tf) -> {
+                    if (newIds[doc] >= 0)
+                        rewritten.add(newIds[doc], tf);
+                });
+                if (rewritten.df == 0)
+                    continue;
+                writeString(fd, term);
+                fd.writeInt(rewritten.df);
+                fd.writeInt(rewritten.lastDoc);
+                fd.writeInt(postings.size());
+                fd.writeInt(rewritten.size);
+                postings.write(rewritten.bytes, 0, rewritten.size);
+                termCount++;
+            }
+            dict.writeInt(termCount);
+            fieldDict.writeTo(dict);
+        }
+        dict.flush();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(next);
+                for (Doc d : docs) {
+                    if (d.deleted)
+                        continue;
+                    writeString(out, d.name);
+                    out.writeInt(d.overallScore);
+                    for (int f = 0; f < FIELDS; f++)
+                        out.writeInt(d.lengths[f]);
+                }
+                dictionary.writeTo(out);
+                out.writeInt(postings.size());
+                postings.writeTo(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ResumeAnalyzerApp --rank <index> --job <job-description.txt | -> [--top 10]");
+        System.err.println("           [--dictionaries DIR]");
+    }
+
+    /** Command-line entry point: prints the top matches for a job description as JSON lines. */
+    public static int main(String[] args) {
+        Path indexFile = null;
+        String job = null, dictionaries = null;
+        int top = 10;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--rank" -> indexFile = Paths.get(args[++i]);
+                    case "--job" -> job = args[++i];
+                    case "--top" -> top = Integer.parseInt(args[++i]);
+                    case "--dictionaries" -> dictionaries = args[++i];
+                    default -> {
+                        usage();
+                        return 2;
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return 2;
+        }
+        if (indexFile == null || job == null) {
+            usage();
+            return 2;
+        }
+
+        try {
+            if (dictionaries != null)
+                Dictionaries.useDirectory(Paths.get(dictionaries), false);
+            String description = job.equals("-")
+                    ? new String(System.in.readAllBytes(), StandardCharsets.UTF_8)
+                    : Files.readString(Paths.get(job));
+            ResumeIndex index = open(indexFile);
+            List<Hit> hits = index.search(description, top);
+            for (int i = 0; i < hits.size(); i++)
+                System.out.println(Json.hit(i + 1, hits.get(i)));
+            System.err.printf("%d matches shown, %d resumes indexed%n", hits.size(), index.size());
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Ranking failed: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package resumeanalyzer;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// --------------------------- Staged Pipeline ---------------------------
+/**
+ * Read -> extract -> score pipeline. Each stage has its own worker threads
+ * and a bounded input queue: file reads run on virtual threads, Tika
+ * extraction and scoring on separately sized platform thread pools. A full
+ * queue blocks the stage in front of it, so a slow stage throttles the ones
+ * feeding it instead of letting documents pile up in memory. With a
+ * {@link ResultCache}, documents seen before skip extraction and scoring.
+ */
+class ResumePipeline {
+
+    /** One document travelling through the stages. */
+    static final class Job {
+        final Path file;
+        final String name;
+        String hash;
+        byte[] data;
+        String text;
+        AnalysisResult result;
+        Throwable error;
+
+        Job(Path file, String name) {
+            this.file = file;
+            this.name = name;
+        }
+    }
+
+    /** Point-in-time view of one stage, for logs and monitoring. */
+    static final class StageStats {
+        public final String name;
+        public final int workers, queueDepth, queueCapacity;
+        public final long processed, failed;
+        public final double throughputPerSecond, averageMillis;
+
+        StageStats(String name, int workers, int queueDepth, int queueCapacity, long processed, long failed,
+                double throughputPerSecond, double averageMillis) {
+            this.name = name;
+            this.workers = workers;
+            this.queueDepth = queueDepth;
+            this.queueCapacity = queueCapacity;
+            this.processed = processed;
+            this.failed = failed;
+            this.throughputPerSecond = throughputPerSecond;
+            this.averageMillis = averageMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s workers=%-3d queue=%d/%d processed=%d failed=%d rate=%.1f/s avg=%.1fms",
+                    name, workers, queueDepth, queueCapacity, processed, failed, throughputPerSecond,
+                    averageMillis);
+        }
+    }
+
+    private interface Work {
+        void process(Job job) throws Exception;
+    }
+
+    private interface Downstream {
+        void accept(Job job) throws InterruptedException;
+    }
+
+    private static final Job END = new Job(null, null);
+
+    private static final class Stage {
+        private final String name;
+        private final BlockingQueue<Job> queue;
+        private final int capacity;
+        private final List<Thread> workers = new ArrayList<>();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final long startNanos = System.nanoTime();
+        private volatile boolean cancelled;
+
+        Stage(String name, int workerCount, int capacity, ThreadFactory factory, Work work, Downstream next) {
+            this.name = name;
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            for (int i = 0; i < workerCount; i++) {
+                Thread t = factory.newThread(() -> runWorker(work, next));
+                workers.add(t);
+                t.start();
+            }
+        }
+
+        private void runWorker(Work work, Downstream next) {
+            try {
+                while (true) {
+                    Job job = queue.take();
+                    if (job == END || cancelled)
+                        return;
+                    if (job.error == null) {
+                        long start = System.nanoTime();
+                        try {
+                            work.process(job);
+                        } catch (Throwable e) {
+                            // Errors too: a job that is not passed on would be missing when the pipeline drains
+                            job.error = e;
+                            failed.incrementAndGet();
+                        }
+                        busyNanos.addAndGet(System.nanoTime() - start);
+                        processed.incrementAndGet();
+                    }
+                    if (cancelled)
+                        return;
+                    next.accept(job);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void put(Job job) throws InterruptedException {
+            if (!cancelled)
+                queue.put(job);
+        }
+
+        /** Lets queued jobs drain, then stops the workers; after {@link #cancel} only waits for them. */
+        void close() throws InterruptedException {
+            for (int i = 0; i < workers.size() && !cancelled; i++)
+                queue.put(END);
+            for (Thread t : workers)
+                t.join();
+        }
+
+        /** Drops the queued jobs and interrupts the workers, which stop without passing anything on. */
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+            for (Thread t : workers)
+                t.interrupt();
+        }
+
+        StageStats stats() {
+            long done = processed.get();
+            double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+            return new StageStats(name, workers.size(), queue.size(), capacity, done, failed.get(),
+                    done / seconds, done == 0 ? 0 : busyNanos.get() / 1e6 / done);
+        }
+    }
+
+    private final EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+    private final Stage read, extract, score;
+    private final AtomicReference<Throwable> sinkFailure = new AtomicReference<>();
+
+    /**
+     * Starts the stage workers. {@code sink} receives every job once, either
+     * with a result or with the error that stopped it, on a scoring thread,
+     * unless the pipeline is cancelled first. If {@code sink} throws, the
+     * pipeline is cancelled and {@link #finish} rethrows the exception.
+     * {@code cache} may be {@code null}; with a cache or {@code hashContent}
+     * every job gets the SHA-256 of its file in {@link Job#hash}. In {@code streaming} mode the extract
+     * stage feeds Tika's output straight into an {@link IncrementalAnalyzer}
+     * and scores it, so the full text of a document is never held in memory;
+     * the score stage then only passes results on. With a {@code sandbox},
+     * text is extracted in its worker processes instead, and
+     * {@code streaming} has no effect. Otherwise, with a {@code budget},
+     * documents are only extracted while there is room for them in it.
+     */
+    public ResumePipeline(int readers, int extractors, int scorers, int queueCapacity, ResultCache cache,
+            ExtractionPool sandbox, MemoryBudget budget, boolean hashContent, boolean streaming,
+            Consumer<Job> sink) {
+        int capacity = Math.max(1, queueCapacity);
+        score = new Stage("score", Math.max(1, scorers), capacity,
+                Thread.ofPlatform().name("score-", 0).factory(),
+                job -> {
+                    if (job.result == null) {
+                        job.result = nlp.analyzeResume(job.text);
+                        if (cache != null)
+                            cache.put(job.hash, job.text, job.result);
+                    }
+                    job.text = null;
+                },
+                job -> {
+                    try {
+                        sink.accept(job);
+                    } catch (RuntimeException | Error e) {
+                        // The job's output is lost, so the run cannot complete
+                        if (sinkFailure.compareAndSet(null, e))
+                            cancel();
+                    }
+                });
+        extract = new Stage("extract", Math.max(1, extractors), capacity,
+                Thread.ofPlatform().name("extract-", 0).factory(),
+                job -> {
+                    if (cache != null) {
+                        // Results are expected to carry their text unless this pipeline streams too
+                        job.result = cache.getResult(job.hash, !streaming || sandbox != null);
+                        if (job.result == null)
+                            job.text = cache.getText(job.hash);
+                    }
+                    if (job.result == null && job.text == null) {
+                        if (sandbox != null) {
+                            job.text = sandbox.extract(job.data, job.name);
+                        } else {
+                            MemoryBudget.Permit permit = budget == null ? null : budget.admit(job.data);
+                            try {
+                                if (streaming) {
+                                    job.result = nlp.analyzeStreamed(
+                                            ResumeTextExtractor.extractIncrementally(job.data, job.name));
+                                    if (cache != null)
+                                        cache.put(job.hash, null, job.result);
+                                } else {
+                                    job.text = ResumeTextExtractor.extract(job.data, job.name);
+                                }
+                            } finally {
+                                if (permit != null)
+                                    permit.close();
+                            }
+                        }
+                    }
+                    job.data = null;
+                },
+                score::put);
+        read = new Stage("read", Math.max(1, readers), capacity,
+                Thread.ofVirtual().name("read-", 0).factory(),
+                job -> {
+                    job.data = Files.readAllBytes(job.file);
+                    if (cache != null || hashContent)
+                        job.hash = ResultCache.sha256Hex(job.data);
+                },
+                extract::put);
+    }
+
+    /** Queues a file for processing, blocking while the read queue is full; ignored once cancelled. */
+    public void submit(Path file, String name) throws InterruptedException {
+        read.put(new Job(file, name));
+    }
+
+    /**
+     * Waits until every submitted file has reached the sink and stops all
+     * workers. After {@link #cancel} it only waits for the workers to stop.
+     * Rethrows the first exception the sink threw, once the workers are stopped.
+     */
+    public void finish() throws InterruptedException {
+        read.close();
+        extract.close();
+        score.close();
+        Throwable failure = sinkFailure.get();
+        if (failure instanceof RuntimeException e)
+            throw e;
+        if (failure instanceof Error e)
+            throw e;
+    }
+
+    /**
+     * Stops the pipeline without finishing the files in it: later files are
+     * not queued, queued ones are dropped, and reads, extractions and scoring
+     * in progress are interrupted. Nothing more reaches the sink, apart from
+     * a job the sink is already handling. Does not wait; {@link #finish}
+     * returns once every worker has stopped. Extraction that does not respond
+     * to interrupts runs to the end of its document first.
+     */
+    public void cancel() {
+        // Downstream first, so a stage still running hands jobs only to a cancelled one, which drops them
+        for (Stage s : List.of(score, extract, read))
+            s.cancel();
+    }
+
+    public List<StageStats> stats() {
+        return List.of(read.stats(), extract.stats(), score.stats());
+    }
+}
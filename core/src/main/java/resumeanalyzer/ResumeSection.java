@@ -0,0 +1,33 @@
+package resumeanalyzer;
+
+import java.io.Serializable;
+
+/**
+ * One section of a document as found by the header-line segmenter:
+ * {@code [start, end)} covers the header line and the section body, and
+ * {@code bodyStart} is where the body begins. Offsets are character offsets
+ * into the analyzed text with leading whitespace removed, i.e. into
+ * {@link AnalysisResult#content} when the text was kept.
+ */
+class ResumeSection implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Dictionary form of the header, e.g. "work experience"
+    public final String header;
+    // Header line as written, e.g. "WORK EXPERIENCE:"
+    public final String title;
+    public final int start, bodyStart, end;
+
+    ResumeSection(String header, String title, int start, int bodyStart, int end) {
+        this.header = header;
+        this.title = title;
+        this.start = start;
+        this.bodyStart = bodyStart;
+        this.end = end;
+    }
+
+    @Override
+    public String toString() {
+        return header + " " + start + ".." + end;
+    }
+}
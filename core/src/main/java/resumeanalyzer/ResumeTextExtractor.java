@@ -0,0 +1,395 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.extractor.ParsingEmbeddedDocumentExtractor;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+// --------------------------- Text Extraction ---------------------------
+class ResumeTextExtractor {
+    private static final Metrics.Timer DETECT = Metrics.timer(Metrics.DETECT);
+    private static final Metrics.Timer PARSE = Metrics.timer(Metrics.PARSE);
+
+    // Detection time of the document being parsed on this thread, including
+    // any embedded documents; parse time is the rest
+    private static final ThreadLocal<long[]> DETECT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    // Fixed once Tika is loaded
+    private static volatile TikaProfile profile = TikaProfile.bundled();
+    private static volatile boolean loaded;
+
+    // Built on first use: loading and configuring the Tika parsers takes seconds
+    private static final class Holder {
+        static final AutoDetectParser PARSER = timedParser();
+    }
+
+    private static AutoDetectParser parser() {
+        return Holder.PARSER;
+    }
+
+    /**
+     * Extracts with the {@link TikaProfile} in {@code file} instead of the
+     * bundled one. Must come before the first extraction and {@link #preload}.
+     *
+     * @throws IOException if the file cannot be read or Tika rejects it
+     */
+    public static TikaProfile useProfile(Path file) throws IOException {
+        if (loaded)
+            throw new IllegalStateException("Tika is already loaded");
+        profile = TikaProfile.load(file);
+        return profile;
+    }
+
+    static TikaProfile profile() {
+        return profile;
+    }
+
+    // Bump when extraction changes the text it produces from the same bytes
+    static final int EXTRACTION_REVISION = 2;
+
+    /**
+     * Fingerprint of the extraction code and the {@link TikaProfile}. Text
+     * extracted under a different version must not be reused from a cache.
+     */
+    static String version() {
+        return EXTRACTION_REVISION + "." + profile.version;
+    }
+
+    /** Starts loading Tika in the background, so that the first document does not wait for it. */
+    public static void preload() {
+        Thread.ofPlatform().daemon().name("tika-preload").start(ResumeTextExtractor::load);
+    }
+
+    /** Loads Tika now, if it is not loaded yet. */
+    static void load() {
+        parser();
+    }
+
+    private static AutoDetectParser timedParser() {
+        loaded = true;
+        TikaConfig config;
+        try {
+            config = profile.config();
+        } catch (IOException | TikaException e) {
+            // The bundled profile is fine and a file is checked when it is read
+            throw new IllegalStateException("Cannot configure Tika: " + e.getMessage(), e);
+        }
+        Detector detector = config.getDetector();
+        Detector timed = (input, metadata) -> {
+            long start = System.nanoTime();
+            try {
+                return detector.detect(input, metadata);
+            } finally {
+                DETECT_NANOS.get()[0] += System.nanoTime() - start;
+            }
+        };
+        AutoDetectParser parser = new AutoDetectParser(config);
+        parser.setDetector(timed);
+        return parser;
+    }
+
+    // Characters of text kept per document
+    static long maxChars() {
+        return profile.maxStringLength < 0 ? Long.MAX_VALUE : profile.maxStringLength;
+    }
+
+    /** Parses embedded documents down to the profile's depth, without writing their file names into the text. */
+    private static final class Embedded extends ParsingEmbeddedDocumentExtractor {
+        private final int maxDepth;
+        private int depth;
+
+        Embedded(ParseContext context, int maxDepth) {
+            super(context);
+            this.maxDepth = maxDepth;
+            setWriteFileNameToContent(false);
+        }
+
+        @Override
+        public boolean shouldParseEmbedded(Metadata metadata) {
+            return depth < maxDepth && super.shouldParseEmbedded(metadata);
+        }
+
+        @Override
+        public void parseEmbedded(InputStream stream, ContentHandler handler, Metadata metadata, boolean outputHtml)
+                throws SAXException, IOException {
+            depth++;
+            try {
+                super.parseEmbedded(stream, handler, metadata, outputHtml);
+            } finally {
+                depth--;
+            }
+        }
+    }
+
+    private static ParseContext context() {
+        ParseContext context = new ParseContext();
+        context.set(Parser.class, parser());
+        context.set(EmbeddedDocumentExtractor.class, new Embedded(context, profile.embeddedDepth));
+        return context;
+    }
+
+    // Like Tika.parseToString, with the profile's limits; what the fast paths must match
+    static String parseToString(InputStream in, Metadata metadata) throws IOException, TikaException {
+        WriteOutContentHandler out = new WriteOutContentHandler(profile.maxStringLength);
+        try {
+            parser().parse(in, new BodyContentHandler(out), metadata, context());
+        } catch (SAXException e) {
+            if (!WriteLimitReachedException.isWriteLimitReached(e))
+                throw new TikaException("Unexpected SAX processing failure", e);
+        }
+        return out.toString();
+    }
+
+    /** Times one document's detection and parse and reports it as an {@link ExtractionEvent}. */
+    private static final class Measurement {
+        final ExtractionEvent event = new ExtractionEvent();
+        final Metadata metadata = new Metadata();
+        final long start;
+        boolean ended;
+
+        Measurement(String fileName, long bytes, boolean usesTika) {
+            // Loading Tika is not part of the document's time
+            if (usesTika)
+                parser();
+            event.file = fileName;
+            event.bytes = bytes;
+            event.begin();
+            DETECT_NANOS.get()[0] = 0;
+            start = System.nanoTime();
+        }
+
+        void end(long characters, boolean succeeded) {
+            if (ended)
+                return;
+            ended = true;
+            long total = System.nanoTime() - start;
+            long detect = DETECT_NANOS.get()[0];
+            DETECT.record(detect);
+            PARSE.record(total - detect);
+            if (!succeeded)
+                PARSE.error();
+            event.end();
+            if (event.shouldCommit()) {
+                event.mediaType = metadata.get(Metadata.CONTENT_TYPE);
+                event.characters = characters;
+                event.detectNanos = detect;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    public static String extractText(File f) {
+        StringBuilder fast = new StringBuilder();
+        if (fast(file(f), f.getName(), maxChars(), fast::append))
+            return fast.toString().trim();
+        Measurement m = new Measurement(f.getName(), f.length(), true);
+        try (InputStream is = Files.newInputStream(f.toPath())) {
+            String text = parseToString(is, m.metadata);
+            m.end(text == null ? 0 : text.length(), true);
+            if (text == null || text.isBlank()) {
+                // Fallback for plain text
+                if (f.getName().toLowerCase().endsWith(".txt")) {
+                    return Files.readString(f.toPath());
+                }
+                return "";
+            }
+            return text.trim();
+        } catch (IOException | TikaException e) {
+            m.end(0, false);
+            System.err.println("Extraction failed: " + e.getMessage());
+            if (f.getName().toLowerCase().endsWith(".txt")) {
+                try {
+                    return Files.readString(f.toPath());
+                } catch (IOException ex) {
+                    return "";
+                }
+            }
+            return "";
+        }
+    }
+
+    /** Same as {@link #extractText(File)} for a document already read into memory. */
+    public static String extractText(byte[] data, String fileName) {
+        try {
+            return extract(data, fileName);
+        } catch (ExtractionException e) {
+            System.err.println("Extraction failed: " + e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Like {@link #extractText(byte[], String)}, but a document Tika cannot
+     * parse is an {@link ExtractionException} instead of empty text.
+     */
+    public static String extract(byte[] data, String fileName) {
+        StringBuilder fast = new StringBuilder();
+        if (fast(bytes(data), fileName, maxChars(), fast::append))
+            return fast.toString().trim();
+        boolean plainText = fileName.toLowerCase().endsWith(".txt");
+        Measurement m = new Measurement(fileName, data.length, true);
+        try (InputStream is = new ByteArrayInputStream(data)) {
+            String text = parseToString(is, m.metadata);
+            m.end(text == null ? 0 : text.length(), true);
+            if (text == null || text.isBlank()) {
+                // Fallback for plain text
+                return plainText ? new String(data, StandardCharsets.UTF_8) : "";
+            }
+            return text.trim();
+        } catch (IOException | TikaException e) {
+            m.end(0, false);
+            if (plainText)
+                return new String(data, StandardCharsets.UTF_8);
+            throw new ExtractionException(ExtractionException.Reason.UNREADABLE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the document's text from Tika's SAX events straight into an
+     * {@link IncrementalAnalyzer}, without building the full text as a String
+     * and without the character limit of {@code parseToString}. Falls back to
+     * the raw bytes for plain-text files, like {@link #extractText(File)}.
+     */
+    public static IncrementalAnalyzer extractIncrementally(File f) {
+        return extractIncrementally(file(f), f.getName());
+    }
+
+    public static IncrementalAnalyzer extractIncrementally(byte[] data, String fileName) {
+        return extractIncrementally(bytes(data), fileName);
+    }
+
+    private static IncrementalAnalyzer extractIncrementally(Source source, String fileName) {
+        IncrementalAnalyzer fast = new IncrementalAnalyzer();
+        if (fast(source, fileName, Long.MAX_VALUE, fast::append))
+            return fast;
+        IncrementalAnalyzer analyzer = new IncrementalAnalyzer();
+        boolean plainText = fileName.toLowerCase().endsWith(".txt");
+        Measurement m = new Measurement(fileName, source.size(), true);
+        try (InputStream is = source.open()) {
+            parser().parse(is, new BodyContentHandler(analyzer.contentHandler()), m.metadata, context());
+            m.end(analyzer.length(), true);
+            if (!plainText || !analyzer.blank())
+                return analyzer;
+        } catch (IOException | SAXException | TikaException e) {
+            m.end(analyzer.length(), false);
+            System.err.println("Extraction failed: " + e.getMessage());
+            if (!plainText)
+                return new IncrementalAnalyzer();
+        }
+
+        // Fallback for plain text
+        IncrementalAnalyzer raw = new IncrementalAnalyzer();
+        try (Reader r = new InputStreamReader(source.open(), StandardCharsets.UTF_8)) {
+            char[] buf = new char[8192];
+            int n;
+            while ((n = r.read(buf)) > 0)
+                raw.append(buf, 0, n);
+            return raw;
+        } catch (IOException e) {
+            return new IncrementalAnalyzer();
+        }
+    }
+
+    // --------------------------- Fast Path ---------------------------
+    private interface Source {
+        InputStream open() throws IOException;
+
+        /** The whole document; mapped for files. */
+        ByteBuffer buffer() throws IOException;
+
+        long size();
+    }
+
+    private static Source file(File f) {
+        return new Source() {
+            public InputStream open() throws IOException {
+                return Files.newInputStream(f.toPath());
+            }
+
+            public ByteBuffer buffer() throws IOException {
+                try (FileChannel ch = FileChannel.open(f.toPath())) {
+                    if (ch.size() > Integer.MAX_VALUE)
+                        throw new IOException("Too large to map: " + f);
+                    return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                }
+            }
+
+            public long size() {
+                return f.length();
+            }
+        };
+    }
+
+    private static Source bytes(byte[] data) {
+        return new Source() {
+            public InputStream open() {
+                return new ByteArrayInputStream(data);
+            }
+
+            public ByteBuffer buffer() {
+                return ByteBuffer.wrap(data);
+            }
+
+            public long size() {
+                return data.length;
+            }
+        };
+    }
+
+    /**
+     * Extracts plain text and DOCX with {@link FastExtractor}, and PDFs with
+     * {@link PdfExtractor}, into {@code sink}. Returns {@code false} if
+     * the document is for Tika; what was written by then is to be discarded.
+     */
+    private static boolean fast(Source source, String fileName, long maxChars, FastExtractor.Sink sink) {
+        Measurement m = new Measurement(fileName, source.size(), false);
+        long[] chars = new long[1];
+        FastExtractor.Sink counted = (ch, start, length) -> {
+            chars[0] += length;
+            sink.append(ch, start, length);
+        };
+        try {
+            ByteBuffer data = source.buffer();
+            FastExtractor.Format format = FastExtractor.sniff(data);
+            DETECT_NANOS.get()[0] = System.nanoTime() - m.start;
+            switch (format) {
+                case TEXT -> FastExtractor.text(data, maxChars, counted);
+                case DOCX -> {
+                    if (!FastExtractor.docx(source::open, maxChars, counted))
+                        return false;
+                }
+                case PDF -> {
+                    if (!PdfExtractor.extract(data, maxChars, counted))
+                        return false;
+                }
+                default -> {
+                    return false;
+                }
+            }
+            m.metadata.set(Metadata.CONTENT_TYPE, format.mediaType);
+            m.end(chars[0], true);
+            return true;
+        } catch (IOException e) {
+            // Tika may still make sense of it
+            return false;
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// --------------------------- Score History ---------------------------
+/**
+ * Persistent history of scores: an append-only log of compact records in a
+ * memory-mapped file, with an in-memory open-addressing hash index from
+ * (content hash, candidate id) to the latest record of that pair. Each record
+ * points back to the previous record of the same pair, so a pair's history
+ * is a chain of point reads.
+ *
+ * <p>A record is {@code [payload length][CRC-32][payload]}, and the length is
+ * written last, so a write torn by a crash reads as the end of the log. The
+ * file is mapped in segments of up to {@value #SEGMENT_BYTES} bytes that
+ * grow as records are appended; records never cross a segment boundary.
+ * {@link #close} forces the log to disk and checkpoints the index next to
+ * it, and {@link #open} loads that checkpoint and replays only the records
+ * after it. Without a checkpoint, e.g. after a crash, it replays the whole
+ * log and stops at the first incomplete or corrupt record.
+ *
+ * <p>Only one process can have a store open: {@link #open} takes an
+ * exclusive lock on the log file, held until {@link #close}, and fails with
+ * {@link InUseException} while another process holds it.
+ */
+class ScoreStore implements Closeable {
+    private static final int MAGIC = 0x5253544F; // "RSTO"
+    private static final int INDEX_MAGIC = 0x52534958; // "RSIX"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    static final int SEGMENT_BYTES = 1 << 28;
+    private static final int INITIAL_MAPPING = 1 << 20;
+    private static final int MAX_CANDIDATE_BYTES = 1024;
+    private static final int PADDING = -1;
+    // timestamp, previous, hash, five scores, words, version, candidate length
+    private static final int FIXED_PAYLOAD = 8 + 8 + 32 + 5 + 4 + 12 + 2;
+    private static final int MAX_PAYLOAD = FIXED_PAYLOAD + MAX_CANDIDATE_BYTES;
+
+    /** One stored score. */
+    static final class Record {
+        public final long offset, timestamp, previous;
+        public final String contentHash, candidateId, dictionaryVersion;
+        public final int overall, ats, skills, grammar, format, words;
+
+        private Record(long offset, long timestamp, long previous, String contentHash, String candidateId,
+                String dictionaryVersion, int overall, int ats, int skills, int grammar, int format, int words) {
+            this.offset = offset;
+            this.timestamp = timestamp;
+            this.previous = previous;
+            this.contentHash = contentHash;
+            this.candidateId = candidateId;
+            this.dictionaryVersion = dictionaryVersion;
+            this.overall = overall;
+            this.ats = ats;
+            this.skills = skills;
+            this.grammar = grammar;
+            this.format = format;
+            this.words = words;
+        }
+    }
+
+    /** The store is open in another process, or elsewhere in this one. */
+    static final class InUseException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        InUseException(Path file) {
+            super("Score store in use by another process: " + file);
+        }
+    }
+
+    private final Path file, indexFile;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    // Where the next record goes: last segment, position in it
+    private int writePosition;
+    private int records;
+
+    // Index: 64-bit key of (hash, candidate) -> offset + 1 of the latest record, 0 = empty
+    private long[] keys = new long[1024];
+    private long[] offsets = new long[1024];
+    private int keyCount;
+
+    private ScoreStore(Path file, FileChannel channel) {
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName() + ".idx");
+        this.channel = channel;
+    }
+
+    /**
+     * Opens or creates the store in {@code file}.
+     *
+     * @throws InUseException if another process has it open
+     */
+    public static ScoreStore open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ScoreStore store = new ScoreStore(file, ch);
+        try {
+            // Two writers would append at the same offsets and corrupt the log; released by closing the channel
+            FileLock lock;
+            try {
+                lock = ch.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null)
+                throw new InUseException(file);
+            store.recover();
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * {@link #open}, or {@code null} with a notice on stderr if another
+     * process has the store open, so the caller runs without history.
+     */
+    public static ScoreStore openUnlessInUse(Path file) throws IOException {
+        try {
+            return open(file);
+        } catch (InUseException e) {
+            System.err.println(e.getMessage() + "; scores are not recorded");
+            return null;
+        }
+    }
+
+    private void recover() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            map(0, INITIAL_MAPPING);
+            segments.get(0).putInt(0, MAGIC).putInt(4, FORMAT_VERSION);
+            writePosition = HEADER_BYTES;
+            return;
+        }
+        for (long start = 0; start < size; start += SEGMENT_BYTES)
+            map(segments.size(), (int) Math.min(SEGMENT_BYTES, size - start));
+        ByteBuffer first = segments.get(0);
+        if (first.capacity() < HEADER_BYTES || first.getInt(0) != MAGIC || first.getInt(4) != FORMAT_VERSION)
+            throw new IOException("Not a score store or unsupported version: " + file);
+
+        long from = loadCheckpoint();
+        if (from < 0)
+            from = HEADER_BYTES;
+        replay(from);
+    }
+
+    // Replays records from offset and sets the write position after the last intact one
+    private void replay(long offset) {
+        int segment = (int) (offset / SEGMENT_BYTES);
+        int pos = (int) (offset % SEGMENT_BYTES);
+        if (segment == segments.size()) {
+            // The checkpoint ends exactly at a full segment
+            segment--;
+            pos = SEGMENT_BYTES;
+        }
+        while (true) {
+            ByteBuffer buf = segments.get(segment);
+            int length = pos + 8 <= buf.capacity() ? buf.getInt(pos) : 0;
+            if (length == PADDING && segment + 1 < segments.size()) {
+                segment++;
+                pos = 0;
+                continue;
+            }
+            if (length < FIXED_PAYLOAD || length > MAX_PAYLOAD || pos + 8 + length > buf.capacity()
+                    || crc(buf, pos + 8, length) != buf.getInt(pos + 4)) {
+                // End of the log, or a record torn by a crash: clear it so it cannot resurface
+                int end = Math.min(buf.capacity(), pos + 8 + MAX_PAYLOAD);
+                for (int i = pos; i < end; i++)
+                    buf.put(i, (byte) 0);
+                // Drop segments past the end so the next append continues here
+                while (segments.size() > segment + 1)
+                    segments.remove(segments.size() - 1);
+                writePosition = pos;
+                return;
+            }
+            long recordOffset = (long) segment * SEGMENT_BYTES + pos;
+            index(read(recordOffset));
+            records++;
+            pos += align(8 + length);
+        }
+    }
+
+    /** Appends a record for {@code result}, stamped with the current time. */
+    public synchronized Record append(String contentHash, String candidateId, AnalysisResult result)
+            throws IOException {
+        byte[] hash = HexFormat.of().parseHex(contentHash);
+        if (hash.length != 32)
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + contentHash);
+        byte[] candidate = truncate(candidateId.getBytes(StandardCharsets.UTF_8));
+        byte[] version = Arrays.copyOf(result.dictionaryVersion.getBytes(StandardCharsets.US_ASCII), 12);
+        long key = key(contentHash, candidateId);
+        int slot = find(key, contentHash, candidateId);
+        long previous = offsets[slot] - 1;
+
+        int length = FIXED_PAYLOAD + candidate.length;
+        int segment = reserve(8 + length);
+        ByteBuffer buf = segments.get(segment);
+        int pos = writePosition;
+        long timestamp = System.currentTimeMillis();
+        buf.putLong(pos + 8, timestamp)
+                .putLong(pos + 16, previous)
+                .put(pos + 24, hash)
+                .put(pos + 56, (byte) result.overallScore)
+                .put(pos + 57, (byte) result.atsScore)
+                .put(pos + 58, (byte) result.skillsScore)
+                .put(pos + 59, (byte) result.grammarScore)
+                .put(pos + 60, (byte) result.formatScore)
+                .putInt(pos + 61, result.features.wordCount)
+                .put(pos + 65, version)
+                .putShort(pos + 77, (short) candidate.length)
+                .put(pos + 79, candidate);
+        buf.putInt(pos + 4, crc(buf, pos + 8, length));
+        // Last, so the record only exists once it is complete
+        buf.putInt(pos, length);
+
+        long offset = (long) segment * SEGMENT_BYTES + pos;
+        writePosition = pos + align(8 + length);
+        records++;
+        if (offsets[slot] == 0) {
+            keys[slot] = key;
+            keyCount++;
+        }
+        offsets[slot] = offset + 1;
+        if (keyCount * 2 > keys.length)
+            rehash();
+        return read(offset);
+    }
+
+    // Segment with room for n bytes at writePosition, growing or adding a mapping if needed
+    private int reserve(int n) throws IOException {
+        int segment = segments.size() - 1;
+        int capacity = segments.get(segment).capacity();
+        if (writePosition + n <= capacity)
+            return segment;
+        if (writePosition + n <= SEGMENT_BYTES) {
+            int grown = capacity;
+            while (writePosition + n > grown)
+                grown = Math.min(SEGMENT_BYTES, grown * 2);
+            map(segment, grown);
+            return segment;
+        }
+        if (writePosition + 4 <= capacity)
+            segments.get(segment).putInt(writePosition, PADDING);
+        map(segment + 1, INITIAL_MAPPING);
+        writePosition = 0;
+        return segment + 1;
+    }
+
+    private void map(int segment, int size) throws IOException {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, (long) segment * SEGMENT_BYTES, size);
+        if (segment < segments.size())
+            segments.set(segment, buf);
+        else
+            segments.add(buf);
+    }
+
+    /** Latest record for the pair, or {@code null}. */
+    public synchronized Record get(String contentHash, String candidateId) {
+        long offset = offsets[find(key(contentHash, candidateId), contentHash, candidateId)] - 1;
+        return offset < 0 ? null : read(offset);
+    }
+
+    /** Every record of the pair, newest first. */
+    public synchronized List<Record> history(String contentHash, String candidateId) {
+        List<Record> out = new ArrayList<>();
+        for (Record r = get(contentHash, candidateId); r != null; r = r.previous < 0 ? null : read(r.previous))
+            out.add(r);
+        return out;
+    }
+
+    /** Visits every record in the order it was appended. */
+    public synchronized void scan(Consumer<Record> visitor) {
+        int lastSegment = segments.size() - 1;
+        for (int segment = 0; segment <= lastSegment; segment++) {
+            ByteBuffer buf = segments.get(segment);
+            int end = segment == lastSegment ? writePosition : buf.capacity();
+            int pos = segment == 0 ? HEADER_BYTES : 0;
+            while (pos + 8 <= end) {
+                int length = buf.getInt(pos);
+                if (length <= 0)
+                    break;
+                visitor.accept(read((long) segment * SEGMENT_BYTES + pos));
+                pos += align(8 + length);
+            }
+        }
+    }
+
+    /** Number of records. */
+    public synchronized int size() {
+        return records;
+    }
+
+    /** Number of distinct (content hash, candidate id) pairs. */
+    public synchronized int pairs() {
+        return keyCount;
+    }
+
+    private Record read(long offset) {
+        ByteBuffer buf = segments.get((int) (offset / SEGMENT_BYTES));
+        int pos = (int) (offset % SEGMENT_BYTES);
+        byte[] hash = new byte[32];
+        buf.get(pos + 24, hash);
+        byte[] version = new byte[12];
+        buf.get(pos + 65, version);
+        byte[] candidate = new byte[buf.getShort(pos + 77)];
+        buf.get(pos + 79, candidate);
+        int versionLength = 0;
+        while (versionLength < version.length && version[versionLength] != 0)
+            versionLength++;
+        return new Record(offset, buf.getLong(pos + 8), buf.getLong(pos + 16), HexFormat.of().formatHex(hash),
+                new String(candidate, StandardCharsets.UTF_8),
+                new String(version, 0, versionLength, StandardCharsets.US_ASCII),
+                buf.get(pos + 56), buf.get(pos + 57), buf.get(pos + 58), buf.get(pos + 59), buf.get(pos + 60),
+                buf.getInt(pos + 61));
+    }
+
+    // --- index ---
+
+    private static long key(String contentHash, String candidateId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < contentHash.length(); i++)
+            h = (h ^ Character.toLowerCase(contentHash.charAt(i))) * 0x100000001b3L;
+        h = (h ^ 0xFF) * 0x100000001b3L;
+        for (int i = 0; i < candidateId.length(); i++)
+            h = (h ^ candidateId.charAt(i)) * 0x100000001b3L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        return h ^ (h >>> 33);
+    }
+
+    // Slot of the pair, or the empty slot where it belongs; equal keys are checked against the record
+    private int find(long key, String contentHash, String candidateId) {
+        int mask = keys.length - 1;
+        int slot = (int) key & mask;
+        while (offsets[slot] != 0) {
+            if (keys[slot] == key) {
+                Record r = read(offsets[slot] - 1);
+                if (r.contentHash.equalsIgnoreCase(contentHash) && r.candidateId.equals(candidateId))
+                    return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void index(Record r) {
+        long key = key(r.contentHash, r.candidateId);
+        int slot = find(key, r.contentHash, r.candidateId);
+        if (offsets[slot] == 0) {
+            keys[slot] = key;
+            keyCount++;
+        }
+        offsets[slot] = r.offset + 1;
+        if (keyCount * 2 > keys.length)
+            rehash();
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys, oldOffsets = offsets;
+        keys = new long[oldKeys.length * 2];
+        offsets = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOffsets[i] != 0) {
+                int slot = (int) oldKeys[i] & mask;
+                while (offsets[slot] != 0)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    // --- checkpoint ---
+
+    /** Loads the index checkpoint and returns the log offset it covers, or -1 if there is none usable. */
+    private long loadCheckpoint() {
+        if (!Files.exists(indexFile))
+            return -1;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != FORMAT_VERSION)
+                return -1;
+            long covered = in.readLong();
+            int recordCount = in.readInt();
+            int count = in.readInt();
+            int capacity = in.readInt();
+            if (covered < HEADER_BYTES || covered > channel.size() || Integer.bitCount(capacity) != 1)
+                return -1;
+            long[] k = new long[capacity], o = new long[capacity];
+            for (int i = 0; i < capacity; i++)
+                k[i] = in.readLong();
+            for (int i = 0; i < capacity; i++)
+                o[i] = in.readLong();
+            keys = k;
+            offsets = o;
+            keyCount = count;
+            records = recordCount;
+            return covered;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong((long) (segments.size() - 1) * SEGMENT_BYTES + writePosition);
+            out.writeInt(records);
+            out.writeInt(keyCount);
+            out.writeInt(keys.length);
+            for (long k : keys)
+                out.writeLong(k);
+            for (long o : offsets)
+                out.writeLong(o);
+        }
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Forces appended records to disk. */
+    public synchronized void flush() {
+        for (MappedByteBuffer buf : segments)
+            buf.force();
+    }
+
+    /** Flushes the log and checkpoints the index, so the next open does not replay. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen())
+            return;
+        flush();
+        writeCheckpoint();
+        channel.close();
+    }
+
+    // --- helpers ---
+
+    private static int crc(ByteBuffer buf, int pos, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(pos, length));
+        return (int) crc.getValue();
+    }
+
+    private static int align(int n) {
+        return (n + 7) & ~7;
+    }
+
+    private static byte[] truncate(byte[] candidate) {
+        if (candidate.length <= MAX_CANDIDATE_BYTES)
+            return candidate;
+        int end = MAX_CANDIDATE_BYTES;
+        // Do not cut a UTF-8 sequence in half
+        while (end > 0 && (candidate[end] & 0xC0) == 0x80)
+            end--;
+        return Arrays.copyOf(candidate, end);
+    }
+
+    /** The candidate a result belongs to: the e-mail address it contains, else the file name. */
+    public static String candidateId(String fileName, AnalysisResult r) {
+        String email = r.contactInfo.get("email");
+        return email != null ? email.toLowerCase() : fileName;
+    }
+
+    /** {@code --history FILE}: prints every stored record as a JSON line. Returns the exit code. */
+    public static int main(String[] args) {
+        int i = Arrays.asList(args).indexOf("--history");
+        if (i < 0 || i + 1 >= args.length) {
+            System.err.println("Usage: ResumeAnalyzerApp --history <store>");
+            return 2;
+        }
+        Path path = Paths.get(args[i + 1]);
+        if (!Files.exists(path)) {
+            System.err.println("No such store: " + path);
+            return 1;
+        }
+        try (ScoreStore store = open(path);
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            IOException[] failure = new IOException[1];
+            store.scan(r -> {
+                try {
+                    out.write(Json.record(r));
+                    out.write('\n');
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null)
+                throw failure[0];
+            out.flush();
+            System.err.printf("%d records, %d resumes%n", store.size(), store.pairs());
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Cannot read store: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package resumeanalyzer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// --------------------------- Scoring Service ---------------------------
+/**
+ * Embedded HTTP service on the JDK's {@code com.sun.net.httpserver}, one
+ * platform thread per request: the server reads request bodies inside a
+ * {@code synchronized} method, which would pin a virtual thread to its
+ * carrier for as long as a slow client takes to upload.
+ *
+ * <ul>
+ * <li>{@code POST /analyze} - the document either as the raw request body
+ * (file name from {@code ?name=} or an {@code X-File-Name} header) or as the
+ * first file part of a {@code multipart/form-data} upload. Responds with the
+ * scores, contact info, details and suggestions as JSON.</li>
+ * <li>{@code GET /health} - liveness plus current load.</li>
+ * <li>{@code GET /metrics} - per-stage latency, throughput and errors as plain text.</li>
+ * <li>{@code GET /history?hash=&candidate=} - every stored score of one
+ * document and candidate, newest first, when the server has a
+ * {@link ScoreStore}; every analysis is appended to it.</li>
+ * </ul>
+ *
+ * At most {@code maxInFlight} analyses run at once; further requests are
+ * answered immediately with 503 so a load balancer can retry elsewhere.
+ * A document that cannot be extracted is answered with 422 and the reason;
+ * with an {@link ExtractionPool} that includes timeouts and workers that ran
+ * out of memory. Without one, extraction waits for room in a
+ * {@link MemoryBudget}, and a document too large for all of it gets 413.
+ */
+class ScoringServer {
+    private final HttpServer server;
+    private final EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+    private final ResultCache cache;
+    private final ScoreStore store;
+    private final ExtractionPool sandbox;
+    private final MemoryBudget budget;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long maxUploadBytes;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /** {@code store}, {@code sandbox} and {@code budget} may be {@code null}. */
+    public ScoringServer(int port, int maxInFlight, long maxUploadBytes, ResultCache cache, ScoreStore store,
+            ExtractionPool sandbox, MemoryBudget budget) throws IOException {
+        this.maxInFlight = maxInFlight;
+        this.maxUploadBytes = maxUploadBytes;
+        this.cache = cache;
+        this.store = store;
+        this.sandbox = sandbox;
+        this.budget = budget;
+        this.inFlight = new Semaphore(maxInFlight);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofPlatform().daemon().name("http-", 0).factory()));
+        server.createContext("/analyze", this::handleAnalyze);
+        server.createContext("/health", this::handleHealth);
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/history", this::handleHistory);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(1);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleHealth(HttpExchange ex) throws IOException {
+        if (!"GET".equals(ex.getRequestMethod())) {
+            respond(ex, 405, Json.error("", "Use GET"));
+            return;
+        }
+        respond(ex, 200, "{\"status\":\"ok\""
+                + ",\"inFlight\":" + (maxInFlight - inFlight.availablePermits())
+                + ",\"maxInFlight\":" + maxInFlight
+                + ",\"served\":" + served.get()
+                + ",\"rejected\":" + rejected.get()
+                + (budget == null ? "" : ",\"budgetWaits\":" + budget.getWaits()
+                        + ",\"tooLarge\":" + budget.getRejected())
+                + ",\"dictionaryVersion\":" + Json.quote(Dictionaries.current().version) + "}");
+    }
+
+    /** Per-stage latency as a plain-text table, see {@link Metrics#dump()}. */
+    private void handleMetrics(HttpExchange ex) throws IOException {
+        if (!"GET".equals(ex.getRequestMethod())) {
+            respond(ex, 405, Json.error("", "Use GET"));
+            return;
+        }
+        respond(ex, 200, "text/plain; charset=utf-8", Metrics.dump());
+    }
+
+    private void handleHistory(HttpExchange ex) throws IOException {
+        if (!"GET".equals(ex.getRequestMethod())) {
+            respond(ex, 405, Json.error("", "Use GET"));
+            return;
+        }
+        if (store == null) {
+            respond(ex, 404, Json.error("", "No score store configured"));
+            return;
+        }
+        String hash = queryParam(ex, "hash"), candidate = queryParam(ex, "candidate");
+        if (hash == null || candidate == null) {
+            respond(ex, 400, Json.error("", "Need hash and candidate parameters"));
+            return;
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (ScoreStore.Record r : store.history(hash, candidate)) {
+            if (sb.length() > 1)
+                sb.append(',');
+            sb.append(Json.record(r));
+        }
+        respond(ex, 200, sb.append(']').toString());
+    }
+
+    private void handleAnalyze(HttpExchange ex) throws IOException {
+        if (!"POST".equals(ex.getRequestMethod())) {
+            respond(ex, 405, Json.error("", "Use POST"));
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            rejected.incrementAndGet();
+            ex.getResponseHeaders().set("Retry-After", "1");
+            respond(ex, 503, Json.error("", "Server busy"));
+            return;
+        }
+        try {
+            byte[] body = readBody(ex.getRequestBody());
+            if (body == null) {
+                respond(ex, 413, Json.error("", "Upload exceeds " + maxUploadBytes + " bytes"));
+                return;
+            }
+            String name = fileName(ex);
+            String contentType = ex.getRequestHeaders().getFirst("Content-Type");
+            if (contentType != null && contentType.toLowerCase().startsWith("multipart/form-data")) {
+                Upload part = firstFilePart(body, contentType);
+                if (part == null) {
+                    respond(ex, 400, Json.error(name, "No file part in multipart upload"));
+                    return;
+                }
+                body = part.data;
+                if (part.fileName != null)
+                    name = part.fileName;
+            }
+            if (body.length == 0) {
+                respond(ex, 400, Json.error(name, "Empty document"));
+                return;
+            }
+            String fileName = name;
+            AnalysisResult r;
+            try {
+                r = cache.analyze(body, nlp, d -> sandbox != null ? sandbox.extract(d, fileName)
+                        : budget != null ? budget.extract(d, fileName)
+                        : ResumeTextExtractor.extract(d, fileName));
+            } catch (ExtractionException e) {
+                // The document's fault, except when the request itself was cut short
+                int status = switch (e.reason) {
+                    case CANCELLED -> 503;
+                    case TOO_LARGE -> 413;
+                    default -> 422;
+                };
+                respond(ex, status, Json.failure(name, e));
+                return;
+            }
+            if (store != null) {
+                try {
+                    store.append(ResultCache.sha256Hex(body), ScoreStore.candidateId(name, r), r);
+                } catch (IOException e) {
+                    // The score is still good; only its history entry is lost
+                    System.err.println("Cannot save score: " + e.getMessage());
+                }
+            }
+            served.incrementAndGet();
+            respond(ex, 200, Json.report(name, r));
+        } catch (RuntimeException e) {
+            // A bug, not the document's fault: keep the details in the server log
+            System.err.println("Analysis request failed:");
+            e.printStackTrace();
+            respond(ex, 500, Json.error("", "internal error"));
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /** The request body, or {@code null} when it is larger than the upload limit. */
+    private byte[] readBody(InputStream in) throws IOException {
+        try (in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[16384];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                if (out.size() + n > maxUploadBytes)
+                    return null;
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String queryParam(HttpExchange ex, String key) {
+        String query = ex.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith(key + "="))
+                    return URLDecoder.decode(param.substring(key.length() + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String fileName(HttpExchange ex) {
+        String name = queryParam(ex, "name");
+        if (name != null)
+            return name;
+        String header = ex.getRequestHeaders().getFirst("X-File-Name");
+        return header != null ? header : "upload";
+    }
+
+    private static void respond(HttpExchange ex, int status, String json) throws IOException {
+        respond(ex, status, "application/json; charset=utf-8", json);
+    }
+
+    private static void respond(HttpExchange ex, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", contentType);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // --- multipart/form-data ---
+
+    private static final class Upload {
+        final String fileName;
+        final byte[] data;
+
+        Upload(String fileName, byte[] data) {
+            this.fileName = fileName;
+            this.data = data;
+        }
+    }
+
+    /** First part that carries a file name, or else the first part at all. */
+    static Upload firstFilePart(byte[] body, String contentType) {
+        String boundary = null;
+        for (String param : contentType.split(";")) {
+            param = param.trim();
+            if (param.startsWith("boundary="))
+                boundary = param.substring(9).replace("\"", "");
+        }
+        if (boundary == null)
+            return null;
+
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] headerEnd = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+        Upload first = null;
+        int pos = indexOf(body, delimiter, 0);
+        while (pos >= 0) {
+            int partStart = pos + delimiter.length;
+            // "--" after the delimiter marks the end of the multipart body
+            if (partStart + 1 < body.length && body[partStart] == '-' && body[partStart + 1] == '-')
+                break;
+            int headersEnd = indexOf(body, headerEnd, partStart);
+            int next = indexOf(body, delimiter, partStart);
+            if (headersEnd < 0 || next < 0 || headersEnd > next)
+                break;
+            String headers = new String(body, partStart, headersEnd - partStart, StandardCharsets.UTF_8);
+            int dataStart = headersEnd + headerEnd.length;
+            int dataEnd = next - 2; // CRLF before the next delimiter
+            byte[] data = Arrays.copyOfRange(body, dataStart, Math.max(dataStart, dataEnd));
+            String fileName = dispositionFileName(headers);
+            if (fileName != null)
+                return new Upload(fileName, data);
+            if (first == null)
+                first = new Upload(null, data);
+            pos = next;
+        }
+        return first;
+    }
+
+    private static String dispositionFileName(String headers) {
+        for (String line : headers.split("\r\n")) {
+            if (!line.toLowerCase().startsWith("content-disposition:"))
+                continue;
+            for (String param : line.split(";")) {
+                param = param.trim();
+                if (param.startsWith("filename=")) {
+                    String value = param.substring(9).replace("\"", "");
+                    // Browsers on Windows may send a full path
+                    int slash = Math.max(value.lastIndexOf('/'), value.lastIndexOf('\\'));
+                    return value.substring(slash + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer: for (int i = Math.max(0, from); i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j])
+                    continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ResumeAnalyzerApp --serve [--port 8080] [--max-in-flight N] [--max-upload-mb N]");
+        System.err.println("           [--cache DIR] [--cache-mb N] [--dictionaries DIR] [--store FILE]");
+        System.err.println("           [--warm-up ROUNDS] [--samples DIR] [--sandbox] [--sandbox-heap-mb 512]");
+        System.err.println("           [--timeout SECONDS] [--tika-config FILE] [--memory-budget-mb N]");
+    }
+
+    /** Command-line entry point; returns a non-zero exit code only if the server could not start. */
+    public static int main(String[] args) {
+        int port = 8080, maxInFlight = 2 * Runtime.getRuntime().availableProcessors(), maxUploadMb = 20;
+        int cacheMb = 256, warmUpRounds = 0;
+        boolean sandboxed = false;
+        int sandboxHeapMb = ExtractionPool.DEFAULT_HEAP_MB, timeoutSeconds = ExtractionPool.DEFAULT_TIMEOUT_SECONDS;
+        int budgetMb = -1;
+        String cacheDir = null, dictionaries = null, storeFile = null, samples = null, tikaConfig = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--serve" -> {
+                    }
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--max-in-flight" -> maxInFlight = Integer.parseInt(args[++i]);
+                    case "--max-upload-mb" -> maxUploadMb = Integer.parseInt(args[++i]);
+                    case "--cache" -> cacheDir = args[++i];
+                    case "--cache-mb" -> cacheMb = Integer.parseInt(args[++i]);
+                    case "--dictionaries" -> dictionaries = args[++i];
+                    case "--tika-config" -> tikaConfig = args[++i];
+                    case "--store" -> storeFile = args[++i];
+                    case "--warm-up" -> warmUpRounds = Integer.parseInt(args[++i]);
+                    case "--samples" -> samples = args[++i];
+                    case "--sandbox" -> sandboxed = true;
+                    case "--sandbox-heap-mb" -> sandboxHeapMb = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeoutSeconds = Integer.parseInt(args[++i]);
+                    case "--memory-budget-mb" -> budgetMb = Integer.parseInt(args[++i]);
+                    default -> {
+                        usage();
+                        return 2;
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return 2;
+        }
+
+        if (tikaConfig != null) {
+            try {
+                ResumeTextExtractor.useProfile(Paths.get(tikaConfig));
+            } catch (IOException e) {
+                System.err.println("Cannot load Tika config: " + e.getMessage());
+                return 1;
+            }
+        }
+        // Sandbox workers load their own
+        if (!sandboxed)
+            ResumeTextExtractor.preload();
+        try {
+            if (dictionaries != null) {
+                // Reloaded in place when the files change; requests in flight finish on the old version
+                Dictionaries d = Dictionaries.useDirectory(Paths.get(dictionaries), true);
+                System.err.println("Dictionaries " + d.version + " from " + dictionaries + ", watching for changes");
+            }
+            ResultCache cache = new ResultCache(cacheDir == null ? null : Paths.get(cacheDir), (long) cacheMb << 20);
+            if (warmUpRounds > 0) {
+                // Before the port opens, so the first requests already run compiled code
+                long start = System.nanoTime();
+                Training.run(Training.samples(samples == null ? null : Paths.get(samples)), warmUpRounds);
+                System.err.printf("Warmed up in %.1f s%n", (System.nanoTime() - start) / 1e9);
+            }
+            ScoreStore store = storeFile == null ? null : ScoreStore.openUnlessInUse(Paths.get(storeFile));
+            // One worker process per analysis that may run at once
+            ExtractionPool sandbox = sandboxed
+                    ? new ExtractionPool(Math.max(1, maxInFlight), sandboxHeapMb, timeoutSeconds) : null;
+            ScoringServer server = new ScoringServer(port, Math.max(1, maxInFlight), (long) maxUploadMb << 20, cache,
+                    store, sandbox, sandboxed ? null : MemoryBudget.ofOption(budgetMb));
+            server.start();
+            System.err.println("Resume scoring service listening on port " + server.getPort());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                if (sandbox != null)
+                    sandbox.close();
+                if (store != null) {
+                    try {
+                        store.close();
+                    } catch (IOException e) {
+                        System.err.println("Score store checkpoint failed: " + e.getMessage());
+                    }
+                }
+            }));
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Could not start server: " + e.getMessage());
+            return 1;
+        }
+    }
+}
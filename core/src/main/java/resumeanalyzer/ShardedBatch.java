@@ -0,0 +1,526 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// --------------------------- Sharded Batch Jobs ---------------------------
+/**
+ * A batch run split over several processes, possibly on several hosts, that
+ * share a job directory:
+ *
+ * <pre>
+ * job.properties         input root, shard size, file and shard counts
+ * manifest.txt           every input file, relative to the root, one per line
+ * leases/shard-N.G       the worker holding shard N, empty once released; G counts claims
+ * journal/shard-N.W.log  "index TAB json" per document finished by worker W
+ * done/shard-N           shard N is complete
+ * </pre>
+ *
+ * A worker claims a shard by creating its lease file, which only one process
+ * can do, and keeps touching the file while it works. A lease that has not
+ * been touched for the lease time, or was released, is taken over by
+ * creating the next generation; the old holder sees that file, or that its
+ * own file no longer names it, and stops. The newest lease file of a shard
+ * is never deleted, so generations only grow. Finished documents
+ * are journaled one line at a time, so a restarted worker or job only scores
+ * what no journal has yet. {@code --job-merge} writes the results in
+ * manifest order, each document once.
+ */
+class ShardedBatch {
+    static final int DEFAULT_SHARD_SIZE = 500;
+    static final int DEFAULT_LEASE_SECONDS = 60;
+
+    private final Path jobDir, root;
+    private final List<String> files;
+    private final int shardSize;
+
+    private ShardedBatch(Path jobDir, Path root, List<String> files, int shardSize) {
+        this.jobDir = jobDir;
+        this.root = root;
+        this.files = files;
+        this.shardSize = shardSize;
+    }
+
+    /** Lists the resumes under {@code root} into a new job in {@code jobDir}. */
+    public static ShardedBatch create(Path jobDir, Path root, int shardSize) throws IOException {
+        if (Files.exists(jobDir.resolve("job.properties")))
+            throw new IOException("A job already exists in " + jobDir);
+        List<String> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(BatchRunner::isResumeFile)
+                    .map(p -> root.relativize(p).toString()).sorted().toList();
+        }
+        for (String dir : List.of("leases", "journal", "done"))
+            Files.createDirectories(jobDir.resolve(dir));
+        writeAtomically(jobDir.resolve("manifest.txt"), String.join("\n", files) + (files.isEmpty() ? "" : "\n"));
+        ShardedBatch job = new ShardedBatch(jobDir, root.toAbsolutePath().normalize(), files, shardSize);
+        // Written last: a job without it was never completely created
+        writeAtomically(jobDir.resolve("job.properties"), "root=" + job.root.toString().replace("\\", "\\\\")
+                + "\nshardSize=" + shardSize + "\nfiles=" + files.size() + "\nshards=" + job.shards() + "\n");
+        return job;
+    }
+
+    public static ShardedBatch open(Path jobDir) throws IOException {
+        Properties p = new Properties();
+        try (Reader in = Files.newBufferedReader(jobDir.resolve("job.properties"), StandardCharsets.UTF_8)) {
+            p.load(in);
+        }
+        List<String> files = Files.readAllLines(jobDir.resolve("manifest.txt"), StandardCharsets.UTF_8);
+        if (files.size() != Integer.parseInt(p.getProperty("files")))
+            throw new IOException("Manifest does not match job.properties in " + jobDir);
+        return new ShardedBatch(jobDir, Paths.get(p.getProperty("root")), files,
+                Integer.parseInt(p.getProperty("shardSize")));
+    }
+
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int shards() {
+        return (files.size() + shardSize - 1) / shardSize;
+    }
+
+    private int shardStart(int shard) {
+        return shard * shardSize;
+    }
+
+    private int shardEnd(int shard) {
+        return Math.min(files.size(), (shard + 1) * shardSize);
+    }
+
+    private static String shardName(int shard) {
+        return String.format("shard-%05d", shard);
+    }
+
+    public boolean isDone(int shard) {
+        return Files.exists(jobDir.resolve("done").resolve(shardName(shard)));
+    }
+
+    /** Journaled results of a shard by manifest index, from the journals of all workers. */
+    Map<Integer, String> journaled(int shard) throws IOException {
+        Map<Integer, String> out = new HashMap<>();
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(jobDir.resolve("journal"),
+                shardName(shard) + ".*.log")) {
+            for (Path journal : journals) {
+                String text = new String(Files.readAllBytes(journal), StandardCharsets.UTF_8);
+                int start = 0, newline;
+                // A line without its newline was torn by a crash and does not count
+                while ((newline = text.indexOf('\n', start)) >= 0) {
+                    int tab = text.indexOf('\t', start);
+                    if (tab > start && tab < newline) {
+                        try {
+                            out.putIfAbsent(Integer.parseInt(text, start, tab, 10), text.substring(tab + 1, newline));
+                        } catch (NumberFormatException ignored) {
+                        }
+                    }
+                    start = newline + 1;
+                }
+            }
+        }
+        return out;
+    }
+
+    // --- leases ---
+
+    private Path leaseFile(int shard, int generation) {
+        return jobDir.resolve("leases").resolve(shardName(shard) + "." + generation);
+    }
+
+    /** Newest lease generation of the shard, -1 if it has none. */
+    private int currentGeneration(int shard) throws IOException {
+        int newest = -1;
+        String prefix = shardName(shard) + ".";
+        try (DirectoryStream<Path> leases = Files.newDirectoryStream(jobDir.resolve("leases"), prefix + "*")) {
+            for (Path lease : leases) {
+                try {
+                    newest = Math.max(newest, Integer.parseInt(lease.getFileName().toString().substring(prefix.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return newest;
+    }
+
+    /** True if the lease file was emptied by {@link Lease#release}. */
+    private boolean isReleased(int shard, int generation) throws IOException {
+        try {
+            return Files.size(leaseFile(shard, generation)) == 0;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /** A claimed shard; {@link #renew} keeps it, and reports when another worker took it over. */
+    final class Lease {
+        final int shard, generation;
+        final String worker;
+        volatile boolean lost;
+
+        Lease(int shard, int generation, String worker) {
+            this.shard = shard;
+            this.generation = generation;
+            this.worker = worker;
+        }
+
+        void renew() {
+            if (lost)
+                return;
+            try {
+                Path file = leaseFile(shard, generation);
+                if (Files.exists(leaseFile(shard, generation + 1))
+                        || !Files.readString(file, StandardCharsets.UTF_8).equals(worker + "\n"))
+                    lost = true;
+                else
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                lost = true;
+            }
+        }
+
+        /**
+         * Gives the shard up: the lease file is emptied and backdated, so the
+         * next claim takes it at once with the next generation.
+         */
+        void release() {
+            if (lost)
+                return;
+            lost = true;
+            try {
+                Path file = leaseFile(shard, generation);
+                writeAtomically(file, "");
+                Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+            } catch (IOException ignored) {
+                // Expires on its own
+            }
+        }
+    }
+
+    /** Claims the shard if nobody holds a live lease on it, else returns {@code null}. */
+    Lease claim(int shard, String worker, long leaseMillis) throws IOException {
+        int generation = currentGeneration(shard);
+        if (generation >= 0) {
+            try {
+                long age = System.currentTimeMillis()
+                        - Files.getLastModifiedTime(leaseFile(shard, generation)).toMillis();
+                if (age < leaseMillis)
+                    return null;
+            } catch (NoSuchFileException e) {
+                // Released or replaced meanwhile; look again on the next pass
+                return null;
+            }
+        }
+        Path next = leaseFile(shard, generation + 1);
+        try {
+            Files.writeString(next, worker + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE);
+        } catch (FileAlreadyExistsException e) {
+            return null;
+        }
+        // Older generations only; the new file keeps the count going
+        for (int g = 0; g <= generation; g++)
+            Files.deleteIfExists(leaseFile(shard, g));
+        return new Lease(shard, generation + 1, worker);
+    }
+
+    // --- worker ---
+
+    /**
+     * Works on shards until every shard is done, then returns the number of
+     * documents this worker scored. Waits when all unfinished shards are
+     * leased by other workers, to take over any whose worker dies.
+     */
+    public int work(String worker, long leaseMillis, int readers, int extractors, int scorers, int queueCapacity,
+            ResultCache cache, ExtractionPool sandbox, MemoryBudget budget, boolean streaming)
+            throws IOException, InterruptedException {
+        ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lease-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        int scored = 0;
+        try {
+            while (true) {
+                boolean pending = false, claimed = false;
+                for (int shard = 0; shard < shards(); shard++) {
+                    if (isDone(shard))
+                        continue;
+                    pending = true;
+                    Lease lease = claim(shard, worker, leaseMillis);
+                    if (lease == null)
+                        continue;
+                    claimed = true;
+                    ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(lease::renew,
+                            leaseMillis / 3, leaseMillis / 3, TimeUnit.MILLISECONDS);
+                    try {
+                        scored += runShard(lease, worker, readers, extractors, scorers, queueCapacity, cache,
+                                sandbox, budget, streaming);
+                    } finally {
+                        renewal.cancel(false);
+                        lease.release();
+                    }
+                }
+                if (!pending)
+                    return scored;
+                if (!claimed)
+                    Thread.sleep(Math.max(200, Math.min(5000, leaseMillis / 4)));
+            }
+        } finally {
+            heartbeat.shutdownNow();
+        }
+    }
+
+    private int runShard(Lease lease, String worker, int readers, int extractors, int scorers, int queueCapacity,
+            ResultCache cache, ExtractionPool sandbox, MemoryBudget budget, boolean streaming)
+            throws IOException, InterruptedException {
+        int shard = lease.shard, start = shardStart(shard), end = shardEnd(shard);
+        Set<Integer> finished = ConcurrentHashMap.newKeySet();
+        finished.addAll(journaled(shard).keySet());
+        int skipped = finished.size();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = start; i < end; i++)
+            indexes.put(files.get(i), i);
+        AtomicInteger scored = new AtomicInteger(), failed = new AtomicInteger();
+        long startNanos = System.nanoTime();
+
+        try (Writer journal = openJournal(shard, worker)) {
+            ResumePipeline pipeline = new ResumePipeline(readers, extractors, scorers, queueCapacity, cache, sandbox,
+                    budget, false, streaming, job -> {
+                        String json;
+                        if (job.error != null) {
+                            failed.incrementAndGet();
+                            json = Json.failure(job.name, job.error);
+                        } else {
+                            scored.incrementAndGet();
+                            json = Json.result(job.name, job.result);
+                        }
+                        int index = indexes.get(job.name);
+                        synchronized (journal) {
+                            try {
+                                journal.write(index + "\t" + json + "\n");
+                                journal.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                        finished.add(index);
+                    });
+            try {
+                for (int i = start; i < end && !lease.lost; i++) {
+                    if (!finished.contains(i))
+                        pipeline.submit(root.resolve(files.get(i)), files.get(i));
+                }
+            } finally {
+                pipeline.finish();
+            }
+        }
+
+        if (lease.lost) {
+            System.err.printf("%s: lost its lease on %s, stopped%n", worker, shardName(shard));
+        } else if (finished.size() == end - start) {
+            Files.writeString(jobDir.resolve("done").resolve(shardName(shard)), worker + "\n", StandardCharsets.UTF_8);
+        } else {
+            throw new IOException(shardName(shard) + ": " + (end - start - finished.size())
+                    + " documents could not be journaled");
+        }
+        System.err.printf("%s: %s %d scored, %d failed, %d already done in %.1f s%n", worker, shardName(shard),
+                scored.get(), failed.get(), skipped, (System.nanoTime() - startNanos) / 1e9);
+        return scored.get();
+    }
+
+    // Appends to this worker's journal of the shard, dropping a line torn by an earlier crash
+    private Writer openJournal(int shard, String worker) throws IOException {
+        Path file = jobDir.resolve("journal").resolve(shardName(shard) + "." + worker + ".log");
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = ch.size(), keep = size;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            while (keep > 0) {
+                b.clear();
+                ch.read(b, keep - 1);
+                if (b.get(0) == '\n')
+                    break;
+                keep--;
+            }
+            if (keep < size)
+                ch.truncate(keep);
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    // --- reporting ---
+
+    /** Writes every journaled result in manifest order and returns how many documents have none. */
+    public int merge(Writer out) throws IOException {
+        int missing = 0;
+        for (int shard = 0; shard < shards(); shard++) {
+            Map<Integer, String> results = journaled(shard);
+            for (int i = shardStart(shard); i < shardEnd(shard); i++) {
+                String json = results.get(i);
+                if (json == null) {
+                    missing++;
+                } else {
+                    out.write(json);
+                    out.write('\n');
+                }
+            }
+        }
+        out.flush();
+        return missing;
+    }
+
+    public String status() throws IOException {
+        int done = 0, leased = 0, documents = 0;
+        for (int shard = 0; shard < shards(); shard++) {
+            if (isDone(shard)) {
+                done++;
+                documents += shardEnd(shard) - shardStart(shard);
+            } else {
+                int generation = currentGeneration(shard);
+                if (generation >= 0 && !isReleased(shard, generation))
+                    leased++;
+                documents += journaled(shard).size();
+            }
+        }
+        return String.format("%d/%d shards done, %d leased, %d pending; %d/%d documents finished", done, shards(),
+                leased, shards() - done - leased, documents, files.size());
+    }
+
+    // --- command line ---
+
+    private static void usage() {
+        System.err.println("Usage: ResumeAnalyzerApp --job-init <jobdir> --input <dir> [--shard-size 500]");
+        System.err.println("       ResumeAnalyzerApp --job-work <jobdir> [--worker ID] [--lease-seconds 60]");
+        System.err.println("           [--threads N] [--read-threads N] [--extract-threads N] [--score-threads N]");
+        System.err.println("           [--queue N] [--cache DIR] [--cache-mb N] [--streaming] [--dictionaries DIR]");
+        System.err.println("           [--metrics] [--sandbox] [--sandbox-heap-mb 512] [--timeout SECONDS]");
+        System.err.println("           [--tika-config FILE] [--memory-budget-mb N]");
+        System.err.println("       ResumeAnalyzerApp --job-status <jobdir>");
+        System.err.println("       ResumeAnalyzerApp --job-merge <jobdir> [--out results.jsonl]");
+    }
+
+    /** Command-line entry point; returns the process exit code. */
+    public static int main(String[] args) {
+        String mode = null, worker = null;
+        Path jobDir = null, input = null, outFile = null, cacheDir = null, dictionaries = null, tikaConfig = null;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int shardSize = DEFAULT_SHARD_SIZE, leaseSeconds = DEFAULT_LEASE_SECONDS;
+        int readers = 16, extractors = cores, scorers = cores, queue = 0, cacheMb = 256;
+        boolean streaming = false, metrics = false, sandboxed = false;
+        int sandboxHeapMb = ExtractionPool.DEFAULT_HEAP_MB, timeoutSeconds = ExtractionPool.DEFAULT_TIMEOUT_SECONDS;
+        int budgetMb = -1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--job-init", "--job-work", "--job-status", "--job-merge" -> {
+                        mode = args[i];
+                        jobDir = Paths.get(args[++i]);
+                    }
+                    case "--input" -> input = Paths.get(args[++i]);
+                    case "--shard-size" -> shardSize = Integer.parseInt(args[++i]);
+                    case "--worker" -> worker = args[++i];
+                    case "--lease-seconds" -> leaseSeconds = Integer.parseInt(args[++i]);
+                    case "--out" -> outFile = Paths.get(args[++i]);
+                    case "--threads" -> extractors = scorers = Integer.parseInt(args[++i]);
+                    case "--read-threads" -> readers = Integer.parseInt(args[++i]);
+                    case "--extract-threads" -> extractors = Integer.parseInt(args[++i]);
+                    case "--score-threads" -> scorers = Integer.parseInt(args[++i]);
+                    case "--queue" -> queue = Integer.parseInt(args[++i]);
+                    case "--cache" -> cacheDir = Paths.get(args[++i]);
+                    case "--cache-mb" -> cacheMb = Integer.parseInt(args[++i]);
+                    case "--streaming" -> streaming = true;
+                    case "--dictionaries" -> dictionaries = Paths.get(args[++i]);
+                    case "--tika-config" -> tikaConfig = Paths.get(args[++i]);
+                    case "--metrics" -> metrics = true;
+                    case "--sandbox" -> sandboxed = true;
+                    case "--sandbox-heap-mb" -> sandboxHeapMb = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeoutSeconds = Integer.parseInt(args[++i]);
+                    case "--memory-budget-mb" -> budgetMb = Integer.parseInt(args[++i]);
+                    default -> {
+                        usage();
+                        return 2;
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+            return 2;
+        }
+        if (mode == null || shardSize < 1 || leaseSeconds < 1 || mode.equals("--job-init") && input == null) {
+            usage();
+            return 2;
+        }
+        if (worker == null)
+            worker = ManagementFactory.getRuntimeMXBean().getName();
+        // Part of journal file names
+        worker = worker.replaceAll("[^A-Za-z0-9._-]", "_");
+
+        try {
+            switch (mode) {
+                case "--job-init" -> {
+                    if (!Files.isDirectory(input)) {
+                        usage();
+                        return 2;
+                    }
+                    ShardedBatch job = create(jobDir, input, shardSize);
+                    System.err.printf("Job of %d files in %d shards in %s%n", job.files.size(), job.shards(), jobDir);
+                    return 0;
+                }
+                case "--job-status" -> {
+                    System.out.println(open(jobDir).status());
+                    return 0;
+                }
+                case "--job-merge" -> {
+                    ShardedBatch job = open(jobDir);
+                    try (Writer out = outFile == null
+                            ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                            : Files.newBufferedWriter(outFile, StandardCharsets.UTF_8)) {
+                        int missing = job.merge(out);
+                        if (missing > 0)
+                            System.err.printf("%d of %d documents not finished yet%n", missing, job.files.size());
+                        return missing == 0 ? 0 : 1;
+                    }
+                }
+                default -> {
+                    if (tikaConfig != null)
+                        ResumeTextExtractor.useProfile(tikaConfig);
+                    if (!sandboxed)
+                        ResumeTextExtractor.preload();
+                    if (dictionaries != null)
+                        Dictionaries.useDirectory(dictionaries, false);
+                    ShardedBatch job = open(jobDir);
+                    ResultCache cache = cacheDir == null ? null : new ResultCache(cacheDir, (long) cacheMb << 20);
+                    long start = System.nanoTime();
+                    int scored;
+                    try (ExtractionPool sandbox = sandboxed
+                            ? new ExtractionPool(extractors, sandboxHeapMb, timeoutSeconds) : null) {
+                        scored = job.work(worker, leaseSeconds * 1000L, readers, extractors, scorers,
+                                queue > 0 ? queue : 2 * Math.max(extractors, scorers), cache, sandbox,
+                                sandboxed ? null : MemoryBudget.ofOption(budgetMb), streaming);
+                    }
+                    if (metrics)
+                        System.err.print(Metrics.dump());
+                    System.err.printf("%s: scored %d files in %.1f s; %s%n", worker, scored,
+                            (System.nanoTime() - start) / 1e9, job.status());
+                    return 0;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Job failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+}
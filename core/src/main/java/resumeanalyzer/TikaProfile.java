@@ -0,0 +1,96 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.utils.XMLReaderUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+// --------------------------- Tika Profile ---------------------------
+/**
+ * Which Tika detectors and parsers extraction uses, and its limits. The
+ * bundled profile, {@code /tika-config.xml}, has only the resume formats
+ * (PDF, DOC, DOCX, RTF, ODT and plain text) and no OCR, so Tika loads a few
+ * parsers instead of all of them. A file in the same format replaces it: a
+ * Tika config file with an extra {@code <extraction>} element for the
+ * analyzer's own settings.
+ */
+final class TikaProfile {
+    static final String BUNDLED = "/tika-config.xml";
+    static final int DEFAULT_MAX_STRING_LENGTH = 100_000;
+
+    /** The file it came from, or {@code null} for the bundled one. */
+    public final Path file;
+    /** Characters kept per document, or -1 for all. */
+    public final int maxStringLength;
+    /** Levels of embedded documents parsed; 0 for none. */
+    public final int embeddedDepth;
+    /** Fingerprint of the profile file, so text extracted under another profile is not reused. */
+    public final String version;
+
+    private final Document document;
+    private TikaConfig config;
+
+    private TikaProfile(Path file, byte[] xml) throws IOException, TikaException, SAXException {
+        this.file = file;
+        this.document = XMLReaderUtils.buildDOM(new ByteArrayInputStream(xml));
+        this.version = ResultCache.sha256Hex(xml).substring(0, 12);
+        Element extraction = child(document.getDocumentElement(), "extraction");
+        maxStringLength = intSetting(extraction, "maxStringLength", DEFAULT_MAX_STRING_LENGTH);
+        embeddedDepth = intSetting(extraction, "embeddedDepth", 0);
+        if (maxStringLength < -1 || embeddedDepth < 0)
+            throw new IOException("Negative extraction limit in " + (file == null ? BUNDLED : file));
+    }
+
+    static TikaProfile bundled() {
+        try (InputStream in = TikaProfile.class.getResourceAsStream(BUNDLED)) {
+            if (in == null)
+                throw new IllegalStateException("No bundled " + BUNDLED);
+            return new TikaProfile(null, in.readAllBytes());
+        } catch (IOException | TikaException | SAXException e) {
+            throw new IllegalStateException("Corrupt bundled " + BUNDLED, e);
+        }
+    }
+
+    /** Reads the profile in {@code file} and builds its Tika configuration, so that mistakes show up now. */
+    static TikaProfile load(Path file) throws IOException {
+        try {
+            TikaProfile profile = new TikaProfile(file, Files.readAllBytes(file));
+            profile.config();
+            return profile;
+        } catch (TikaException | SAXException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** The Tika configuration; built on first use, which loads the parsers. */
+    synchronized TikaConfig config() throws IOException, TikaException {
+        if (config == null)
+            config = new TikaConfig(document);
+        return config;
+    }
+
+    private static Element child(Element parent, String name) {
+        if (parent == null)
+            return null;
+        NodeList nodes = parent.getElementsByTagName(name);
+        return nodes.getLength() == 0 ? null : (Element) nodes.item(0);
+    }
+
+    private static int intSetting(Element extraction, String name, int defaultValue) throws IOException {
+        Element e = child(extraction, name);
+        if (e == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(e.getTextContent().trim());
+        } catch (NumberFormatException ex) {
+            throw new IOException("Not a number in <" + name + ">: " + e.getTextContent().trim());
+        }
+    }
+}
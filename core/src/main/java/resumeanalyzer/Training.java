@@ -0,0 +1,182 @@
+package resumeanalyzer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// --------------------------- Training Run ---------------------------
+/**
+ * Runs sample resumes through extraction, analysis and reporting, so that
+ * the classes they need are loaded and the JIT has compiled the hot paths.
+ * The build records a class-data-sharing archive of such a run, and the
+ * service can do one before it takes requests. Without a sample directory
+ * the samples are a short resume generated in memory as PDF, DOCX and plain
+ * text, so no documents ship in the jar for it.
+ */
+class Training {
+    // Sections, skills, dates, numbers and contact details, so every analysis path runs
+    private static final List<String> RESUME = List.of(
+            "Alex Morgan",
+            "alex.morgan@example.com | +1 206-555-0199 | linkedin.com/in/alexmorgan | github.com/amorgan",
+            "",
+            "SUMMARY",
+            "Software engineer with 6 years of experience building services in Java and Python.",
+            "",
+            "SKILLS",
+            "Java, Python, SQL, Docker, Kubernetes, AWS, React, communication, leadership",
+            "",
+            "EXPERIENCE",
+            "Fabrikam - Senior Engineer    Jan 2021 - Present",
+            "- Led team of 4 engineers and developed a billing platform handling 3M events per day",
+            "- Reduced latency by 40% and cut cloud costs by $120,000 a year",
+            "",
+            "EDUCATION",
+            "B.Sc. Computer Science, 2018");
+
+    /** A sample document. */
+    static final class Sample {
+        public final String name;
+        public final byte[] data;
+
+        Sample(String name, byte[] data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    /** The resumes under {@code dir}, or the generated samples if {@code dir} is {@code null}. */
+    public static List<Sample> samples(Path dir) throws IOException {
+        if (dir == null)
+            return generated();
+        List<Sample> out = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.filter(Files::isRegularFile).filter(BatchRunner::isResumeFile)::iterator)
+                out.add(new Sample(p.getFileName().toString(), Files.readAllBytes(p)));
+        }
+        return out;
+    }
+
+    /** The sample resume as a PDF, a DOCX and a text file, one per parser the common formats need. */
+    static List<Sample> generated() throws IOException {
+        return List.of(new Sample("resume.pdf", pdf()), new Sample("resume.docx", docx()),
+                new Sample("resume.txt", String.join("\n", RESUME).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // One page of Helvetica text, written directly so no font has to be looked up on this machine
+    private static byte[] pdf() {
+        StringBuilder text = new StringBuilder("BT /F1 10 Tf 14 TL 50 740 Td\n");
+        for (String line : RESUME) {
+            text.append('(').append(line.replace("\\", "\\\\").replace("(", "\\(").replace(")", "\\)"))
+                    .append(") Tj T*\n");
+        }
+        text.append("ET");
+        List<String> objects = List.of(
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents 4 0 R"
+                        + " /Resources << /Font << /F1 5 0 R >> >> >>",
+                "<< /Length " + text.length() + " >>\nstream\n" + text + "\nendstream",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        int[] offsets = new int[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects.get(i)).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets)
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        pdf.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    // The smallest package Word and Tika accept: content types, one relationship, the document
+    private static byte[] docx() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (String line : RESUME) {
+            body.append("<w:p><w:r><w:t xml:space=\"preserve\">")
+                    .append(line.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;"))
+                    .append("</w:t></w:r></w:p>");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zipEntry(zip, "[Content_Types].xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/word/document.xml\" ContentType=\"application/"
+                    + "vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/></Types>");
+            zipEntry(zip, "_rels/.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Target=\"word/document.xml\" Type=\"http://schemas."
+                    + "openxmlformats.org/officeDocument/2006/relationships/officeDocument\"/></Relationships>");
+            zipEntry(zip, "word/document.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\">"
+                    + "<w:body>" + body + "</w:body></w:document>");
+        }
+        return out.toByteArray();
+    }
+
+    private static void zipEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Extracts, analyzes and reports every sample {@code rounds} times, each
+     * way the service and the batch run do. Resets {@link Metrics} afterwards,
+     * so the training does not show up in them.
+     */
+    public static void run(List<Sample> samples, int rounds) {
+        EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+        for (int round = 0; round < rounds; round++) {
+            for (Sample s : samples) {
+                AnalysisResult r = nlp.analyzeResume(ResumeTextExtractor.extractText(s.data, s.name));
+                Json.report(s.name, r);
+                nlp.analyzeStreamed(ResumeTextExtractor.extractIncrementally(s.data, s.name));
+            }
+        }
+        Metrics.reset();
+    }
+
+    /** {@code --train [--samples DIR] [--rounds N]}; returns the process exit code. */
+    public static int main(String[] args) {
+        Path dir = null;
+        int rounds = 20;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--train" -> {
+                    }
+                    case "--samples" -> dir = Paths.get(args[++i]);
+                    case "--rounds" -> rounds = Integer.parseInt(args[++i]);
+                    default -> {
+                        System.err.println("Usage: ResumeAnalyzerApp --train [--samples DIR] [--rounds 20]");
+                        return 2;
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println("Usage: ResumeAnalyzerApp --train [--samples DIR] [--rounds 20]");
+            return 2;
+        }
+        try {
+            List<Sample> samples = samples(dir);
+            long start = System.nanoTime();
+            run(samples, rounds);
+            System.err.printf("Trained on %d samples x %d rounds in %.1f s%n", samples.size(), rounds,
+                    (System.nanoTime() - start) / 1e9);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Cannot read samples: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DictionariesTest {
+    private static final EnhancedNLPProcessor NLP = new EnhancedNLPProcessor();
+    private static final byte[] RESUME = (IncrementalAnalyzerTest.RESUME + "\nAlso shipped services in Quuxlang.\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+    private Dictionaries before;
+
+    @BeforeEach
+    void remember() {
+        before = Dictionaries.current();
+    }
+
+    @AfterEach
+    void restore() {
+        Dictionaries.install(before);
+    }
+
+    private void writeSkills(String... skills) throws IOException {
+        Files.writeString(dir.resolve(Dictionaries.TECHNICAL_FILE), String.join("\n", skills) + "\n");
+    }
+
+    /** Waits until the watcher installs a version other than {@code version}. */
+    private static Dictionaries awaitReload(String version) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (Dictionaries.current().version.equals(version) && System.nanoTime() < deadline)
+            Thread.sleep(20);
+        assertNotEquals(version, Dictionaries.current().version, "no reload within 20 s");
+        return Dictionaries.current();
+    }
+
+    @Test
+    void editedDictionaryGetsANewVersionAndOldResultsAreMissed() throws Exception {
+        writeSkills("# technical skills", "java", "python");
+        Dictionaries first = Dictionaries.useDirectory(dir, false);
+        assertSame(first, Dictionaries.current());
+        ResultCache cache = new ResultCache(null, 1 << 20);
+        AtomicInteger extractions = new AtomicInteger();
+        AnalysisResult old = cache.analyze(RESUME, NLP, data -> {
+            extractions.incrementAndGet();
+            return new String(data, StandardCharsets.UTF_8);
+        });
+        assertEquals(first.version, old.dictionaryVersion);
+        assertFalse(old.features.technicalSkills.contains("quuxlang"));
+        String hash = ResultCache.sha256Hex(RESUME);
+        assertSame(old, cache.getResult(hash));
+
+        try (WatchService watcher = Dictionaries.watch(dir)) {
+            writeSkills("# technical skills", "java", "python", "quuxlang");
+            Dictionaries second = awaitReload(first.version);
+            assertTrue(second.technicalSkills.contains("quuxlang"));
+        }
+        // The result scored with the old lists is not served any more, but the text is reused
+        assertNull(cache.getResult(hash));
+        AnalysisResult rescored = cache.analyze(RESUME, NLP, data -> {
+            throw new AssertionError("text should come from the cache");
+        });
+        assertEquals(Dictionaries.current().version, rescored.dictionaryVersion);
+        assertTrue(rescored.features.technicalSkills.contains("quuxlang"), rescored.features.technicalSkills::toString);
+        assertEquals(1, extractions.get());
+    }
+
+    @Test
+    void malformedDictionaryKeepsThePreviousVersion() throws Exception {
+        writeSkills("java", "python");
+        Dictionaries good = Dictionaries.useDirectory(dir, false);
+        Path skills = dir.resolve(Dictionaries.TECHNICAL_FILE);
+        try (WatchService watcher = Dictionaries.watch(dir)) {
+            // Not UTF-8: the reload fails
+            Files.write(skills, new byte[] { 'j', 'a', 'v', 'a', '\n', (byte) 0xC3, '(', '\n' });
+            assertThrows(IOException.class, () -> Dictionaries.load(dir));
+            // Well past the quiet period, the running version is still the good one
+            Thread.sleep(2000);
+            assertSame(good, Dictionaries.current());
+            // and the watcher is still alive to pick up the fix
+            writeSkills("java", "python", "quuxlang");
+            assertTrue(awaitReload(good.version).technicalSkills.contains("quuxlang"));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DuplicateDetectorTest {
+    private static final String BASE = IncrementalAnalyzerTest.RESUME;
+
+    /** Exact Jaccard similarity of the word 3-shingle sets that the signatures estimate. */
+    private static double jaccard(String a, String b) {
+        Set<List<String>> sa = shingles(a), sb = shingles(b);
+        Set<List<String>> union = new HashSet<>(sa);
+        union.addAll(sb);
+        sa.retainAll(sb);
+        return sa.size() / (double) union.size();
+    }
+
+    private static Set<List<String>> shingles(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        Set<List<String>> shingles = new HashSet<>();
+        for (int i = 0; i + 3 <= words.size(); i++)
+            shingles.add(words.subList(i, i + 3));
+        return shingles;
+    }
+
+    private static double estimate(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i])
+                equal++;
+        }
+        return equal / (double) a.length;
+    }
+
+    private static String edit(String text, Random random, int edits) {
+        String[] words = text.split(" ");
+        for (int i = 0; i < edits; i++)
+            words[random.nextInt(words.length)] = "edited" + i;
+        return String.join(" ", words);
+    }
+
+    @Test
+    void signaturesEstimateJaccardSimilarity() {
+        Random random = new Random(3);
+        for (int edits : new int[] { 0, 2, 8, 20, 60 }) {
+            String other = edit(BASE, random, edits);
+            double exact = jaccard(BASE, other);
+            double estimated = estimate(DuplicateDetector.signature(BASE), DuplicateDetector.signature(other));
+            // 64 hashes: the standard error is at most 1/16
+            assertEquals(exact, estimated, 0.2, edits + " edits");
+        }
+    }
+
+    @Test
+    void clustersNearDuplicatesOnly() {
+        DuplicateDetector detector = new DuplicateDetector(0.8);
+        Random random = new Random(5);
+        int original = detector.add(DuplicateDetector.signature(BASE));
+        assertEquals(original, detector.add(DuplicateDetector.signature(BASE)));
+        assertEquals(original, detector.add(DuplicateDetector.signature(edit(BASE, random, 1))));
+        assertNotEquals(original, detector.add(DuplicateDetector.signature(
+                "Data analyst with SQL, Excel and Tableau experience building dashboards for retail sales teams")));
+        assertNull(DuplicateDetector.signature(" -- "));
+        assertEquals(1, detector.duplicateClusters());
+        assertEquals(3, detector.duplicateDocuments());
+    }
+
+    @Test
+    void batchClustersInPathOrder(@TempDir Path dir) throws Exception {
+        Random random = new Random(9);
+        List<String> names = List.of("e.txt", "a.txt", "d.txt", "b.txt", "c.txt", "f.txt");
+        for (int i = 0; i < names.size(); i++) {
+            String text = i % 2 == 0 ? edit(BASE, random, 1) : "Nurse " + i + " with ICU triage and patient care";
+            Files.writeString(dir.resolve(names.get(i)), text, StandardCharsets.UTF_8);
+        }
+        String first = null;
+        for (int run = 0; run < 3; run++) {
+            StringWriter out = new StringWriter(), clusters = new StringWriter();
+            new BatchRunner(4, 3, 3, 2, null, null, null, null, new DuplicateDetector(0.8), null, false)
+                    .run(dir, out, clusters);
+            // Results are written as they are scored, without a cluster
+            assertEquals(names.size(), out.toString().split("\n").length);
+            assertFalse(out.toString().contains("\"cluster\""));
+            String lines = clusters.toString();
+            if (first == null)
+                first = lines;
+            assertEquals(first, lines);
+        }
+        assertEquals("""
+                {"file":"a.txt","cluster":0}
+                {"file":"b.txt","cluster":1}
+                {"file":"c.txt","cluster":2}
+                {"file":"d.txt","cluster":2}
+                {"file":"e.txt","cluster":2}
+                {"file":"f.txt","cluster":3}
+                """, first);
+    }
+
+    @Test
+    void recordedDocumentsClusterInTheOrderGiven() {
+        Random random = new Random(7);
+        String other = "Nurse with ICU triage and patient care in a busy city hospital";
+        DuplicateDetector detector = new DuplicateDetector(0.8);
+        int a = detector.record(DuplicateDetector.signature(other));
+        int b = detector.record(DuplicateDetector.signature(BASE));
+        int c = detector.record(DuplicateDetector.signature(edit(BASE, random, 1)));
+        assertEquals(List.of(0, 1, 2), List.of(a, b, c));
+        assertEquals(0, detector.size());
+        assertEquals(0, detector.cluster(c));
+        assertEquals(1, detector.cluster(a));
+        assertEquals(0, detector.cluster(b));
+        assertEquals(3, detector.size());
+        assertEquals(2, detector.duplicateDocuments());
+    }
+
+    @Test
+    void dedupRejectsStreaming() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchRunner(1, 1, 1, 1, null, null, null, null,
+                new DuplicateDetector(0.8), null, true));
+    }
+}
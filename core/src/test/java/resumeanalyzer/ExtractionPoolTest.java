@@ -0,0 +1,134 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class ExtractionPoolTest {
+    /**
+     * Speaks the {@link ExtractionWorker} protocol without Tika. The document
+     * name says what to do: {@code hang}, {@code oom} and {@code exit} do just
+     * that, anything else is answered with the worker's pid. With
+     * {@code --mute} it never reports ready.
+     */
+    static final class FakeWorker {
+        public static void main(String[] args) throws Exception {
+            if (Arrays.asList(args).contains("--mute"))
+                Thread.sleep(Long.MAX_VALUE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+            out.writeInt(ExtractionWorker.READY);
+            out.flush();
+            List<long[]> hog = new ArrayList<>();
+            while (true) {
+                String name;
+                try {
+                    name = new String(ExtractionWorker.readBytes(in), StandardCharsets.UTF_8);
+                    ExtractionWorker.readBytes(in);
+                } catch (EOFException e) {
+                    return;
+                }
+                switch (name) {
+                    case "hang" -> Thread.sleep(Long.MAX_VALUE);
+                    case "oom" -> {
+                        while (true)
+                            hog.add(new long[1 << 20]);
+                    }
+                    case "exit" -> System.exit(7);
+                    default -> {
+                    }
+                }
+                out.writeByte(ExtractionWorker.OK);
+                ExtractionWorker.writeBytes(out,
+                        String.valueOf(ProcessHandle.current().pid()).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+
+    private static ExtractionPool fake(int documentsPerWorker, long startTimeoutMillis, String... args) {
+        List<String> worker = new ArrayList<>(List.of(FakeWorker.class.getName()));
+        worker.addAll(List.of(args));
+        return new ExtractionPool(1, 64, 1000, documentsPerWorker, startTimeoutMillis, worker.toArray(String[]::new));
+    }
+
+    private static final byte[] DOCUMENT = { 1, 2, 3 };
+
+    @Test
+    void watchdogKillsAHungWorker() {
+        try (ExtractionPool pool = fake(100, 60_000)) {
+            String pid = pool.extract(DOCUMENT, "a.pdf");
+            long start = System.nanoTime();
+            ExtractionException e = assertThrows(ExtractionException.class, () -> pool.extract(DOCUMENT, "hang"));
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(ExtractionException.Reason.TIMEOUT, e.reason);
+            assertTrue(millis >= 1000 && millis < 5000, millis + " ms");
+            assertEquals(1, pool.getTimeouts());
+            assertFalse(ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false));
+            // A replacement takes over
+            assertNotEquals(pid, pool.extract(DOCUMENT, "a.pdf"));
+        }
+    }
+
+    @Test
+    void workerOutOfMemoryAndCrashesAreReported() {
+        try (ExtractionPool pool = fake(100, 60_000)) {
+            ExtractionException oom = assertThrows(ExtractionException.class, () -> pool.extract(DOCUMENT, "oom"));
+            assertEquals(ExtractionException.Reason.OUT_OF_MEMORY, oom.reason);
+            assertEquals(1, pool.getOutOfMemory());
+            ExtractionException crash = assertThrows(ExtractionException.class, () -> pool.extract(DOCUMENT, "exit"));
+            assertEquals(ExtractionException.Reason.WORKER_CRASHED, crash.reason);
+            assertTrue(crash.getMessage().contains("exit code 7"), crash.getMessage());
+            assertEquals(1, pool.getCrashes());
+            assertEquals(0, pool.getTimeouts());
+        }
+    }
+
+    @Test
+    void workersRetireAfterTheirQuota() {
+        try (ExtractionPool pool = fake(3, 60_000)) {
+            List<String> pids = new ArrayList<>();
+            for (int i = 0; i < 7; i++)
+                pids.add(pool.extract(DOCUMENT, "a.pdf"));
+            assertEquals(1, new HashSet<>(pids.subList(0, 3)).size());
+            assertEquals(1, new HashSet<>(pids.subList(3, 6)).size());
+            assertEquals(3, new HashSet<>(pids).size());
+            assertEquals(3, pool.getStarts());
+        }
+    }
+
+    @Test
+    void borrowGivesUpWhenNoWorkerGetsReady() {
+        try (ExtractionPool pool = fake(100, 1000, "--mute")) {
+            long start = System.nanoTime();
+            ExtractionException e = assertThrows(ExtractionException.class, () -> pool.extract(DOCUMENT, "a.pdf"));
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(ExtractionException.Reason.WORKER_CRASHED, e.reason);
+            assertTrue(e.getMessage().startsWith("No extraction worker available"), e.getMessage());
+            assertTrue(millis < 10_000, millis + " ms");
+            assertEquals(0, pool.getStarts());
+        }
+    }
+
+    @Test
+    void closedPoolRefusesWork() {
+        ExtractionPool pool = fake(100, 60_000);
+        pool.close();
+        ExtractionException e = assertThrows(ExtractionException.class, () -> pool.extract(DOCUMENT, "a.pdf"));
+        assertEquals(ExtractionException.Reason.CANCELLED, e.reason);
+    }
+
+    @Test
+    void realWorkerExtractsLikeThisProcess() throws Exception {
+        byte[] docx = FastExtractorTest.fixture("resume.docx");
+        try (ExtractionPool pool = new ExtractionPool(1, 256, 60)) {
+            assertEquals(ResumeTextExtractor.extract(docx, "resume.docx"), pool.extract(docx, "resume.docx"));
+            byte[] corrupt = "%PDF-1.7\n1 0 obj <<\nnot really a pdf".getBytes(StandardCharsets.US_ASCII);
+            ExtractionException e = assertThrows(ExtractionException.class, () -> pool.extract(corrupt, "x.pdf"));
+            assertEquals(ExtractionException.Reason.UNREADABLE, e.reason);
+        }
+    }
+}
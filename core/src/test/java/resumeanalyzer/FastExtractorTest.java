@@ -0,0 +1,195 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.tika.metadata.Metadata;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FastExtractor} must produce the text Tika does for the documents it
+ * reads, and leave the others to Tika.
+ */
+class FastExtractorTest {
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    static byte[] fixture(String name) throws IOException {
+        try (InputStream in = FastExtractorTest.class.getResourceAsStream("/fixtures/" + name)) {
+            return in.readAllBytes();
+        }
+    }
+
+    static String tika(byte[] data) throws Exception {
+        return ResumeTextExtractor.parseToString(new ByteArrayInputStream(data), new Metadata());
+    }
+
+    private static String fast(byte[] data) throws IOException {
+        StringBuilder out = new StringBuilder();
+        return FastExtractor.docx(() -> new ByteArrayInputStream(data), Long.MAX_VALUE, out::append) ? out.toString()
+                : null;
+    }
+
+    private static String p(String text) {
+        return "<w:p><w:r><w:t xml:space=\"preserve\">" + text + "</w:t></w:r></w:p>";
+    }
+
+    private static String cell(String... paragraphs) {
+        return "<w:tc>" + String.join("", paragraphs) + "</w:tc>";
+    }
+
+    private static String section(String... references) {
+        StringBuilder sb = new StringBuilder("<w:sectPr>");
+        for (String ref : references) {
+            String[] kindPageId = ref.split(":");
+            sb.append("<w:").append(kindPageId[0]).append("Reference w:type=\"").append(kindPageId[1])
+                    .append("\" r:id=\"").append(kindPageId[2]).append("\"/>");
+        }
+        return sb.append("</w:sectPr>").toString();
+    }
+
+    /** A package of {@code body} and {@code parts}, each part related under its file name as the id. */
+    private static byte[] docx(String body, Map<String, String> parts) throws IOException {
+        StringBuilder overrides = new StringBuilder(), relationships = new StringBuilder();
+        for (String name : parts.keySet()) {
+            String type = name.replaceAll("\\d*\\.xml$", "");
+            overrides.append("<Override PartName=\"/word/").append(name).append("\" ContentType=\"application/")
+                    .append("vnd.openxmlformats-officedocument.wordprocessingml.").append(type).append("+xml\"/>");
+            relationships.append("<Relationship Id=\"").append(name.replace(".xml", "")).append("\" Type=\"")
+                    .append(REL).append('/').append(type).append("\" Target=\"").append(name).append("\"/>");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            entry(zip, "[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/"
+                    + "content-types\"><Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-"
+                    + "package.relationships+xml\"/><Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/word/document.xml\" ContentType=\"application/vnd.openxmlformats-"
+                    + "officedocument.wordprocessingml.document.main+xml\"/>" + overrides + "</Types>");
+            entry(zip, "_rels/.rels", "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/"
+                    + "relationships\"><Relationship Id=\"rId1\" Type=\"" + REL + "/officeDocument\" Target=\""
+                    + "word/document.xml\"/></Relationships>");
+            // Word writes the body before the parts it refers to
+            entry(zip, "word/document.xml", "<w:document xmlns:w=\"" + W + "\" xmlns:r=\"" + REL + "\"><w:body>"
+                    + body + "</w:body></w:document>");
+            entry(zip, "word/_rels/document.xml.rels", "<Relationships xmlns=\"http://schemas.openxmlformats.org/"
+                    + "package/2006/relationships\">" + relationships + "</Relationships>");
+            for (Map.Entry<String, String> e : parts.entrySet())
+                entry(zip, "word/" + e.getKey(), e.getValue());
+        }
+        return out.toByteArray();
+    }
+
+    private static void entry(ZipOutputStream zip, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String header(String text) {
+        return "<w:hdr xmlns:w=\"" + W + "\">" + p(text) + "</w:hdr>";
+    }
+
+    private static String footer(String text) {
+        return "<w:ftr xmlns:w=\"" + W + "\">" + p(text) + "</w:ftr>";
+    }
+
+    private static void assertSameAsTika(byte[] docx) throws Exception {
+        String expected = tika(docx);
+        assertEquals(expected, fast(docx));
+        assertEquals(expected.trim(), ResumeTextExtractor.extract(docx, "resume.docx"));
+    }
+
+    @Test
+    void fixturesMatchTika() throws Exception {
+        byte[] docx = fixture("resume.docx");
+        assertEquals(tika(docx), fast(docx));
+        byte[] txt = fixture("resume.txt");
+        StringBuilder text = new StringBuilder();
+        FastExtractor.text(ByteBuffer.wrap(txt), Long.MAX_VALUE, text::append);
+        assertEquals(tika(txt).trim(), text.toString().trim());
+    }
+
+    @Test
+    void paragraphsTablesAndRunsMatchTika() throws Exception {
+        List<String> bodies = List.of(
+                p("A") + p("B") + "<w:p/>" + p("C"),
+                p("x") + "<w:tbl><w:tr>" + cell(p("a")) + cell(p("b")) + "</w:tr><w:tr>" + cell(p("c"))
+                        + cell("<w:p/>") + "</w:tr></w:tbl>" + p("y"),
+                "<w:tbl><w:tr>" + cell(p("a1"), p("a2")) + cell(p("o"), "<w:tbl><w:tr>" + cell(p("i1"))
+                        + cell(p("i2")) + "</w:tr></w:tbl>", p("o2")) + "</w:tr></w:tbl>",
+                "<w:p><w:pPr><w:tabs><w:tab w:val=\"left\" w:pos=\"720\"/></w:tabs></w:pPr><w:r><w:tab/>"
+                        + "<w:t>a</w:t><w:tab/><w:t>b</w:t><w:ptab w:alignment=\"right\" w:relativeTo=\"margin\""
+                        + " w:leader=\"none\"/><w:t>c</w:t><w:br/><w:t>d</w:t><w:cr/><w:t>e</w:t>"
+                        + "<w:noBreakHyphen/><w:t>f</w:t></w:r></w:p>",
+                "<w:p><w:r><w:t xml:space=\"preserve\"> see  </w:t></w:r><w:hyperlink r:id=\"x\"><w:r><w:t>link"
+                        + "</w:t></w:r></w:hyperlink><w:del><w:r><w:delText>old</w:delText></w:r></w:del><w:r>"
+                        + "<w:instrText>PAGE</w:instrText></w:r></w:p>",
+                "<w:sdt><w:sdtContent>" + p("in control") + "</w:sdtContent></w:sdt>" + p("after"));
+        for (String body : bodies)
+            assertSameAsTika(docx(body, Map.of()));
+    }
+
+    @Test
+    void headersAndFootersInTikaOrder() throws Exception {
+        Map<String, String> parts = new LinkedHashMap<>();
+        parts.put("header1.xml", header("Default"));
+        parts.put("header2.xml", header("First"));
+        parts.put("header3.xml", header("Even"));
+        parts.put("header4.xml", header("Unused"));
+        parts.put("footer1.xml", footer("Foot"));
+        parts.put("footer2.xml", footer("First foot"));
+        assertSameAsTika(docx(p("body") + section("header:default:header1", "footer:default:footer1",
+                "header:first:header2", "footer:first:footer2", "header:even:header3"), parts));
+        // A paragraph that ends a section, in a table cell too
+        assertSameAsTika(docx("<w:p><w:pPr>" + section("header:default:header2", "footer:default:footer2")
+                + "</w:pPr><w:r><w:t>one</w:t></w:r></w:p><w:tbl><w:tr><w:tc><w:p><w:pPr>"
+                + section("header:default:header3") + "</w:pPr><w:r><w:t>two</w:t></w:r></w:p></w:tc></w:tr>"
+                + "</w:tbl>" + p("three") + section("header:default:header1", "footer:even:footer1"), parts));
+    }
+
+    @Test
+    void numberedListsAndTextBoxesAreLeftToTika() throws Exception {
+        String numbering = "<w:numbering xmlns:w=\"" + W + "\"><w:abstractNum w:abstractNumId=\"0\"><w:lvl "
+                + "w:ilvl=\"0\"><w:start w:val=\"1\"/><w:numFmt w:val=\"decimal\"/><w:lvlText w:val=\"%1.\"/>"
+                + "</w:lvl></w:abstractNum><w:num w:numId=\"1\"><w:abstractNumId w:val=\"0\"/></w:num>"
+                + "</w:numbering>";
+        String item = "<w:p><w:pPr><w:numPr><w:ilvl w:val=\"0\"/><w:numId w:val=\"%s\"/></w:numPr></w:pPr>"
+                + "<w:r><w:t>item</w:t></w:r></w:p>";
+        assertNull(fast(docx(item.formatted("1"), Map.of("numbering.xml", numbering))));
+        assertNull(fast(docx(p("body") + section("header:default:header1"),
+                Map.of("numbering.xml", numbering, "header1.xml", "<w:hdr xmlns:w=\"" + W + "\">"
+                        + item.formatted("1") + "</w:hdr>"))));
+        // Tika numbers nothing without numbering definitions, or for list 0
+        assertSameAsTika(docx(item.formatted("1"), Map.of()));
+        assertSameAsTika(docx(item.formatted("0"), Map.of("numbering.xml", numbering)));
+        byte[] box = docx("<w:p><w:r><w:t>before</w:t></w:r><w:r><w:drawing><wps:txbx xmlns:wps=\"http://"
+                + "schemas.microsoft.com/office/word/2010/wordprocessingShape\"><w:txbxContent>" + p("boxed")
+                + "</w:txbxContent></wps:txbx></w:drawing></w:r></w:p>", Map.of());
+        assertNull(fast(box));
+        assertEquals(tika(box).trim(), ResumeTextExtractor.extract(box, "resume.docx"));
+    }
+
+    @Test
+    void bodyIsStreamedInParagraphs() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 2000; i++)
+            body.append(p("Paragraph " + i + " of a long document"));
+        Map<String, String> parts = Map.of("header1.xml", header("Head"), "footer1.xml", footer("Foot"));
+        byte[] docx = docx(body + section("header:default:header1", "footer:default:footer1"), parts);
+        List<String> chunks = new ArrayList<>();
+        assertTrue(FastExtractor.docx(() -> new ByteArrayInputStream(docx), Long.MAX_VALUE,
+                (ch, start, length) -> chunks.add(new String(ch, start, length))));
+        assertEquals(tika(docx), String.join("", chunks));
+        assertTrue(chunks.size() > 1000);
+        assertTrue(chunks.stream().allMatch(c -> c.length() <= 8192));
+
+        StringBuilder limited = new StringBuilder();
+        assertTrue(FastExtractor.docx(() -> new ByteArrayInputStream(docx), 100, limited::append));
+        assertEquals(String.join("", chunks).substring(0, 100), limited.toString());
+    }
+}
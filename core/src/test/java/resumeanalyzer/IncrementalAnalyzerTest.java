@@ -0,0 +1,149 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The streaming {@link IncrementalAnalyzer} must compute the same features
+ * as the whole-text analysis it replaced, however the text is chunked.
+ * Section detection changed on purpose later and is compared only between
+ * the streamed and whole-text runs.
+ */
+class IncrementalAnalyzerTest {
+    static final String RESUME = String.join("\n",
+            "Jordan Smith",
+            "jordan.smith@example.com | +1 415-555-0142 | linkedin.com/in/jordansmith | github.com/jsmith",
+            "",
+            "PROFESSIONAL SUMMARY",
+            "Backend engineer with 7 years of experience in Java and Python.  I am responsible for uptime!!",
+            "",
+            "TECHNICAL SKILLS",
+            "Languages: Java, Python, Go, SQL, JavaScript, C++, C#, .NET",
+            "Infrastructure: Docker, Kubernetes, AWS, Terraform, CI/CD",
+            "",
+            "EXPERIENCE",
+            "Northwind Logistics - Senior Software Engineer    Mar 2021 - Present",
+            "• Led team of 5 engineers serving 2M requests per day",
+            "• Architected an event-driven pipeline on Kafka, reducing latency by 60%",
+            "- Managed a $250 budget for 10+ interns...",
+            "Contoso Payments — Software Engineer    2017 – 2021",
+            "  ▪ Developed REST APIs used by 12,000 businesses™",
+            "",
+            "",
+            "",
+            "EDUCATION",
+            "Bachelor of Science in Computer Science, University of Washington, 2017",
+            "i led the résumé review, and i  did it well");
+
+    static final List<String> TEXTS = List.of(
+            RESUME,
+            "",
+            "   \n\t  ",
+            "\n\n  java  \n\n",
+            "no newline at end, managed",
+            "a\r\nb\r\n\r\n\r\n\r\nc",
+            "?!.,  ,,x i i I",
+            "Skills\nskills: java\nExperience & Education\n## Projects ##\nled team");
+
+    /** The features as the batch analyzer computed them from the trimmed text. */
+    record Batch(Map<String, Set<String>> keywords, boolean blank, int bullets, int dates, int quantifiers,
+            int words, int lines, boolean doubleSpaces, boolean punctuation, boolean firstPerson,
+            boolean trademarks, boolean nonAscii, boolean blankLines, boolean tone) {
+
+        static final Pattern BULLET = Pattern.compile("^\\s*[•●■▪▸►⦿⦾∙◦‣⁃-]\\s+", Pattern.MULTILINE);
+        static final Pattern DATE = Pattern.compile(
+                "\\b(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\.?\\s+\\d{4}\\b|\\b\\d{4}\\s*[-–—]\\s*(?:\\d{4}|Present|Current)\\b",
+                Pattern.CASE_INSENSITIVE);
+        static final Pattern QUANTIFIER = Pattern.compile("\\b\\d+%|\\$\\d+|\\d+\\+|\\d{2,}\\b");
+
+        static Batch of(String original) {
+            String content = original.trim();
+            String lower = content.toLowerCase();
+            int lines = 0;
+            for (String line : content.split("\n")) {
+                if (!line.trim().isEmpty())
+                    lines++;
+            }
+            return new Batch(EnhancedNLPProcessor.findKeywords(lower), content.isBlank(),
+                    count(BULLET, content), count(DATE, content), count(QUANTIFIER, content),
+                    content.isBlank() ? 0 : content.split("\\s+").length, lines,
+                    content.contains("  "), Pattern.compile("[,.!?]{2,}").matcher(content).find(),
+                    Pattern.compile("\\b(I|i) ").matcher(content).find(),
+                    content.contains("©") || content.contains("®") || content.contains("™"),
+                    Pattern.compile("[^\\x00-\\x7F]").matcher(content).find(), content.contains("\n\n\n\n"),
+                    lower.contains("responsible for") || lower.contains("led team") || lower.contains("managed")
+                            || lower.contains("developed"));
+        }
+
+        static Batch of(ResumeFeatures f) {
+            return new Batch(Map.of(EnhancedNLPProcessor.TECHNICAL, f.technicalSkills,
+                    EnhancedNLPProcessor.SOFT, f.softSkills, EnhancedNLPProcessor.VERBS, f.actionVerbs,
+                    EnhancedNLPProcessor.MODERN, f.modernSkills, EnhancedNLPProcessor.ATS, f.atsKeywords),
+                    f.blank, f.bulletCount, f.dateCount, f.quantifiableCount, f.wordCount, f.nonEmptyLines,
+                    f.hasDoubleSpaces, f.hasRepeatedPunctuation, f.hasFirstPerson, f.hasTrademarkSymbols,
+                    f.hasNonAscii, f.hasExcessiveBlankLines, f.hasProfessionalTone);
+        }
+
+        private static int count(Pattern p, String text) {
+            Matcher m = p.matcher(text);
+            int n = 0;
+            while (m.find())
+                n++;
+            return n;
+        }
+    }
+
+    /** Every field of every section, for comparing outlines. */
+    static List<String> outline(ResumeFeatures f) {
+        List<String> sections = new ArrayList<>();
+        for (ResumeSection s : f.outline)
+            sections.add(s.header + "|" + s.title + "|" + s.start + "|" + s.bodyStart + "|" + s.end);
+        return sections;
+    }
+
+    @Test
+    void wholeTextMatchesBatchAnalysis() {
+        for (String text : TEXTS)
+            assertEquals(Batch.of(text), Batch.of(IncrementalAnalyzer.of(text).finish()), text);
+    }
+
+    @Test
+    void chunkedStreamMatchesWholeText() {
+        Random random = new Random(7);
+        for (String text : TEXTS) {
+            IncrementalAnalyzer whole = IncrementalAnalyzer.of(text);
+            ResumeFeatures expected = whole.finish();
+            for (int round = 0; round < 20; round++) {
+                IncrementalAnalyzer streamed = new IncrementalAnalyzer();
+                char[] chars = text.toCharArray();
+                for (int i = 0; i < chars.length;) {
+                    int n = Math.min(chars.length - i, 1 + random.nextInt(40));
+                    streamed.append(chars, i, n);
+                    i += n;
+                }
+                ResumeFeatures actual = streamed.finish();
+                assertEquals(Batch.of(expected), Batch.of(actual), text);
+                assertEquals(expected.sections, actual.sections);
+                assertEquals(outline(expected), outline(actual));
+                assertEquals(whole.contact(), streamed.contact());
+            }
+        }
+    }
+
+    @Test
+    void scoresOfStreamedAndWholeTextAgree() throws Exception {
+        EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+        AnalysisResult whole = nlp.analyzeResume(RESUME);
+        IncrementalAnalyzer analyzer = new IncrementalAnalyzer();
+        analyzer.contentHandler().characters(RESUME.toCharArray(), 0, RESUME.length());
+        AnalysisResult streamed = nlp.analyzeStreamed(analyzer);
+        assertEquals(List.of(whole.overallScore, whole.atsScore, whole.skillsScore, whole.grammarScore,
+                whole.formatScore), List.of(streamed.overallScore, streamed.atsScore, streamed.skillsScore,
+                streamed.grammarScore, streamed.formatScore));
+        assertEquals(whole.contactInfo, streamed.contactInfo);
+    }
+}
@@ -0,0 +1,107 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link KeywordMatcher} must find exactly the keywords the per-keyword
+ * {@code \b...\b} regexes it replaced found.
+ */
+class KeywordMatcherTest {
+    private static final List<String> TEXTS = List.of(
+            "",
+            "java",
+            "Java developer",
+            "I write JAVA",
+            "javascript is not java",
+            "Skills: C++, C#, .NET, ASP.NET Core",
+            "c++11 and c#8 with .netcore",
+            "c++",
+            "c#",
+            ".net",
+            "x.net",
+            "go-to person for Go and golang",
+            "node.js, Node.js and nodejs",
+            "machine learning,machine-learning,machinelearning",
+            "Led a team; led. Managed\nmanaged_projects\tmanaged",
+            "CI/CD pipelines on AWS (aws) with ci/cd",
+            "problem solving\nproblem\nsolving",
+            "über-java naïve python résumé",
+            "sql\r\nnosql\r\nmysql\r\nSQL");
+
+    /** What {@code EnhancedNLPProcessor.containsWord} did for every keyword before the matcher. */
+    private static Set<String> regexHits(Collection<String> keywords, String text) {
+        Set<String> hits = new HashSet<>();
+        for (String k : keywords) {
+            String pattern = "\\b" + Pattern.quote(k) + "\\b";
+            if (Pattern.compile(pattern, Pattern.CASE_INSENSITIVE).matcher(text).find())
+                hits.add(k.toLowerCase());
+        }
+        return hits;
+    }
+
+    private static Map<String, Set<String>> dictionaries() {
+        Dictionaries d = Dictionaries.bundled();
+        Map<String, Set<String>> dicts = new LinkedHashMap<>();
+        dicts.put(EnhancedNLPProcessor.TECHNICAL, d.technicalSkills);
+        dicts.put(EnhancedNLPProcessor.SOFT, d.softSkills);
+        dicts.put(EnhancedNLPProcessor.VERBS, d.actionVerbs);
+        dicts.put(EnhancedNLPProcessor.MODERN, d.modernSkills);
+        dicts.put(EnhancedNLPProcessor.ATS, d.atsKeywords);
+        return dicts;
+    }
+
+    private static void assertSameAsRegex(KeywordMatcher matcher, Map<String, Set<String>> dicts, String text) {
+        Map<String, Set<String>> hits = matcher.match(text);
+        for (Map.Entry<String, Set<String>> e : dicts.entrySet())
+            assertEquals(regexHits(e.getValue(), text), hits.get(e.getKey()), () -> e.getKey() + " in \"" + text + "\"");
+    }
+
+    @Test
+    void bundledDictionariesMatchLikeRegexes() {
+        Map<String, Set<String>> dicts = dictionaries();
+        KeywordMatcher matcher = new KeywordMatcher(dicts);
+        for (String text : TEXTS)
+            assertSameAsRegex(matcher, dicts, text);
+    }
+
+    @Test
+    void keywordsWithNonWordEdgesAtStartAndEnd() {
+        Map<String, Set<String>> dicts = Map.of("t", Set.of("c++", "c#", ".net", "asp.net", "java", "c"));
+        KeywordMatcher matcher = new KeywordMatcher(dicts);
+        for (String text : List.of("c++", "c++x", "xc++", " c++ ", "c#", "c#1", "(c#)", ".net", "a.net", "asp.net",
+                ".netx", "java", "java.", ".java", "c", "c,c++,c#", "C++ C# .NET"))
+            assertSameAsRegex(matcher, dicts, text);
+    }
+
+    @Test
+    void scannerFedCharByCharMatchesWholeText() {
+        Map<String, Set<String>> dicts = dictionaries();
+        KeywordMatcher matcher = new KeywordMatcher(dicts);
+        String text = String.join("\n", TEXTS);
+        KeywordMatcher.Scanner scanner = matcher.newScanner();
+        for (int i = 0; i < text.length(); i++)
+            scanner.feed(text.charAt(i));
+        assertEquals(matcher.match(text), scanner.finish());
+        assertSameAsRegex(matcher, dicts, text);
+    }
+
+    @Test
+    void randomTextOverKeywordAlphabet() {
+        Map<String, Set<String>> dicts = dictionaries();
+        KeywordMatcher matcher = new KeywordMatcher(dicts);
+        List<String> pieces = new ArrayList<>();
+        dicts.values().forEach(pieces::addAll);
+        pieces.addAll(List.of(" ", ".", "+", "#", "_", "-", "1", "x", "\n"));
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(12); i >= 0; i--)
+                sb.append(pieces.get(random.nextInt(pieces.size())));
+            assertSameAsRegex(matcher, dicts, sb.toString());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+/** {@link LiveAnalysis} must score every version of the text exactly as a full analysis does. */
+class LiveAnalysisTest {
+    private static final List<String> INSERTS = List.of("\n", "\n\n\n", "  ", "x", "Java ", "SKILLS\n",
+            "Education & Projects\n", "• ", "Mar 2020 - Present", "42%", "jane@example.org ", "!!", "i ", "é",
+            "led team", "managed\n");
+
+    private static void assertSameAsFullAnalysis(EnhancedNLPProcessor nlp, LiveAnalysis live, String text) {
+        AnalysisResult expected = nlp.analyzeResume(text);
+        AnalysisResult actual = live.update(text);
+        String where = "after edit to:\n" + text;
+        assertEquals(List.of(expected.overallScore, expected.atsScore, expected.skillsScore,
+                expected.grammarScore, expected.formatScore), List.of(actual.overallScore, actual.atsScore,
+                actual.skillsScore, actual.grammarScore, actual.formatScore), where);
+        assertEquals(expected.content, actual.content, where);
+        assertEquals(expected.contactInfo, actual.contactInfo, where);
+        assertEquals(IncrementalAnalyzerTest.Batch.of(expected.features),
+                IncrementalAnalyzerTest.Batch.of(actual.features), where);
+        assertEquals(expected.features.sections, actual.features.sections, where);
+        assertEquals(IncrementalAnalyzerTest.outline(expected.features),
+                IncrementalAnalyzerTest.outline(actual.features), where);
+    }
+
+    @Test
+    void randomEditsScoreLikeFullAnalysis() {
+        EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+        LiveAnalysis live = new LiveAnalysis(nlp);
+        Random random = new Random(11);
+        StringBuilder text = new StringBuilder(IncrementalAnalyzerTest.RESUME);
+        for (int round = 0; round < 300; round++) {
+            int at = random.nextInt(text.length() + 1);
+            if (random.nextBoolean() && text.length() > 0) {
+                text.delete(at, Math.min(text.length(), at + 1 + random.nextInt(30)));
+            } else {
+                text.insert(at, INSERTS.get(random.nextInt(INSERTS.size())));
+            }
+            assertSameAsFullAnalysis(nlp, live, text.toString());
+        }
+    }
+
+    @Test
+    void reusesUnchangedLines() {
+        EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+        LiveAnalysis live = new LiveAnalysis(nlp);
+        String text = IncrementalAnalyzerTest.RESUME;
+        live.update(text);
+        assertSameAsFullAnalysis(nlp, live, text.replace("Kafka", "Kafka and Spark"));
+        assertEquals(1, live.getAnalyzedLines());
+        assertTrue(live.getReusedLines() > 10);
+    }
+
+    @Test
+    void emptyAndBlankText() {
+        EnhancedNLPProcessor nlp = new EnhancedNLPProcessor();
+        LiveAnalysis live = new LiveAnalysis(nlp);
+        for (String text : List.of("", "\n\n", "java", "   \n\n\n\n\n  java", ""))
+            assertSameAsFullAnalysis(nlp, live, text);
+    }
+}
@@ -0,0 +1,127 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.Test;
+
+class MemoryBudgetTest {
+    private static final long MB = 1 << 20;
+
+    /** A PDF header padded to {@code size} bytes; its estimate is 2 MB plus 32 times the size. */
+    private static byte[] pdf(int size) {
+        byte[] data = new byte[size];
+        Arrays.fill(data, (byte) ' ');
+        System.arraycopy("%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII), 0, data, 0, 9);
+        return data;
+    }
+
+    // 3 MB of a 4 MB budget
+    private static final byte[] THREE_MB = pdf(32 << 10);
+
+    /** Admits {@code data} on a new thread and waits until it is admitted or parked waiting for room. */
+    private static Future<MemoryBudget.Permit> admitLater(MemoryBudget budget, byte[] data) throws Exception {
+        FutureTask<MemoryBudget.Permit> task = new FutureTask<>(() -> budget.admit(data));
+        Thread t = Thread.ofPlatform().daemon().start(task);
+        while (!task.isDone() && t.getState() != Thread.State.WAITING)
+            Thread.sleep(5);
+        return task;
+    }
+
+    @Test
+    void estimateFollowsSizeAndFormat() {
+        byte[] docx = new byte[1000];
+        docx[0] = 'P';
+        docx[1] = 'K';
+        docx[2] = 3;
+        docx[3] = 4;
+        assertEquals(2 * MB + 20 * 1000, MemoryBudget.estimate(docx));
+        assertEquals(2 * MB + 32 * 1000, MemoryBudget.estimate(pdf(1000)));
+        assertEquals(2 * MB + 8 * 6, MemoryBudget.estimate("<html>".getBytes(StandardCharsets.US_ASCII)));
+        byte[] text = "Jordan Lee\nSoftware engineer\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals((64 << 10) + 4 * text.length, MemoryBudget.estimate(text));
+    }
+
+    @Test
+    void documentsWaitForRoomAndReleaseItOnce() throws Exception {
+        MemoryBudget budget = new MemoryBudget(4 * MB, true);
+        MemoryBudget.Permit first = budget.admit(THREE_MB);
+        assertEquals(3 * MB, budget.getPeakBytes());
+        assertEquals(0, budget.getWaits());
+
+        Future<MemoryBudget.Permit> second = admitLater(budget, THREE_MB);
+        assertFalse(second.isDone());
+        assertEquals(1, budget.getWaits());
+        first.close();
+        MemoryBudget.Permit held = second.get(10, TimeUnit.SECONDS);
+        assertEquals(3 * MB, budget.getPeakBytes());
+
+        // Closing again must not hand back the first document's share a second time
+        first.close();
+        Future<MemoryBudget.Permit> third = admitLater(budget, THREE_MB);
+        assertFalse(third.isDone());
+        held.close();
+        third.get(10, TimeUnit.SECONDS).close();
+        assertEquals(2, budget.getWaits());
+    }
+
+    @Test
+    void failedExtractionReleasesItsShare() {
+        MemoryBudget budget = new MemoryBudget(4 * MB, true);
+        byte[] corrupt = pdf(64 << 10);
+        ExtractionException e = assertThrows(ExtractionException.class, () -> budget.extract(corrupt, "x.pdf"));
+        assertEquals(ExtractionException.Reason.UNREADABLE, e.reason);
+        // The whole budget is free again: a document needing all of it goes straight in
+        budget.admit(pdf((2 << 20) / 32)).close();
+        assertEquals(0, budget.getWaits());
+    }
+
+    @Test
+    void largeDocumentIsNotOvertakenBySmallOnes() throws Exception {
+        MemoryBudget budget = new MemoryBudget(4 * MB, true);
+        MemoryBudget.Permit first = budget.admit(THREE_MB);
+        Future<MemoryBudget.Permit> large = admitLater(budget, THREE_MB);
+        // There is room for a small document, but it queues behind the large one
+        byte[] small = "Jordan Lee\nSoftware engineer\n".getBytes(StandardCharsets.US_ASCII);
+        Future<MemoryBudget.Permit> smallOne = admitLater(budget, small);
+        assertFalse(large.isDone());
+        assertFalse(smallOne.isDone());
+        first.close();
+        // Both fit once the first is done
+        large.get(10, TimeUnit.SECONDS).close();
+        smallOne.get(10, TimeUnit.SECONDS).close();
+        assertEquals(2, budget.getWaits());
+    }
+
+    @Test
+    void strictBudgetRejectsWhatCannotFit() {
+        MemoryBudget budget = new MemoryBudget(4 * MB, true);
+        ExtractionException e = assertThrows(ExtractionException.class, () -> budget.admit(pdf(128 << 10)));
+        assertEquals(ExtractionException.Reason.TOO_LARGE, e.reason);
+        assertEquals(1, budget.getRejected());
+        assertTrue(MemoryBudget.ofOption(64).strict);
+        assertNull(MemoryBudget.ofOption(0));
+        assertFalse(MemoryBudget.ofOption(-1).strict);
+    }
+
+    @Test
+    void defaultBudgetExtractsOversizedDocumentsAlone() throws Exception {
+        MemoryBudget budget = new MemoryBudget(4 * MB, false);
+        MemoryBudget.Permit small = budget.admit("text".getBytes(StandardCharsets.US_ASCII));
+        // Needs 6 MB of 4: waits for the whole budget
+        Future<MemoryBudget.Permit> oversized = admitLater(budget, pdf(128 << 10));
+        assertFalse(oversized.isDone());
+        small.close();
+        MemoryBudget.Permit alone = oversized.get(10, TimeUnit.SECONDS);
+        assertEquals(1, budget.getOversized());
+        assertEquals(0, budget.getRejected());
+        assertEquals(4 * MB, budget.getPeakBytes());
+        // Nothing else runs beside it
+        Future<MemoryBudget.Permit> next = admitLater(budget, "text".getBytes(StandardCharsets.US_ASCII));
+        assertFalse(next.isDone());
+        alone.close();
+        next.get(10, TimeUnit.SECONDS).close();
+    }
+}
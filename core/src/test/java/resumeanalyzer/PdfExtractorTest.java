@@ -0,0 +1,77 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.junit.jupiter.api.Test;
+
+/** {@link PdfExtractor} must produce Tika's text, whether it strips a PDF in one go or in ranges. */
+class PdfExtractorTest {
+    private static byte[] pdf(int pages, boolean bookmarked) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                // Every third page left blank, which PDFTextStripper skips and Tika does not
+                if (i % 3 == 0)
+                    continue;
+                try (PDPageContentStream text = new PDPageContentStream(doc, page)) {
+                    text.beginText();
+                    text.setFont(font, 11);
+                    text.setLeading(14);
+                    text.newLineAtOffset(50, 700);
+                    text.showText("Page " + i + ": led team of " + i + " engineers");
+                    text.newLine();
+                    text.showText("Reduced latency by " + (10 * i) + "%");
+                    text.endText();
+                }
+            }
+            if (bookmarked) {
+                PDDocumentOutline outline = new PDDocumentOutline();
+                PDOutlineItem item = new PDOutlineItem();
+                item.setTitle("Experience");
+                outline.addLast(item);
+                doc.getDocumentCatalog().setDocumentOutline(outline);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String extract(byte[] pdf, long maxChars) throws IOException {
+        StringBuilder text = new StringBuilder();
+        return PdfExtractor.extract(ByteBuffer.wrap(pdf), maxChars, text::append) ? text.toString() : null;
+    }
+
+    @Test
+    void shortAndLongPdfsMatchTika() throws Exception {
+        for (byte[] pdf : new byte[][] { FastExtractorTest.fixture("resume.pdf"), pdf(3, false),
+                pdf(PdfExtractor.MIN_PAGES - 1, false), pdf(40, false) })
+            assertEquals(FastExtractorTest.tika(pdf).trim(), extract(pdf, Long.MAX_VALUE).trim());
+    }
+
+    @Test
+    void characterLimitAppliesToBothPaths() throws Exception {
+        for (int pages : new int[] { 2, 40 }) {
+            byte[] pdf = pdf(pages, false);
+            assertEquals(extract(pdf, Long.MAX_VALUE).substring(0, 50), extract(pdf, 50));
+        }
+    }
+
+    @Test
+    void bookmarkedPdfsAreLeftToTika() throws Exception {
+        assertNull(extract(pdf(2, true), Long.MAX_VALUE));
+        assertNull(extract(pdf(40, true), Long.MAX_VALUE));
+    }
+}
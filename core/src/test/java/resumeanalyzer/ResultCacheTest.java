@@ -0,0 +1,81 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultCacheTest {
+    private static final byte[] DOCUMENT = IncrementalAnalyzerTest.RESUME.getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private static AnalysisResult analyze(ResultCache cache, AtomicInteger extractions) {
+        return cache.analyze(DOCUMENT, new EnhancedNLPProcessor(), d -> {
+            extractions.incrementAndGet();
+            return new String(d, StandardCharsets.UTF_8);
+        });
+    }
+
+    private Path file(String name) {
+        return dir.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    @Test
+    void resultsSurviveARestart() {
+        AtomicInteger extractions = new AtomicInteger();
+        AnalysisResult first = analyze(new ResultCache(dir, 1 << 20), extractions);
+        AnalysisResult second = analyze(new ResultCache(dir, 1 << 20), extractions);
+        assertEquals(1, extractions.get());
+        assertEquals(first.overallScore, second.overallScore);
+        assertEquals(first.content, second.content);
+    }
+
+    @Test
+    void keysIncludeTheExtractorVersion() throws IOException {
+        String hash = ResultCache.sha256Hex(DOCUMENT);
+        // Text cached before extractor versions were part of the key
+        Path old = file(hash + ".txt.gz");
+        Files.createDirectories(old.getParent());
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(old))) {
+            out.write("stale text".getBytes(StandardCharsets.UTF_8));
+        }
+        ResultCache cache = new ResultCache(dir, 1 << 20);
+        assertNull(cache.getText(hash));
+
+        analyze(cache, new AtomicInteger());
+        String key = hash + "-" + ResumeTextExtractor.version();
+        assertTrue(Files.exists(file(key + ".txt.gz")));
+        assertTrue(Files.exists(file(key + "-" + Dictionaries.current().version + ".result.gz")));
+    }
+
+    /** Records whether it was ever deserialized. */
+    static final class Planted implements Serializable {
+        static volatile boolean deserialized;
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            deserialized = true;
+        }
+    }
+
+    @Test
+    void resultFilesAreFiltered() throws IOException {
+        String hash = ResultCache.sha256Hex(DOCUMENT);
+        Path f = file(hash + "-" + ResumeTextExtractor.version() + "-" + Dictionaries.current().version
+                + ".result.gz");
+        Files.createDirectories(f.getParent());
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(Files.newOutputStream(f)))) {
+            out.writeObject(new Planted());
+        }
+        assertNull(new ResultCache(dir, 1 << 20).getResult(hash));
+        assertFalse(Planted.deserialized);
+    }
+}
@@ -0,0 +1,148 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResumeIndexTest {
+    private static final EnhancedNLPProcessor NLP = new EnhancedNLPProcessor();
+    private static final String JOB = "Senior backend engineer: Java, Python, SQL, Docker and AWS. Experience with "
+            + "Kubernetes and machine learning is a plus; strong communication and leadership skills.";
+    private static final List<String> SKILLS = List.of("Java", "Python", "SQL", "Docker", "AWS", "Kubernetes",
+            "React", "JavaScript", "machine learning", "Excel", "communication", "leadership", "teamwork");
+    private static final List<String> WORDS = List.of("built", "services", "backend", "engineer", "data",
+            "pipelines", "customers", "experience", "senior", "team", "designed", "APIs", "reports", "years");
+
+    private static String resume(Random random) {
+        StringBuilder sb = new StringBuilder("Experience\n");
+        for (int i = 0, n = 3 + random.nextInt(20); i < n; i++)
+            sb.append(random.nextInt(3) == 0 ? SKILLS.get(random.nextInt(SKILLS.size()))
+                    : WORDS.get(random.nextInt(WORDS.size()))).append(i % 8 == 7 ? ".\n" : " ");
+        return sb.toString();
+    }
+
+    /** The BM25 ranking {@link ResumeIndex#search} should return, computed from scratch over {@code docs}. */
+    private static List<String> bruteForce(Map<String, AnalysisResult> docs, int k, Map<String, Double> scores) {
+        Map<String, Set<String>> found = EnhancedNLPProcessor.findKeywords(JOB);
+        Set<String> skillQuery = new HashSet<>();
+        for (String d : List.of(EnhancedNLPProcessor.TECHNICAL, EnhancedNLPProcessor.MODERN, EnhancedNLPProcessor.SOFT))
+            skillQuery.addAll(found.getOrDefault(d, Set.of()));
+        List<Set<String>> query = List.of(skillQuery, ResumeIndex.termFrequencies(JOB).keySet());
+        Map<String, List<Map<String, Integer>>> fields = new HashMap<>();
+        for (Map.Entry<String, AnalysisResult> e : docs.entrySet()) {
+            Map<String, Integer> skills = new HashMap<>();
+            ResumeFeatures f = e.getValue().features;
+            for (Set<String> s : List.of(f.technicalSkills, f.modernSkills, f.softSkills))
+                s.forEach(skill -> skills.put(skill, 1));
+            fields.put(e.getKey(), List.of(skills, ResumeIndex.termFrequencies(e.getValue().content)));
+        }
+        int n = docs.size();
+        double[] weights = { 2.0, 1.0 };
+        for (String name : docs.keySet()) {
+            double score = 0;
+            for (int field = 0; field < 2; field++) {
+                int fi = field;
+                double avg = fields.values().stream()
+                        .mapToInt(v -> v.get(fi).values().stream().mapToInt(Integer::intValue).sum()).sum()
+                        / (double) n;
+                Map<String, Integer> tfs = fields.get(name).get(field);
+                int length = tfs.values().stream().mapToInt(Integer::intValue).sum();
+                for (String term : query.get(field)) {
+                    long df = fields.values().stream().filter(v -> v.get(fi).containsKey(term)).count();
+                    Integer tf = tfs.get(term);
+                    if (tf == null)
+                        continue;
+                    double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+                    double norm = 1.2 * (1 - 0.75 + 0.75 * length / avg);
+                    score += weights[field] * idf * tf * 2.2 / (tf + norm);
+                }
+            }
+            if (score > 0)
+                scores.put(name, score);
+        }
+        List<String> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparingDouble((String name) -> scores.get(name)).reversed()
+                .thenComparing(name -> name));
+        return ranked.subList(0, Math.min(k, ranked.size()));
+    }
+
+    private static void assertRanksLikeBruteForce(ResumeIndex index, Map<String, AnalysisResult> docs) {
+        for (int k : new int[] { 1, 5, 1000 }) {
+            Map<String, Double> expected = new HashMap<>();
+            List<String> names = bruteForce(docs, k, expected);
+            List<ResumeIndex.Hit> hits = index.search(JOB, k);
+            assertEquals(names, hits.stream().map(h -> h.file).toList(), "top " + k);
+            for (ResumeIndex.Hit h : hits) {
+                assertEquals(expected.get(h.file), h.score, 1e-9, h.file);
+                assertEquals(docs.get(h.file).overallScore, h.overallScore);
+            }
+        }
+    }
+
+    @Test
+    void savedIndexReopensAppendsAndCompacts(@TempDir Path dir) throws IOException {
+        Random random = new Random(11);
+        Path file = dir.resolve("resumes.idx");
+        Map<String, AnalysisResult> live = new LinkedHashMap<>();
+        ResumeIndex index = new ResumeIndex();
+        for (int i = 0; i < 40; i++) {
+            AnalysisResult r = NLP.analyzeResume(resume(random));
+            live.put("r" + i + ".pdf", r);
+            index.add("r" + i + ".pdf", r);
+        }
+        assertRanksLikeBruteForce(index, live);
+        index.save(file);
+
+        index = ResumeIndex.open(file);
+        assertEquals(40, index.size());
+        assertRanksLikeBruteForce(index, live);
+        // Appended documents follow the mapped postings; replacing one marks the mapped entry deleted
+        for (int i = 40; i < 60; i++) {
+            AnalysisResult r = NLP.analyzeResume(resume(random));
+            live.put("r" + i + ".pdf", r);
+            index.add("r" + i + ".pdf", r);
+        }
+        for (String replaced : List.of("r3.pdf", "r17.pdf", "r45.pdf")) {
+            AnalysisResult r = NLP.analyzeResume(JOB);
+            live.put(replaced, r);
+            index.add(replaced, r);
+        }
+        assertEquals(60, index.size());
+        List<String> beforeSave = index.search(JOB, 60).stream().map(h -> h.file).toList();
+        assertEquals(new HashSet<>(beforeSave).size(), beforeSave.size(), "a replaced entry is ranked twice");
+        assertTrue(beforeSave.containsAll(List.of("r3.pdf", "r17.pdf", "r45.pdf")));
+
+        index.save(file);
+        index = ResumeIndex.open(file);
+        assertEquals(60, index.size());
+        // Saving dropped the replaced entries, so the statistics are those of the live documents again
+        assertRanksLikeBruteForce(index, live);
+        assertEquals(List.of("r17.pdf", "r3.pdf", "r45.pdf"),
+                index.search(JOB, 3).stream().map(h -> h.file).sorted().toList());
+    }
+
+    @Test
+    void rejectsDamagedFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("resumes.idx");
+        ResumeIndex index = new ResumeIndex();
+        index.add("a.pdf", NLP.analyzeResume(IncrementalAnalyzerTest.RESUME));
+        index.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> ResumeIndex.open(file));
+        bytes[0] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> ResumeIndex.open(file));
+    }
+
+    @Test
+    void indexRejectsStreaming() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchRunner(1, 1, 1, 1, null, null, null,
+                new ResumeIndex(), null, null, true));
+    }
+}
@@ -0,0 +1,99 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResumePipelineTest {
+    @Test
+    void finishDeliversEveryJob(@TempDir Path dir) throws Exception {
+        AtomicInteger seen = new AtomicInteger();
+        ResumePipeline pipeline = new ResumePipeline(2, 1, 1, 2, null, null, null, false, false,
+                job -> seen.incrementAndGet());
+        for (int i = 0; i < 20; i++) {
+            Path file = Files.writeString(dir.resolve(i + ".txt"), IncrementalAnalyzerTest.RESUME);
+            pipeline.submit(file, file.getFileName().toString());
+        }
+        pipeline.finish();
+        assertEquals(20, seen.get());
+    }
+
+    @Test
+    void cancelDropsQueuedJobsAndStopsTheWorkers(@TempDir Path dir) throws Exception {
+        AtomicInteger seen = new AtomicInteger();
+        CountDownLatch handling = new CountDownLatch(1), cancelled = new CountDownLatch(1);
+        ResumePipeline pipeline = new ResumePipeline(2, 1, 1, 2, null, null, null, false, false, job -> {
+            seen.incrementAndGet();
+            handling.countDown();
+            try {
+                // Every stage backs up behind the first job
+                cancelled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread submitter = Thread.ofPlatform().start(() -> {
+            try {
+                for (int i = 0; i < 40; i++) {
+                    Path file = Files.writeString(dir.resolve(i + ".txt"), IncrementalAnalyzerTest.RESUME);
+                    pipeline.submit(file, file.getFileName().toString());
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(handling.await(30, TimeUnit.SECONDS));
+        pipeline.cancel();
+        cancelled.countDown();
+        // A submit blocked on the full read queue returns, and later ones are ignored
+        submitter.join(30_000);
+        assertFalse(submitter.isAlive());
+        pipeline.finish();
+        assertEquals(1, seen.get());
+    }
+
+    @Test
+    void errorsArePassedOnWithTheirJob(@TempDir Path dir) throws Exception {
+        ResultCache failing = new ResultCache(dir.resolve("cache"), 1 << 20) {
+            @Override
+            public AnalysisResult getResult(String hash, boolean withText) {
+                throw new OutOfMemoryError("test");
+            }
+        };
+        AtomicInteger errors = new AtomicInteger();
+        ResumePipeline pipeline = new ResumePipeline(2, 1, 1, 2, failing, null, null, false, false, job -> {
+            if (job.error instanceof OutOfMemoryError)
+                errors.incrementAndGet();
+        });
+        for (int i = 0; i < 5; i++) {
+            Path file = Files.writeString(dir.resolve(i + ".txt"), IncrementalAnalyzerTest.RESUME);
+            pipeline.submit(file, file.getFileName().toString());
+        }
+        pipeline.finish();
+        assertEquals(5, errors.get());
+    }
+
+    @Test
+    void sinkFailureCancelsAndIsRethrownByFinish(@TempDir Path dir) throws Exception {
+        AtomicInteger seen = new AtomicInteger();
+        ResumePipeline pipeline = new ResumePipeline(2, 1, 1, 2, null, null, null, false, false, job -> {
+            seen.incrementAndGet();
+            throw new UncheckedIOException(new IOException("disk full"));
+        });
+        for (int i = 0; i < 20; i++) {
+            Path file = Files.writeString(dir.resolve(i + ".txt"), IncrementalAnalyzerTest.RESUME);
+            pipeline.submit(file, file.getFileName().toString());
+        }
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, pipeline::finish);
+        assertEquals("disk full", e.getCause().getMessage());
+        assertEquals(1, seen.get());
+    }
+}
@@ -0,0 +1,98 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ScoreStoreTest {
+    private static final AnalysisResult RESULT = new EnhancedNLPProcessor().analyzeResume(IncrementalAnalyzerTest.RESUME);
+
+    @TempDir
+    Path dir;
+
+    private static String hash(int i) {
+        return ResultCache.sha256Hex(new byte[] { (byte) i });
+    }
+
+    /** Appends three records of one resume and returns their offsets; the store is closed afterwards. */
+    private List<Long> writeThree(Path file) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        try (ScoreStore store = ScoreStore.open(file)) {
+            for (int i = 0; i < 3; i++)
+                offsets.add(store.append(hash(1), "jordan@example.com", RESULT).offset);
+        }
+        return offsets;
+    }
+
+    private static void overwrite(Path file, long offset, ByteBuffer bytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(bytes, offset);
+        }
+    }
+
+    @Test
+    void reopensFromCheckpoint() throws IOException {
+        Path file = dir.resolve("scores.log");
+        List<Long> offsets = writeThree(file);
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(3, store.size());
+            assertEquals(1, store.pairs());
+            List<ScoreStore.Record> history = store.history(hash(1), "jordan@example.com");
+            assertEquals(List.of(offsets.get(2), offsets.get(1), offsets.get(0)),
+                    history.stream().map(r -> r.offset).toList());
+            assertEquals(RESULT.overallScore, history.get(0).overall);
+        }
+    }
+
+    @Test
+    void recoversFromHalfWrittenRecord() throws IOException {
+        Path file = dir.resolve("scores.log");
+        List<Long> offsets = writeThree(file);
+        // A crash before the last record's length was written: no checkpoint, payload without length
+        Files.delete(dir.resolve("scores.log.idx"));
+        overwrite(file, offsets.get(2), ByteBuffer.allocate(4));
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(2, store.size());
+            assertEquals(offsets.get(1), store.get(hash(1), "jordan@example.com").offset);
+            // The next record takes the torn one's place
+            assertEquals(offsets.get(2), store.append(hash(2), "other", RESULT).offset);
+        }
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(3, store.size());
+            assertEquals(2, store.pairs());
+        }
+    }
+
+    @Test
+    void stopsAtCorruptRecord() throws IOException {
+        Path file = dir.resolve("scores.log");
+        List<Long> offsets = writeThree(file);
+        Files.delete(dir.resolve("scores.log.idx"));
+        // A record whose payload did not fully reach the disk fails its CRC
+        overwrite(file, offsets.get(1) + 20, ByteBuffer.wrap(new byte[] { 0x55, 0x55 }));
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertEquals(1, store.size());
+            assertEquals(List.of(offsets.get(0)),
+                    store.history(hash(1), "jordan@example.com").stream().map(r -> r.offset).toList());
+        }
+    }
+
+    @Test
+    void secondOpenIsRefused() throws IOException {
+        Path file = dir.resolve("scores.log");
+        try (ScoreStore store = ScoreStore.open(file)) {
+            assertThrows(ScoreStore.InUseException.class, () -> ScoreStore.open(file));
+            assertNull(ScoreStore.openUnlessInUse(file));
+        }
+        ScoreStore.open(file).close();
+    }
+}
@@ -0,0 +1,153 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ScoringServerTest {
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+    private static final byte[] RESUME = IncrementalAnalyzerTest.RESUME.getBytes(StandardCharsets.UTF_8);
+
+    private ScoringServer server;
+
+    private ScoringServer start(int maxInFlight, long maxUploadBytes, MemoryBudget budget) throws IOException {
+        server = new ScoringServer(0, maxInFlight, maxUploadBytes, new ResultCache(null, 1 << 20), null, null,
+                budget);
+        server.start();
+        return server;
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null)
+            server.stop();
+    }
+
+    private HttpResponse<String> post(String path, String contentType, byte[] body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (contentType != null)
+            request.header("Content-Type", contentType);
+        return CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] multipart(String boundary, String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts)
+            sb.append("--").append(boundary).append("\r\n").append(part).append("\r\n");
+        return sb.append("--").append(boundary).append("--\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void rawAndMultipartUploadsAreScored() throws Exception {
+        start(2, 1 << 20, null);
+        HttpResponse<String> raw = post("/analyze?name=jordan.txt", null, RESUME);
+        assertEquals(200, raw.statusCode());
+        assertTrue(raw.body().startsWith("{\"file\":\"jordan.txt\""), raw.body());
+
+        // A quoted boundary with characters that need the quotes, a field part before the file part,
+        // and a Windows path as the file name
+        String boundary = "a:b c=d";
+        byte[] body = multipart(boundary,
+                "Content-Disposition: form-data; name=\"note\"\r\n\r\nnot the file",
+                "Content-Disposition: form-data; name=\"file\"; filename=\"C:\\cv\\jordan.txt\"\r\n"
+                        + "Content-Type: text/plain\r\n\r\n" + IncrementalAnalyzerTest.RESUME);
+        HttpResponse<String> form = post("/analyze", "multipart/form-data; boundary=\"" + boundary + "\"", body);
+        assertEquals(200, form.statusCode());
+        assertTrue(form.body().startsWith("{\"file\":\"jordan.txt\""), form.body());
+        assertEquals(raw.body(), form.body());
+    }
+
+    @Test
+    void malformedMultipartIsABadRequest() throws Exception {
+        start(2, 1 << 20, null);
+        byte[] body = multipart("xyz", "Content-Disposition: form-data; name=\"file\"; filename=\"cv.txt\"\r\n\r\n"
+                + IncrementalAnalyzerTest.RESUME);
+        // No boundary parameter
+        assertEquals(400, post("/analyze", "multipart/form-data", body).statusCode());
+        // A boundary that is not in the body
+        assertEquals(400, post("/analyze", "multipart/form-data; boundary=abc", body).statusCode());
+        // Headers never end
+        byte[] cut = "--xyz\r\nContent-Disposition: form-data; name=\"file\"".getBytes(StandardCharsets.UTF_8);
+        assertEquals(400, post("/analyze", "multipart/form-data; boundary=xyz", cut).statusCode());
+        // Only the closing delimiter
+        assertEquals(400, post("/analyze", "multipart/form-data; boundary=xyz",
+                "--xyz--\r\n".getBytes(StandardCharsets.UTF_8)).statusCode());
+        // An empty file part
+        assertEquals(400, post("/analyze", "multipart/form-data; boundary=xyz", multipart("xyz",
+                "Content-Disposition: form-data; name=\"file\"; filename=\"cv.txt\"\r\n\r\n")).statusCode());
+        assertEquals(400, post("/analyze?name=cv.txt", null, new byte[0]).statusCode());
+    }
+
+    @Test
+    void oversizedUploadIsRejected() throws Exception {
+        start(2, 4096, null);
+        byte[] big = Arrays.copyOf(RESUME, 64 << 10);
+        Arrays.fill(big, RESUME.length, big.length, (byte) ' ');
+        HttpResponse<String> response = post("/analyze?name=big.txt", null, big);
+        assertEquals(413, response.statusCode());
+        assertTrue(response.body().contains("4096"), response.body());
+        // The slot is released for the next request
+        assertEquals(200, post("/analyze?name=cv.txt", null, RESUME).statusCode());
+    }
+
+    @Test
+    void documentTooLargeForAStrictBudgetIsRejected() throws Exception {
+        start(2, 1 << 20, new MemoryBudget(1 << 20, true));
+        byte[] pdf = Arrays.copyOf("%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII), 64 << 10);
+        Arrays.fill(pdf, 9, pdf.length, (byte) ' ');
+        HttpResponse<String> response = post("/analyze?name=big.pdf", null, pdf);
+        assertEquals(413, response.statusCode());
+        assertTrue(response.body().contains("\"reason\":\"too_large\""), response.body());
+    }
+
+    @Test
+    void corruptDocumentIsUnprocessable() throws Exception {
+        start(2, 1 << 20, null);
+        byte[] pdf = "%PDF-1.7\n1 0 obj <<\nnot really a pdf".getBytes(StandardCharsets.US_ASCII);
+        HttpResponse<String> response = post("/analyze?name=broken.pdf", null, pdf);
+        assertEquals(422, response.statusCode());
+        assertTrue(response.body().startsWith("{\"file\":\"broken.pdf\""), response.body());
+        assertTrue(response.body().contains("\"reason\":\"unreadable\""), response.body());
+    }
+
+    @Test
+    void busyServerAnswers503() throws Exception {
+        start(1, 1 << 20, null);
+        // A request whose body never finishes arriving holds the only slot
+        try (Socket slow = new Socket("localhost", server.getPort())) {
+            OutputStream out = slow.getOutputStream();
+            out.write(("POST /analyze?name=slow.txt HTTP/1.1\r\nHost: localhost\r\nContent-Length: 100000\r\n\r\n"
+                    + "Jordan").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            String health;
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            do {
+                health = CLIENT.send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort()
+                        + "/health")).build(), HttpResponse.BodyHandlers.ofString()).body();
+            } while (!health.contains("\"inFlight\":1") && System.nanoTime() < deadline);
+            assertTrue(health.contains("\"inFlight\":1"), health);
+
+            HttpResponse<String> busy = post("/analyze?name=cv.txt", null, RESUME);
+            assertEquals(503, busy.statusCode());
+            assertEquals("1", busy.headers().firstValue("Retry-After").orElse(null));
+        }
+        // Once the slow client is gone its slot is free again
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        int status;
+        while ((status = post("/analyze?name=cv.txt", null, RESUME).statusCode()) == 503
+                && System.nanoTime() < deadline)
+            Thread.sleep(20);
+        assertEquals(200, status);
+    }
+}
@@ -0,0 +1,95 @@
+package resumeanalyzer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardedBatchTest {
+    private static final long LEASE_MILLIS = 60_000;
+
+    @TempDir
+    Path dir;
+
+    private ShardedBatch job(int documents, int shardSize) throws Exception {
+        Path input = Files.createDirectories(dir.resolve("in"));
+        for (int i = 0; i < documents; i++)
+            Files.writeString(input.resolve("r" + i + ".txt"), IncrementalAnalyzerTest.RESUME + "\nResume " + i,
+                    StandardCharsets.UTF_8);
+        return ShardedBatch.create(dir.resolve("job"), input, shardSize);
+    }
+
+    private Path lease(int shard, int generation) {
+        return dir.resolve("job/leases").resolve(String.format("shard-%05d.%d", shard, generation));
+    }
+
+    @Test
+    void liveLeaseIsNotClaimedTwice() throws Exception {
+        ShardedBatch job = job(2, 1);
+        ShardedBatch.Lease a = job.claim(0, "a", LEASE_MILLIS);
+        assertEquals(0, a.generation);
+        assertNull(job.claim(0, "b", LEASE_MILLIS));
+        a.renew();
+        assertFalse(a.lost);
+    }
+
+    @Test
+    void generationsKeepGrowingAfterRelease() throws Exception {
+        ShardedBatch job = job(2, 1);
+        ShardedBatch.Lease a = job.claim(0, "a", LEASE_MILLIS);
+        a.release();
+        ShardedBatch.Lease b = job.claim(0, "b", LEASE_MILLIS);
+        assertNotNull(b, "a released lease is free at once");
+        assertEquals(1, b.generation);
+        b.release();
+        ShardedBatch.Lease c = job.claim(0, "c", LEASE_MILLIS);
+        assertEquals(2, c.generation);
+        assertTrue(job.status().contains("1 leased"));
+    }
+
+    @Test
+    void pausedHolderLosesExpiredLease() throws Exception {
+        ShardedBatch job = job(2, 1);
+        ShardedBatch.Lease a = job.claim(0, "a", 1);
+        Thread.sleep(20);
+        ShardedBatch.Lease b = job.claim(0, "b", 1);
+        assertEquals(1, b.generation);
+        // a wakes up from a pause and tries to keep working
+        a.renew();
+        assertTrue(a.lost);
+        b.renew();
+        assertFalse(b.lost);
+        // Even if b gives the shard up, a cannot pick it back up through its old generation
+        b.release();
+        ShardedBatch.Lease c = job.claim(0, "c", LEASE_MILLIS);
+        assertEquals(2, c.generation);
+        a.renew();
+        assertTrue(a.lost);
+    }
+
+    @Test
+    void renewChecksTheHolder() throws Exception {
+        ShardedBatch job = job(2, 1);
+        ShardedBatch.Lease a = job.claim(0, "a", LEASE_MILLIS);
+        Files.writeString(lease(0, 0), "someone-else\n", StandardCharsets.UTF_8);
+        a.renew();
+        assertTrue(a.lost);
+    }
+
+    @Test
+    void workersFinishEveryShardOnce() throws Exception {
+        ShardedBatch job = job(5, 2);
+        assertEquals(5, job.work("w1", LEASE_MILLIS, 2, 1, 1, 2, null, null, null, false));
+        assertEquals(0, job.work("w2", LEASE_MILLIS, 2, 1, 1, 2, null, null, null, false));
+        StringWriter out = new StringWriter();
+        assertEquals(0, job.merge(out));
+        String[] lines = out.toString().split("\n");
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("{\"file\":\"r0.txt\""));
+        assertTrue(job.status().startsWith("3/3 shards done, 0 leased"));
+    }
+}
@@ -0,0 +1,1202 @@
+package resumeanalyzer;
+
+import javax.swing.*;
+import javax.swing.border.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// --------------------------- UI Components ---------------------------
+/**
+ * Off-screen images of what a component paints behind its content, one per
+ * state, so repaints while scrolling or re-scoring only copy pixels. The
+ * images are compatible with the screen and drawn at its scale; they are
+ * painted again only when the size or scale changes, or after {@link #clear}
+ * on a look-and-feel change.
+ */
+final class PaintCache {
+    interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final Map<Object, BufferedImage> images;
+    private int width, height;
+    private double scale;
+
+    /** Keeps the images of the {@code states} states used last. */
+    PaintCache(int states) {
+        images = new LinkedHashMap<>(4, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, BufferedImage> eldest) {
+                return size() > states;
+            }
+        };
+    }
+
+    /** Draws {@code c}'s image for {@code state} with {@code g}, painting it with {@code painter} if needed. */
+    void draw(Graphics2D g, Component c, Object state, Painter painter) {
+        int w = c.getWidth(), h = c.getHeight();
+        GraphicsConfiguration gc = c.getGraphicsConfiguration();
+        if (w <= 0 || h <= 0)
+            return;
+        if (gc == null) {
+            // Not on screen, e.g. printed: nothing to be compatible with
+            Graphics2D direct = (Graphics2D) g.create();
+            direct.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            painter.paint(direct, w, h);
+            direct.dispose();
+            return;
+        }
+        AffineTransform t = g.getTransform();
+        double s = Math.max(1, t.getScaleX());
+        if (w != width || h != height || s != scale) {
+            images.clear();
+            width = w;
+            height = h;
+            scale = s;
+        }
+        BufferedImage image = images.get(state);
+        if (image == null) {
+            image = gc.createCompatibleImage((int) Math.ceil(w * s), (int) Math.ceil(h * s), Transparency.TRANSLUCENT);
+            Graphics2D ig = image.createGraphics();
+            ig.scale(s, s);
+            ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            painter.paint(ig, w, h);
+            ig.dispose();
+            images.put(state, image);
+        }
+        g.drawImage(image, 0, 0, w, h, null);
+    }
+
+    void clear() {
+        images.clear();
+    }
+}
+
+class ModernButton extends JButton {
+    private Color backgroundColor = new Color(79, 70, 229);
+    private Color hoverColor = new Color(99, 90, 249);
+    private Color pressedColor = new Color(67, 56, 202);
+    private boolean isHovered = false;
+    private boolean isPressed = false;
+    private final PaintCache background = new PaintCache(3);
+
+    public ModernButton(String text) {
+        super(text);
+        setForeground(Color.WHITE);
+        setFont(new Font("Segoe UI", Font.BOLD, 14));
+        setBorder(BorderFactory.createEmptyBorder(12, 24, 12, 24));
+        setFocusPainted(false);
+        setCursor(new Cursor(Cursor.HAND_CURSOR));
+        setContentAreaFilled(false);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                isHovered = true;
+                repaint();
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                isHovered = false;
+                isPressed = false;
+                repaint();
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                isPressed = true;
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                isPressed = false;
+                repaint();
+            }
+        });
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        // Called by the superclass constructor, before the cache exists
+        if (background != null)
+            background.clear();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Color currentColor = isPressed ? pressedColor : (isHovered ? hoverColor : backgroundColor);
+        background.draw((Graphics2D) g, this, currentColor, (g2, w, h) -> {
+            g2.setColor(currentColor);
+            g2.fill(new RoundRectangle2D.Float(0, 0, w, h, 12, 12));
+        });
+        super.paintComponent(g);
+    }
+}
+
+class ModernPanel extends JPanel {
+    private static final Color SHADOW = new Color(0, 0, 0, 10);
+
+    private Color backgroundColor = Color.WHITE;
+    private int cornerRadius = 16;
+    private boolean hasShadow = true;
+    private final PaintCache background = new PaintCache(1);
+
+    public ModernPanel() {
+        setOpaque(false);
+        setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+    }
+
+    public ModernPanel(Color bg, int radius) {
+        this();
+        this.backgroundColor = bg;
+        this.cornerRadius = radius;
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        // Called by the superclass constructor, before the cache exists
+        if (background != null)
+            background.clear();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        background.draw((Graphics2D) g, this, backgroundColor, this::paintBackground);
+    }
+
+    private void paintBackground(Graphics2D g2, int width, int height) {
+        if (hasShadow) {
+            g2.setColor(SHADOW);
+            for (int i = 0; i < 4; i++) {
+                g2.fill(new RoundRectangle2D.Float(i, i, width - i * 2, height - i * 2, cornerRadius + i,
+                        cornerRadius + i));
+            }
+        }
+        g2.setColor(backgroundColor);
+        g2.fill(new RoundRectangle2D.Float(hasShadow ? 5 : 0, hasShadow ? 5 : 0, width - (hasShadow ? 10 : 0),
+                height - (hasShadow ? 10 : 0), cornerRadius, cornerRadius));
+    }
+}
+
+class ScoreCircle extends JComponent {
+    static final Color GOOD = new Color(16, 185, 129);
+    static final Color FAIR = new Color(245, 158, 11);
+    static final Color POOR = new Color(239, 68, 68);
+    private static final Color TEXT = new Color(31, 41, 55);
+    private static final Color LABEL = new Color(107, 114, 128);
+    private static final Stroke RING = new BasicStroke(12, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    private int score = 0;
+    private Color primaryColor = GOOD;
+    private Color backgroundColor = new Color(229, 231, 235);
+    private Font scoreFont = new Font("Segoe UI", Font.BOLD, 36);
+    private Font labelFont = new Font("Segoe UI", Font.PLAIN, 12);
+    // Only the current score's ring: live re-scoring moves through many
+    private final PaintCache ring = new PaintCache(1);
+
+    public ScoreCircle() {
+        setPreferredSize(new Dimension(150, 150));
+    }
+
+    /** The color of a score: green, amber or red. */
+    static Color colorFor(int score) {
+        return score >= 85 ? GOOD : score >= 70 ? FAIR : POOR;
+    }
+
+    public void setScore(int s) {
+        score = Math.max(0, Math.min(100, s));
+        primaryColor = colorFor(score);
+        repaint();
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        if (ring != null)
+            ring.clear();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        ring.draw(g2, this, score, this::paintRing);
+        g2.setFont(scoreFont);
+        g2.setColor(TEXT);
+        String scoreText = String.valueOf(score);
+        FontMetrics fm = g2.getFontMetrics();
+        int tx = getWidth() / 2 - fm.stringWidth(scoreText) / 2;
+        int ty = getHeight() / 2 + fm.getAscent() / 2 - 6;
+        g2.drawString(scoreText, tx, ty);
+        g2.setFont(labelFont);
+        g2.setColor(LABEL);
+        String label = "out of 100";
+        FontMetrics lfm = g2.getFontMetrics();
+        g2.drawString(label, getWidth() / 2 - lfm.stringWidth(label) / 2, ty + 28);
+        g2.dispose();
+    }
+
+    private void paintRing(Graphics2D g2, int width, int height) {
+        int diameter = Math.min(width, height) - 20;
+        int x = (width - diameter) / 2, y = (height - diameter) / 2;
+        g2.setStroke(RING);
+        g2.setColor(backgroundColor);
+        g2.drawOval(x, y, diameter, diameter);
+        g2.setColor(primaryColor);
+        int angle = (int) (360 * score / 100.0);
+        g2.drawArc(x, y, diameter, diameter, 90, -angle);
+    }
+}
+
+class AnalysisCard extends ModernPanel {
+    private JLabel titleLabel, scoreLabel;
+    private JProgressBar progressBar;
+    private JTextArea detailsArea;
+
+    public AnalysisCard(String title) {
+        super(Color.WHITE, 12);
+        setupComponents(title);
+    }
+
+    private void setupComponents(String title) {
+        setLayout(new BorderLayout());
+        setBorder(BorderFactory.createEmptyBorder(16, 16, 16, 16));
+
+        titleLabel = new JLabel(title);
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        titleLabel.setForeground(new Color(31, 41, 55));
+
+        scoreLabel = new JLabel("0/100");
+        scoreLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        scoreLabel.setForeground(new Color(79, 70, 229));
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.setOpaque(false);
+        header.add(titleLabel, BorderLayout.WEST);
+        header.add(scoreLabel, BorderLayout.EAST);
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setValue(0);
+        progressBar.setPreferredSize(new Dimension(0, 8));
+        progressBar.setStringPainted(false);
+        progressBar.setBorder(null);
+        progressBar.setBackground(new Color(229, 231, 235));
+
+        detailsArea = new JTextArea();
+        detailsArea.setEditable(false);
+        detailsArea.setLineWrap(true);
+        detailsArea.setWrapStyleWord(true);
+        detailsArea.setBorder(BorderFactory.createEmptyBorder(8, 0, 0, 0));
+
+        add(header, BorderLayout.NORTH);
+        add(progressBar, BorderLayout.CENTER);
+        add(detailsArea, BorderLayout.SOUTH);
+    }
+
+    public void updateCard(int score, String details) {
+        scoreLabel.setText(score + "/100");
+        progressBar.setValue(score);
+        // Live re-scoring calls this per edit; unchanged text needs no relayout
+        if (!details.equals(detailsArea.getText()))
+            detailsArea.setText(details);
+        // The labels and bar revalidate and repaint themselves when they change
+        progressBar.setForeground(ScoreCircle.colorFor(score));
+    }
+}
+
+/**
+ * Rows of a screening run, one per resume. Rows are small (scores and the
+ * file, no text) and arrive in batches, so the table holds thousands of them
+ * and JTable only ever renders the visible ones.
+ */
+class ScreeningModel extends javax.swing.table.AbstractTableModel {
+    static final class Row {
+        final java.nio.file.Path file;
+        final String name, email, status;
+        // Null when the resume could not be read
+        final Integer overall, ats, skills, grammar, format;
+
+        Row(ResumePipeline.Job job) {
+            file = job.file;
+            name = job.name;
+            AnalysisResult r = job.result;
+            if (r == null) {
+                email = null;
+                overall = ats = skills = grammar = format = null;
+                status = job.error instanceof ExtractionException x ? x.reasonName()
+                        : job.error == null ? "failed" : job.error.getMessage();
+            } else {
+                email = r.contactInfo.get("email");
+                overall = r.overallScore;
+                ats = r.atsScore;
+                skills = r.skillsScore;
+                grammar = r.grammarScore;
+                format = r.formatScore;
+                status = "ok";
+            }
+        }
+    }
+
+    static final int OVERALL = 2;
+    private static final String[] COLUMNS = { "File", "Email", "Overall", "ATS", "Skills", "Grammar", "Format",
+            "Status" };
+
+    private final List<Row> rows = new ArrayList<>();
+
+    /** Appends {@code batch}; on the EDT, with one event for all of it. */
+    void addAll(List<Row> batch) {
+        if (batch.isEmpty())
+            return;
+        int first = rows.size();
+        rows.addAll(batch);
+        fireTableRowsInserted(first, rows.size() - 1);
+    }
+
+    Row row(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        // Scores sort as numbers
+        return column >= OVERALL && column < OVERALL + 5 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Row r = rows.get(row);
+        return switch (column) {
+            case 0 -> r.name;
+            case 1 -> r.email;
+            case 2 -> r.overall;
+            case 3 -> r.ats;
+            case 4 -> r.skills;
+            case 5 -> r.grammar;
+            case 6 -> r.format;
+            default -> r.status;
+        };
+    }
+}
+
+// --------------------------- Main Application ---------------------------
+public class ResumeAnalyzerApp extends JFrame {
+    private JPanel mainPanel, uploadPanel, resultsPanel;
+    private ModernButton uploadButton, analyzeButton, editButton;
+    private JPanel uploadCards;
+    private JTextArea editorArea;
+    // Re-scores the editor text once typing pauses
+    private javax.swing.Timer rescoreTimer;
+    private LiveAnalysis live;
+    private AnalysisResult lastResult;
+    private boolean editing;
+    private JLabel fileLabel, uploadIconLabel;
+    private ScoreCircle scoreCircle;
+    private AnalysisCard atsCard, skillsCard, grammarCard, formatCard;
+    private JTextArea suggestionsArea;
+    private File selectedFile;
+    private EnhancedNLPProcessor nlp;
+    private ResultCache cache;
+    // Score history across sessions; null if it cannot be opened
+    private ScoreStore store;
+    // The latest screening of several resumes and its table; null before the first
+    private Screening screening;
+    private JPanel screeningPanel;
+
+    public ResumeAnalyzerApp() {
+        nlp = new EnhancedNLPProcessor();
+        cache = new ResultCache(null, 64L << 20);
+        live = new LiveAnalysis(nlp);
+        store = openStore();
+        initGUI();
+    }
+
+    private static ScoreStore openStore() {
+        try {
+            java.nio.file.Path dir = java.nio.file.Paths.get(System.getProperty("user.home"), ".resume-analyzer");
+            Files.createDirectories(dir);
+            ScoreStore s = ScoreStore.open(dir.resolve("scores.log"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    s.close();
+                } catch (IOException ignored) {
+                }
+            }));
+            return s;
+        } catch (IOException e) {
+            System.err.println("Score history disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void initGUI() {
+        setTitle("Smart Resume Analyzer - ATS Score Checker");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setSize(1200, 800);
+        setLocationRelativeTo(null);
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception ignored) {
+        }
+        createComponents();
+        layoutComponents();
+        setupListeners();
+        setVisible(true);
+    }
+
+    private void createComponents() {
+        mainPanel = new JPanel() {
+            private final PaintCache gradient = new PaintCache(1);
+
+            @Override
+            protected void paintComponent(Graphics g) {
+                gradient.draw((Graphics2D) g, this, Boolean.TRUE, (g2, w, h) -> {
+                    g2.setPaint(new GradientPaint(0, 0, new Color(102, 126, 234), w, h, new Color(118, 75, 162)));
+                    g2.fillRect(0, 0, w, h);
+                });
+            }
+        };
+        mainPanel.setLayout(new BorderLayout());
+
+        uploadPanel = createUploadPanel();
+        resultsPanel = createResultsPanel();
+    }
+
+    private JPanel createUploadPanel() {
+        ModernPanel panel = new ModernPanel(new Color(248, 250, 252), 16);
+        panel.setLayout(new BorderLayout());
+
+        ModernPanel uploadArea = new ModernPanel(Color.WHITE, 12);
+        uploadArea.setLayout(new BorderLayout());
+        uploadArea.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createDashedBorder(new Color(203, 213, 225), 2, 5, 5, false),
+                BorderFactory.createEmptyBorder(40, 40, 40, 40)));
+        uploadArea.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        JPanel uploadContent = new JPanel();
+        uploadContent.setOpaque(false);
+        uploadContent.setLayout(new BoxLayout(uploadContent, BoxLayout.Y_AXIS));
+
+        uploadIconLabel = new JLabel("📄");
+        uploadIconLabel.setFont(new Font("Arial", Font.PLAIN, 48));
+        uploadIconLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel uploadText = new JLabel("Drop your resume, or many and folders, here or click to browse");
+        uploadText.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        uploadText.setForeground(new Color(71, 85, 105));
+        uploadText.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel uploadSubtext = new JLabel("Supports PDF, DOC, DOCX, TXT");
+        uploadSubtext.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        uploadSubtext.setForeground(new Color(148, 163, 184));
+        uploadSubtext.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        uploadContent.add(uploadIconLabel);
+        uploadContent.add(Box.createVerticalStrut(20));
+        uploadContent.add(uploadText);
+        uploadContent.add(Box.createVerticalStrut(10));
+        uploadContent.add(uploadSubtext);
+
+        uploadArea.add(uploadContent, BorderLayout.CENTER);
+
+        JPanel fileInfoPanel = new JPanel(new BorderLayout());
+        fileInfoPanel.setOpaque(false);
+        fileInfoPanel.setBorder(BorderFactory.createEmptyBorder(20, 0, 0, 0));
+        fileLabel = new JLabel("No file selected");
+        fileLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        fileLabel.setForeground(new Color(107, 114, 128));
+        fileInfoPanel.add(fileLabel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 20));
+        buttonPanel.setOpaque(false);
+        uploadButton = new ModernButton("Choose File");
+        analyzeButton = new ModernButton("Analyze Resume");
+        analyzeButton.setEnabled(false);
+        editButton = new ModernButton("Edit Text");
+        editButton.setEnabled(false);
+        buttonPanel.add(uploadButton);
+        buttonPanel.add(analyzeButton);
+        buttonPanel.add(editButton);
+
+        // Editor for the analyzed text; scores follow the edits
+        editorArea = new JTextArea();
+        editorArea.setFont(new Font("Monospaced", Font.PLAIN, 13));
+        editorArea.setLineWrap(true);
+        editorArea.setWrapStyleWord(true);
+        editorArea.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+        JScrollPane editorScroll = new JScrollPane(editorArea);
+        editorScroll.setBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)));
+
+        uploadCards = new JPanel(new CardLayout());
+        uploadCards.setOpaque(false);
+        uploadCards.add(uploadArea, "upload");
+        uploadCards.add(editorScroll, "editor");
+
+        panel.add(uploadCards, BorderLayout.CENTER);
+        panel.add(fileInfoPanel, BorderLayout.SOUTH);
+        panel.add(buttonPanel, BorderLayout.PAGE_END);
+
+        // Drag-and-drop support
+        uploadArea.setTransferHandler(new TransferHandler() {
+            public boolean canImport(TransferSupport support) {
+                return support.isDataFlavorSupported(java.awt.datatransfer.DataFlavor.javaFileListFlavor);
+            }
+
+            public boolean importData(TransferSupport support) {
+                try {
+                    @SuppressWarnings("unchecked")
+                    java.util.List<File> files = (java.util.List<File>) support.getTransferable()
+                            .getTransferData(java.awt.datatransfer.DataFlavor.javaFileListFlavor);
+                    if (files != null && !files.isEmpty()) {
+                        openFiles(files);
+                        return true;
+                    }
+                } catch (Exception ex) {
+                    /* ignore */ }
+                return false;
+            }
+        });
+
+        uploadArea.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                chooseFile();
+            }
+        });
+
+        return panel;
+    }
+
+    private JPanel createResultsPanel() {
+        ModernPanel panel = new ModernPanel(Color.WHITE, 16);
+        panel.setLayout(new BorderLayout());
+
+        JPanel initial = new JPanel();
+        initial.setOpaque(false);
+        initial.setLayout(new BoxLayout(initial, BoxLayout.Y_AXIS));
+
+        JLabel icon = new JLabel("🎯");
+        icon.setFont(new Font("Arial", Font.PLAIN, 64));
+        icon.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel ready = new JLabel("Ready to Analyze");
+        ready.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        ready.setForeground(new Color(107, 114, 128));
+        ready.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel instr = new JLabel("Upload your resume to get started");
+        instr.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        instr.setForeground(new Color(156, 163, 175));
+        instr.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        initial.add(Box.createVerticalGlue());
+        initial.add(icon);
+        initial.add(Box.createVerticalStrut(20));
+        initial.add(ready);
+        initial.add(Box.createVerticalStrut(10));
+        initial.add(instr);
+        initial.add(Box.createVerticalGlue());
+
+        panel.add(initial, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private JPanel createAnalysisPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setOpaque(false);
+
+        JPanel scoreSection = new JPanel();
+        scoreSection.setOpaque(false);
+        scoreSection.setLayout(new BoxLayout(scoreSection, BoxLayout.Y_AXIS));
+        scoreSection.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel scoreTitle = new JLabel("Job Readiness Score");
+        scoreTitle.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        scoreTitle.setForeground(new Color(31, 41, 55));
+        scoreTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        scoreCircle = new ScoreCircle();
+        scoreCircle.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        scoreSection.add(scoreTitle);
+        scoreSection.add(Box.createVerticalStrut(20));
+        scoreSection.add(scoreCircle);
+
+        JPanel cardsPanel = new JPanel(new GridLayout(2, 2, 15, 15));
+        cardsPanel.setOpaque(false);
+        cardsPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 0, 20));
+
+        atsCard = new AnalysisCard("ATS Compatibility");
+        skillsCard = new AnalysisCard("Skills Analysis");
+        grammarCard = new AnalysisCard("Grammar & Writing");
+        formatCard = new AnalysisCard("Format & Structure");
+
+        cardsPanel.add(atsCard);
+        cardsPanel.add(skillsCard);
+        cardsPanel.add(grammarCard);
+        cardsPanel.add(formatCard);
+
+        ModernPanel suggestionsPanel = new ModernPanel(new Color(254, 243, 199), 12);
+        suggestionsPanel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createEmptyBorder(16, 16, 16, 16),
+                BorderFactory.createCompoundBorder(
+                        BorderFactory.createLineBorder(new Color(245, 158, 11), 1),
+                        BorderFactory.createEmptyBorder(12, 12, 12, 12))));
+
+        JLabel suggestionsTitle = new JLabel("💡 Improvement Suggestions");
+        suggestionsTitle.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        suggestionsTitle.setForeground(new Color(146, 64, 14));
+
+        suggestionsArea = new JTextArea(6, 0);
+        suggestionsArea.setEditable(false);
+        suggestionsArea.setLineWrap(true);
+        suggestionsArea.setWrapStyleWord(true);
+        suggestionsArea.setBackground(new Color(254, 243, 199));
+        suggestionsArea.setBorder(null);
+
+        suggestionsPanel.setLayout(new BorderLayout());
+        suggestionsPanel.add(suggestionsTitle, BorderLayout.NORTH);
+        suggestionsPanel.add(suggestionsArea, BorderLayout.CENTER);
+
+        JPanel content = new JPanel(new BorderLayout());
+        content.setOpaque(false);
+        content.add(scoreSection, BorderLayout.NORTH);
+        content.add(cardsPanel, BorderLayout.CENTER);
+        content.add(suggestionsPanel, BorderLayout.SOUTH);
+
+        JScrollPane sp = new JScrollPane(content);
+        sp.setBorder(null);
+        sp.setOpaque(false);
+        sp.getViewport().setOpaque(false);
+        sp.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+
+        panel.add(sp, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void layoutComponents() {
+        setLayout(new BorderLayout());
+        mainPanel.setLayout(new BorderLayout());
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.setOpaque(false);
+        header.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel title = new JLabel("Smart Resume Analyzer", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 28));
+        title.setForeground(Color.WHITE);
+
+        JLabel subtitle = new JLabel("Upload your resume and get instant ATS & job-readiness feedback",
+                SwingConstants.CENTER);
+        subtitle.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        subtitle.setForeground(new Color(255, 255, 255, 200));
+
+        header.add(title, BorderLayout.CENTER);
+        header.add(subtitle, BorderLayout.SOUTH);
+
+        JPanel contentPanel = new JPanel(new GridLayout(1, 2, 20, 0));
+        contentPanel.setOpaque(false);
+        contentPanel.setBorder(BorderFactory.createEmptyBorder(0, 20, 20, 20));
+
+        uploadPanel.setOpaque(false);
+        resultsPanel.setOpaque(false);
+
+        contentPanel.add(uploadPanel);
+        contentPanel.add(resultsPanel);
+
+        mainPanel.add(header, BorderLayout.NORTH);
+        mainPanel.add(contentPanel, BorderLayout.CENTER);
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupListeners() {
+        uploadButton.addActionListener(e -> chooseFile());
+        analyzeButton.addActionListener(e -> analyzeResume(true));
+        editButton.addActionListener(e -> setEditing(!editing));
+
+        rescoreTimer = new javax.swing.Timer(150, e -> rescore());
+        rescoreTimer.setRepeats(false);
+        editorArea.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                rescoreTimer.restart();
+            }
+
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                rescoreTimer.restart();
+            }
+
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                // Attribute changes only
+            }
+        });
+    }
+
+    /** Switches the left panel between the upload area and the text editor. */
+    private void setEditing(boolean on) {
+        editing = on;
+        if (on) {
+            editorArea.setText(lastResult == null ? "" : lastResult.content);
+            // Primes the line analyses through the regular debounced update
+            editorArea.setCaretPosition(0);
+        }
+        editButton.setText(on ? "Back to Upload" : "Edit Text");
+        ((CardLayout) uploadCards.getLayout()).show(uploadCards, on ? "editor" : "upload");
+        if (on)
+            editorArea.requestFocusInWindow();
+    }
+
+    // Runs on the EDT: an update only re-analyzes the edited lines
+    private void rescore() {
+        if (editing)
+            showScores(live.update(editorArea.getText()));
+    }
+
+    private void chooseFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter(
+                "Resume files (*.pdf, *.doc, *.docx, *.txt)",
+                "pdf", "doc", "docx", "txt"));
+        chooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        chooser.setMultiSelectionEnabled(true);
+        int r = chooser.showOpenDialog(this);
+        if (r == JFileChooser.APPROVE_OPTION && chooser.getSelectedFiles().length > 0) {
+            openFiles(Arrays.asList(chooser.getSelectedFiles()));
+        }
+    }
+
+    /** One file is opened for analysis; several files or a folder are screened. */
+    private void openFiles(List<File> files) {
+        if (files.size() == 1 && files.get(0).isFile())
+            setSelectedFile(files.get(0));
+        else
+            screen(files);
+    }
+
+    // --------------------------- Screening ---------------------------
+    /**
+     * One screening run. The files and everything under the folders go
+     * through a {@link ResumePipeline} on background threads; its rows wait
+     * in a queue and reach the table a batch at a time, so the EDT does a
+     * few small updates a second however fast resumes are scored.
+     */
+    private final class Screening {
+        final ScreeningModel model = new ScreeningModel();
+        final JLabel status = new JLabel(" ");
+        private final ConcurrentLinkedQueue<ScreeningModel.Row> arrived = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger found = new AtomicInteger(), failed = new AtomicInteger();
+        private final javax.swing.Timer flush = new javax.swing.Timer(250, e -> flush());
+        private volatile boolean cancelled, finished;
+        // Null until run() has set it up
+        private volatile ResumePipeline pipeline;
+        private Thread thread;
+
+        /** Screens {@code files} once the pipeline of {@code previous}, if any, has stopped. */
+        void start(List<File> files, Screening previous) {
+            flush.start();
+            thread = Thread.ofPlatform().daemon().name("screening").start(() -> {
+                try {
+                    if (previous != null)
+                        previous.thread.join();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                run(files);
+            });
+        }
+
+        /**
+         * Stops the run: no more files are queued, and the pipeline drops the
+         * ones in it, so they are neither shown nor saved.
+         */
+        void cancel() {
+            cancelled = true;
+            flush.stop();
+            ResumePipeline p = pipeline;
+            if (p != null)
+                p.cancel();
+        }
+
+        private void run(List<File> files) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            ResumePipeline pipeline = new ResumePipeline(4, cores, cores, 2 * cores, cache, null,
+                    MemoryBudget.ofHeap(MemoryBudget.DEFAULT_HEAP_PERCENT), store != null, false, this::scored);
+            this.pipeline = pipeline;
+            // Cancelled before there was a pipeline to stop
+            if (cancelled)
+                pipeline.cancel();
+            try {
+                for (File f : files) {
+                    java.nio.file.Path root = f.toPath().toAbsolutePath();
+                    // Names start at the dropped folder, like "applicants/jane.pdf"
+                    java.nio.file.Path base = root.getParent();
+                    try (java.util.stream.Stream<java.nio.file.Path> walk = Files.walk(root)) {
+                        Iterator<java.nio.file.Path> it = walk.filter(Files::isRegularFile)
+                                .filter(BatchRunner::isResumeFile).iterator();
+                        while (it.hasNext() && !cancelled) {
+                            java.nio.file.Path file = it.next();
+                            found.incrementAndGet();
+                            pipeline.submit(file, base == null ? file.toString() : base.relativize(file).toString());
+                        }
+                    } catch (IOException | UncheckedIOException e) {
+                        System.err.println("Cannot list " + root + ": " + e.getMessage());
+                    }
+                    if (cancelled)
+                        break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    pipeline.finish();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    System.err.println("Screening failed: " + e);
+                }
+                finished = true;
+            }
+        }
+
+        // On a scoring thread
+        private void scored(ResumePipeline.Job job) {
+            if (cancelled)
+                return;
+            if (job.error != null) {
+                failed.incrementAndGet();
+            } else if (store != null) {
+                try {
+                    store.append(job.hash, ScoreStore.candidateId(job.name, job.result), job.result);
+                } catch (IOException e) {
+                    System.err.println("Cannot save score: " + e.getMessage());
+                }
+            }
+            arrived.add(new ScreeningModel.Row(job));
+        }
+
+        // On the EDT
+        private void flush() {
+            boolean done = finished;
+            List<ScreeningModel.Row> batch = new ArrayList<>();
+            for (ScreeningModel.Row r; (r = arrived.poll()) != null;)
+                batch.add(r);
+            model.addAll(batch);
+            status.setText(String.format("%s %d of %d resumes%s", done ? "Screened" : "Screening...",
+                    model.getRowCount(), found.get(), failed.get() > 0 ? ", " + failed.get() + " unreadable" : ""));
+            if (done)
+                flush.stop();
+        }
+    }
+
+    private void screen(List<File> files) {
+        Screening previous = screening;
+        if (previous != null)
+            previous.cancel();
+        screening = new Screening();
+        screeningPanel = createScreeningPanel(screening);
+        fileLabel.setText("Screening " + (files.size() == 1 ? files.get(0).getName()
+                : files.size() + " files and folders"));
+        uploadIconLabel.setText("📚");
+        showScreening();
+        screening.start(files, previous);
+    }
+
+    private void showScreening() {
+        resultsPanel.removeAll();
+        resultsPanel.add(screeningPanel, BorderLayout.CENTER);
+        resultsPanel.revalidate();
+        resultsPanel.repaint();
+    }
+
+    private JPanel createScreeningPanel(Screening run) {
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.setOpaque(false);
+
+        JLabel title = new JLabel("Applicants");
+        title.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        title.setForeground(new Color(31, 41, 55));
+        run.status.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        run.status.setForeground(new Color(107, 114, 128));
+
+        JTable table = new JTable(run.model);
+        javax.swing.table.TableRowSorter<ScreeningModel> sorter = new javax.swing.table.TableRowSorter<>(run.model);
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(ScreeningModel.OVERALL, SortOrder.DESCENDING)));
+        table.setRowSorter(sorter);
+        table.setFillsViewportHeight(true);
+        table.setRowHeight(24);
+        table.getColumnModel().getColumn(0).setPreferredWidth(200);
+        table.getColumnModel().getColumn(1).setPreferredWidth(160);
+        table.setDefaultRenderer(Integer.class, new javax.swing.table.DefaultTableCellRenderer() {
+            {
+                setHorizontalAlignment(SwingConstants.CENTER);
+            }
+
+            @Override
+            public Component getTableCellRendererComponent(JTable t, Object value, boolean selected, boolean focus,
+                    int row, int column) {
+                super.getTableCellRendererComponent(t, value, selected, focus, row, column);
+                if (!selected)
+                    setForeground(value instanceof Integer score ? ScoreCircle.colorFor(score) : t.getForeground());
+                return this;
+            }
+        });
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int view = table.rowAtPoint(e.getPoint());
+                if (e.getClickCount() == 2 && view >= 0) {
+                    // Scored already, so the cache usually has it
+                    setSelectedFile(run.model.row(table.convertRowIndexToModel(view)).file.toFile());
+                    analyzeResume(false);
+                }
+            }
+        });
+
+        // Name or email contains the text, overall score at least the minimum
+        JTextField search = new JTextField(14);
+        JSpinner minimum = new JSpinner(new SpinnerNumberModel(0, 0, 100, 5));
+        Runnable refilter = () -> {
+            List<RowFilter<ScreeningModel, Integer>> filters = new ArrayList<>();
+            String text = search.getText().trim();
+            if (!text.isEmpty())
+                filters.add(RowFilter.regexFilter("(?i)" + Pattern.quote(text), 0, 1));
+            int min = (Integer) minimum.getValue();
+            if (min > 0)
+                filters.add(RowFilter.numberFilter(RowFilter.ComparisonType.AFTER, min - 1, ScreeningModel.OVERALL));
+            sorter.setRowFilter(filters.isEmpty() ? null : RowFilter.andFilter(filters));
+        };
+        search.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                refilter.run();
+            }
+
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                refilter.run();
+            }
+
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                // Attribute changes only
+            }
+        });
+        minimum.addChangeListener(e -> refilter.run());
+
+        JPanel filterBar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        filterBar.setOpaque(false);
+        filterBar.add(new JLabel("Search:"));
+        filterBar.add(search);
+        filterBar.add(new JLabel("Min. score:"));
+        filterBar.add(minimum);
+
+        JPanel header = new JPanel(new BorderLayout(0, 6));
+        header.setOpaque(false);
+        header.add(title, BorderLayout.NORTH);
+        header.add(run.status, BorderLayout.CENTER);
+        header.add(filterBar, BorderLayout.SOUTH);
+
+        JScrollPane sp = new JScrollPane(table);
+        sp.setBorder(BorderFactory.createLineBorder(new Color(229, 231, 235)));
+
+        JLabel hint = new JLabel("Double-click a resume for its full analysis");
+        hint.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        hint.setForeground(new Color(156, 163, 175));
+
+        panel.add(header, BorderLayout.NORTH);
+        panel.add(sp, BorderLayout.CENTER);
+        panel.add(hint, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private void setSelectedFile(File f) {
+        selectedFile = f;
+        fileLabel.setText("Selected: " + f.getName());
+        analyzeButton.setEnabled(true);
+        uploadIconLabel.setText("✅");
+    }
+
+    /** Analyzes the selected file in the background; {@code announce} ends with a summary dialog. */
+    private void analyzeResume(boolean announce) {
+        if (selectedFile == null)
+            return;
+
+        analyzeButton.setText("Analyzing...");
+        analyzeButton.setEnabled(false);
+
+        SwingWorker<AnalysisResult, Void> worker = new SwingWorker<>() {
+            // Latest earlier score of the same resume, if the history has one
+            private ScoreStore.Record previous;
+
+            @Override
+            protected AnalysisResult doInBackground() {
+                byte[] data;
+                try {
+                    data = Files.readAllBytes(selectedFile.toPath());
+                } catch (IOException ignored) {
+                    return nlp.analyzeResume("");
+                }
+                String name = selectedFile.getName();
+                AnalysisResult res = cache.analyze(data, nlp, d -> ResumeTextExtractor.extractText(d, name));
+                if (store != null) {
+                    String hash = ResultCache.sha256Hex(data);
+                    String candidate = ScoreStore.candidateId(name, res);
+                    previous = store.get(hash, candidate);
+                    try {
+                        store.append(hash, candidate, res);
+                    } catch (IOException e) {
+                        System.err.println("Cannot save score: " + e.getMessage());
+                    }
+                }
+                return res;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    AnalysisResult res = get();
+                    displayResults(res, previous, announce);
+                } catch (InterruptedException | ExecutionException ex) {
+                    JOptionPane.showMessageDialog(
+                            ResumeAnalyzerApp.this,
+                            "Error analyzing file: " + ex.getMessage(),
+                            "Analysis Error",
+                            JOptionPane.ERROR_MESSAGE);
+                } finally {
+                    analyzeButton.setText("Analyze Resume");
+                    analyzeButton.setEnabled(true);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void displayResults(AnalysisResult res, ScoreStore.Record previous, boolean announce) {
+        resultsPanel.removeAll();
+        JPanel analysisPanel = createAnalysisPanel();
+        if (screeningPanel != null) {
+            ModernButton back = new ModernButton("◀ All applicants");
+            back.addActionListener(e -> showScreening());
+            JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 0));
+            bar.setOpaque(false);
+            bar.add(back);
+            analysisPanel.add(bar, BorderLayout.NORTH);
+        }
+        resultsPanel.add(analysisPanel, BorderLayout.CENTER);
+
+        lastResult = res;
+        if (editing)
+            setEditing(false);
+        editButton.setEnabled(true);
+        showScores(res);
+
+        resultsPanel.revalidate();
+        resultsPanel.repaint();
+
+        if (!announce)
+            return;
+        String desc = AnalysisReport.scoreDescription(res.overallScore);
+        if (previous != null)
+            desc += String.format("%nLast analyzed %s with a score of %d.",
+                    java.time.LocalDate.ofInstant(java.time.Instant.ofEpochMilli(previous.timestamp),
+                            java.time.ZoneId.systemDefault()),
+                    previous.overall);
+        JOptionPane.showMessageDialog(
+                this,
+                "Analysis complete!\n" + desc,
+                "Results",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void showScores(AnalysisResult res) {
+        scoreCircle.setScore(res.overallScore);
+        Map<String, String> details = AnalysisReport.details(res);
+        atsCard.updateCard(res.atsScore, details.get("ats"));
+        skillsCard.updateCard(res.skillsScore, details.get("skills"));
+        grammarCard.updateCard(res.grammarScore, details.get("grammar"));
+        formatCard.updateCard(res.formatScore, details.get("format"));
+        String suggestions = String.join("\n", AnalysisReport.suggestions(res));
+        if (!suggestions.equals(suggestionsArea.getText()))
+            suggestionsArea.setText(suggestions);
+    }
+
+    public static void main(String[] args) {
+        // Stage timings for jconsole / VisualVM in every mode
+        Metrics.registerMBean();
+        if (Arrays.stream(args).anyMatch(a -> a.startsWith("--job-"))) {
+            System.exit(ShardedBatch.main(args));
+        }
+        if (Arrays.asList(args).contains("--batch")) {
+            System.exit(BatchRunner.main(args));
+        }
+        if (Arrays.asList(args).contains("--rank")) {
+            System.exit(ResumeIndex.main(args));
+        }
+        if (Arrays.asList(args).contains("--history")) {
+            System.exit(ScoreStore.main(args));
+        }
+        if (Arrays.asList(args).contains("--train")) {
+            System.exit(Training.main(args));
+        }
+        if (Arrays.asList(args).contains("--serve")) {
+            // The server's dispatcher thread keeps the JVM alive after main returns
+            int code = ScoringServer.main(args);
+            if (code != 0)
+                System.exit(code);
+            return;
+        }
+        int dictionaries = Arrays.asList(args).indexOf("--dictionaries");
+        if (dictionaries >= 0 && dictionaries + 1 < args.length) {
+            try {
+                Dictionaries.useDirectory(java.nio.file.Paths.get(args[dictionaries + 1]), true);
+            } catch (IOException e) {
+                System.err.println("Cannot load dictionaries, using built-in ones: " + e.getMessage());
+            }
+        }
+        int tikaConfig = Arrays.asList(args).indexOf("--tika-config");
+        if (tikaConfig >= 0 && tikaConfig + 1 < args.length) {
+            try {
+                ResumeTextExtractor.useProfile(java.nio.file.Paths.get(args[tikaConfig + 1]));
+            } catch (IOException e) {
+                System.err.println("Cannot load Tika config, using the bundled one: " + e.getMessage());
+            }
+        }
+        // Tika loads while the window is built
+        ResumeTextExtractor.preload();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+                System.setProperty("awt.useSystemAAFontSettings", "on");
+                System.setProperty("swing.aatext", "true");
+            } catch (Exception ignored) {
+            }
+            new ResumeAnalyzerApp();
+        });
+    }
+}